@@ -0,0 +1,68 @@
+package com.github.dsvalerian.chip8.cpu;
+
+import com.github.dsvalerian.chip8.data.ROM;
+import com.github.dsvalerian.chip8.io.ScreenState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole instructions through {@link CPU}, fetch and decode included, over small programs that loop forever. Each
+ * program stands in for one kind of workload. Times are per instruction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CPUBenchmark {
+    private static final int INSTRUCTIONS = 1000;
+
+    private static final Map<String, String> PROGRAMS = Map.of(
+            // LD V0, 1; LD V1, 2; ADD V0, V1; SUB V1, V2; ADD V0, 3; SHR V2; LD I, 0x300; ADD I, V0; JP 0x200
+            "arithmetic", "60 01 61 02 80 14 81 25 70 03 82 06 A3 00 F0 1E 12 00",
+            // LD I, 0x300; LD B, V2; LD V2, [I]; LD I, 0x300; LD [I], V2; JP 0x200
+            "memory", "A3 00 F2 33 F2 65 A3 00 F2 55 12 00",
+            // LD I, 0x300; DRW V0, V1, 5; ADD V0, 8; DRW V0, V1, 5; JP 0x200
+            "draw", "A3 00 D0 15 70 08 D0 15 12 00",
+            // CALL 0x206; ADD V0, 1; JP 0x200; LD V0, V1; RET
+            "calls", "22 06 70 01 12 00 80 10 00 EE");
+
+    @Param({"arithmetic", "memory", "draw", "calls"})
+    private String program;
+
+    private CPU cpu;
+
+    @Setup
+    public void setUp() {
+        cpu = new CPU(new CPUState(), new ScreenState());
+        cpu.loadProgram(ROM.fromHexString(PROGRAMS.get(program)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSTRUCTIONS)
+    public void processNextInstruction() {
+        for (int i = 0; i < INSTRUCTIONS; i++) {
+            cpu.processNextInstruction();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSTRUCTIONS)
+    public int execute() {
+        return cpu.execute(INSTRUCTIONS);
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.dsvalerian.chip8.cpu;
+
+import com.github.dsvalerian.chip8.data.ROM;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading programs into {@link CPUState} memory, from a small ROM up to one that fills all of program memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CPUStateBenchmark {
+    private static final int PROGRAM_START_ADDRESS = 0x200;
+
+    @Param({"256", "3584"})
+    private int size;
+
+    private CPUState state;
+    private ROM rom;
+
+    @Setup
+    public void setUp() {
+        state = new CPUState();
+        int[] bytes = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (i * 31) & 0xFF;
+        }
+
+        rom = ROM.fromBytes(bytes);
+    }
+
+    @Benchmark
+    public CPUState loadMemory() {
+        state.loadMemory(PROGRAM_START_ADDRESS, rom);
+        return state;
+    }
+}
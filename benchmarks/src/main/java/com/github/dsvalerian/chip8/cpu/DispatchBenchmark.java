@@ -0,0 +1,72 @@
+package com.github.dsvalerian.chip8.cpu;
+
+import com.github.dsvalerian.chip8.io.KeyState;
+import com.github.dsvalerian.chip8.io.ScreenState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch of a single decoded instruction through {@link Interpreter}, one family at a time. The program counter
+ * is put back before every run so jumps and skips can be measured in isolation. CALL is measured together with
+ * the RET that undoes it, so the stack never fills up.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DispatchBenchmark {
+    private static final int START = 0x200;
+
+    /**
+     * One instruction from each family. Dxyn and Fx0A are left out, see {@link DrawBenchmark} for drawing.
+     */
+    @Param({"00E0", "0123", "1200", "3012", "4012", "5010", "6012", "7001", "8010", "8011", "8012", "8013", "8014",
+            "8015", "8016", "8017", "801E", "9010", "A300", "B200", "C0FF", "E09E", "E0A1", "F007", "F015", "F018",
+            "F01E", "F029", "F033", "F155", "F165"})
+    private String instruction;
+
+    private CPUState state;
+    private Interpreter interpreter;
+    private int entry;
+    private int call;
+    private int ret;
+
+    @Setup
+    public void setUp() {
+        state = new CPUState();
+        interpreter = new Interpreter(state, new ScreenState(), new KeyState(), Quirks.COSMAC_VIP);
+        entry = Decoder.decode(Integer.parseInt(instruction, 16));
+        call = Decoder.decode(0x2200);
+        ret = Decoder.decode(0x00EE);
+    }
+
+    @Benchmark
+    public int dispatch() {
+        state.setPcUnchecked(START);
+        // Fx55 and Fx65 move I along under the COSMAC VIP quirks.
+        state.setIUnchecked(0x300);
+        interpreter.execute(entry);
+        return state.readPc();
+    }
+
+    @Benchmark
+    public int callReturn() {
+        state.setPcUnchecked(START);
+        interpreter.execute(call);
+        interpreter.execute(ret);
+        return state.readPc();
+    }
+}
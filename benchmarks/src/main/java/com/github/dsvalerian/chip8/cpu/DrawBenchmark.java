@@ -0,0 +1,68 @@
+package com.github.dsvalerian.chip8.cpu;
+
+import com.github.dsvalerian.chip8.io.KeyState;
+import com.github.dsvalerian.chip8.io.ScreenState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dxyn through {@link Interpreter} for different sprite heights, at positions that need no wrapping, wrap
+ * horizontally, and wrap both ways. Drawing the same sprite twice in a row puts the screen back the way it was.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DrawBenchmark {
+    private static final int SPRITE_ADDRESS = 0x300;
+
+    @Param({"1", "5", "15"})
+    private int rows;
+
+    /**
+     * The x and y coordinates to draw at.
+     */
+    @Param({"8,8", "60,8", "60,28"})
+    private String position;
+
+    private CPUState state;
+    private Interpreter interpreter;
+    private int entry;
+
+    @Setup
+    public void setUp() {
+        state = new CPUState();
+        interpreter = new Interpreter(state, new ScreenState(), new KeyState(), Quirks.COSMAC_VIP);
+        String[] coordinates = position.split(",");
+        state.setV(0, Integer.parseInt(coordinates[0]));
+        state.setV(1, Integer.parseInt(coordinates[1]));
+        state.setI(SPRITE_ADDRESS);
+
+        for (int i = 0; i < rows; i++) {
+            state.setMemory(SPRITE_ADDRESS + i, i % 2 == 0 ? 0xAA : 0x55);
+        }
+
+        entry = Decoder.decode(0xD010 | rows);
+    }
+
+    @Benchmark
+    public int drawTwice() {
+        state.setPcUnchecked(0x200);
+        interpreter.execute(entry);
+        interpreter.execute(entry);
+        return state.readV(0xF);
+    }
+}
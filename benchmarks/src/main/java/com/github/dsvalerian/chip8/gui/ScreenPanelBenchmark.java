@@ -0,0 +1,92 @@
+package com.github.dsvalerian.chip8.gui;
+
+import com.github.dsvalerian.chip8.io.ScreenState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishing a {@link ScreenState} to the {@link ScreenPanel} in full, with nothing changed, and with a single row
+ * changed, and painting the published frame scaled up into an off-screen image. Nothing is put on an actual display.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class ScreenPanelBenchmark {
+    @Param({"empty", "checkerboard"})
+    private String screen;
+
+    private ScreenPanel panel;
+    private ScreenState screenState;
+    private ScreenState otherScreenState;
+    private Graphics2D graphics;
+
+    @Setup
+    public void setUp() {
+        panel = new ScreenPanel();
+        Dimension size = panel.getPreferredSize();
+        graphics = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_RGB).createGraphics();
+        screenState = createScreen();
+        otherScreenState = createScreen();
+    }
+
+    @Benchmark
+    public ScreenPanel drawFullScreen() {
+        // A different screen than last time is always drawn in full.
+        ScreenState drawn = screenState;
+        screenState = otherScreenState;
+        otherScreenState = drawn;
+        panel.drawScreen(drawn);
+        return panel;
+    }
+
+    @Benchmark
+    public ScreenPanel drawUnchangedScreen() {
+        panel.drawScreen(screenState);
+        return panel;
+    }
+
+    @Benchmark
+    public ScreenPanel drawOneChangedRow() {
+        screenState.drawSpriteRow(0, 0, 0xFF);
+        panel.drawScreen(screenState);
+        return panel;
+    }
+
+    @Benchmark
+    public ScreenPanel drawAndPaintFullScreen() {
+        drawFullScreen();
+        panel.paintComponent(graphics);
+        return panel;
+    }
+
+    private ScreenState createScreen() {
+        ScreenState result = new ScreenState();
+
+        if (screen.equals("checkerboard")) {
+            for (int y = 0; y < ScreenState.HEIGHT; y++) {
+                for (int x = 0; x < ScreenState.WIDTH; x += 8) {
+                    result.drawSpriteRow(x, y, y % 2 == 0 ? 0xAA : 0x55);
+                }
+            }
+        }
+
+        return result;
+    }
+}
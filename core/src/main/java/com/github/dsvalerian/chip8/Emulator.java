@@ -0,0 +1,666 @@
+package com.github.dsvalerian.chip8;
+
+import com.github.dsvalerian.chip8.cpu.CPU;
+import com.github.dsvalerian.chip8.cpu.CPUSpeed;
+import com.github.dsvalerian.chip8.cpu.CPUState;
+import com.github.dsvalerian.chip8.cpu.Quirks;
+import com.github.dsvalerian.chip8.data.ROM;
+import com.github.dsvalerian.chip8.debug.Debugger;
+import com.github.dsvalerian.chip8.debug.MemoryAccess;
+import com.github.dsvalerian.chip8.farm.StateHash;
+import com.github.dsvalerian.chip8.io.FPS;
+import com.github.dsvalerian.chip8.io.KeyState;
+import com.github.dsvalerian.chip8.io.ScreenState;
+import com.github.dsvalerian.chip8.movie.InputRecorder;
+import com.github.dsvalerian.chip8.movie.Movie;
+import com.github.dsvalerian.chip8.movie.MoviePlayer;
+import com.github.dsvalerian.chip8.snapshot.RewindBuffer;
+import com.github.dsvalerian.chip8.snapshot.Snapshot;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Representation of the entire Chip-8 emulator. Manages the {@link CPU}, {@link ScreenState}, {@link KeyState},
+ * and hands every finished frame to a {@link FrameSink}. Run in a new thread for each program that is loaded, or
+ * drive it directly with {@link #runFrames(int)} when running headless.
+ */
+public class Emulator implements Runnable {
+    private static final FPS FRAMES_PER_SECOND = FPS.SIXTY;
+    private static final CPUSpeed DEFAULT_SPEED = CPUSpeed.FULL;
+    private static final long PRESENT_INTERVAL_NANOS = 1000000000L / FRAMES_PER_SECOND.getValue();
+    private static final int REWIND_SECONDS = 60;
+    private static final int REWIND_ARENA_BYTES = 4 * 1024 * 1024;
+    // How many frames run between looking at the clock at unlimited speed.
+    private static final int UNLIMITED_BATCH_FRAMES = 64;
+
+    private final FrameSink frameSink;
+    private CPUState state;
+    private ScreenState screenState;
+    private KeyState keyState;
+    private CPU cpu;
+    private Debugger debugger;
+    private ROM program;
+    private final FramePacer pacer = new FramePacer(DEFAULT_SPEED, FRAMES_PER_SECOND);
+    private final FrameSkipper frameSkipper = new FrameSkipper();
+    private final SpeedMeter speedMeter = new SpeedMeter();
+    private final RewindBuffer rewindBuffer = new RewindBuffer(REWIND_SECONDS * FRAMES_PER_SECOND.getValue(),
+            FRAMES_PER_SECOND.getValue(), REWIND_ARENA_BYTES);
+    private final Snapshot rewindSnapshot = new Snapshot();
+    // The frame number of each snapshot in the rewind buffer, as a stack that wraps around with the buffer.
+    private final long[] rewindFrames = new long[REWIND_SECONDS * FRAMES_PER_SECOND.getValue()];
+    private int rewindTop;
+    private final long seed;
+    private long frame;
+    private InputRecorder recorder;
+    private MoviePlayer player;
+    private volatile boolean paused;
+    private CPUSpeed speed = DEFAULT_SPEED;
+    private volatile CPUSpeed requestedSpeed = DEFAULT_SPEED;
+    private long lastPresentNanos;
+    // Cycles left over from a frame the debugger stopped partway through, run before the next frame starts.
+    private int unfinishedCycles;
+
+    private volatile boolean shouldStop = false;
+    private volatile Thread runner;
+    private volatile boolean running;
+    // Work handed to the emulator thread by other threads, run between frames.
+    private final Queue<FutureTask<?>> requests = new ConcurrentLinkedQueue<>();
+    private boolean programLoaded = false;
+
+    /**
+     * Create a new {@link Emulator} with a random number seed taken from the clock.
+     * @param program The {@link ROM} program this emulator will run.
+     * @param frameSink Where finished frames are sent, for example a window or {@link FrameSink#NONE}.
+     */
+    public Emulator(ROM program, FrameSink frameSink) {
+        this(program, frameSink, System.nanoTime());
+    }
+
+    /**
+     * Create a new {@link Emulator}.
+     * @param program The {@link ROM} program this emulator will run.
+     * @param frameSink Where finished frames are sent, for example a window or {@link FrameSink#NONE}.
+     * @param seed The seed for the random number generator, so that runs can be repeated exactly.
+     */
+    public Emulator(ROM program, FrameSink frameSink, long seed) {
+        this.program = program;
+        this.frameSink = frameSink;
+        this.seed = seed;
+
+        state = new CPUState();
+        state.setRandomSeed(seed);
+        screenState = new ScreenState();
+        keyState = new KeyState();
+        cpu = new CPU(state, screenState, keyState, Quirks.COSMAC_VIP);
+        cpu.setSpeed(DEFAULT_SPEED);
+        debugger = new Debugger(cpu, state);
+    }
+
+    /**
+     * Run the emulator in real time, one paced frame at a time. Use in a new {@link Thread}. The thread parks
+     * while the emulator is paused or the program has ended, and returns once {@link #stop()} is called. Frames
+     * are only handed to the {@link FrameSink} when the {@link FrameSkipper} decides to present them. In turbo
+     * mode, only presented frames are waited for, so the emulator runs as many times faster as frames are skipped.
+     * At {@link CPUSpeed#UNLIMITED}, no frames are waited for at all. Frames are run in batches until a sixtieth of
+     * a second has passed since the last one was presented, and only the first frame of each batch is kept for
+     * {@link #stepBack()}.
+     */
+    @Override
+    public void run() {
+        running = true;
+        runner = Thread.currentThread();
+        loadProgram();
+        pacer.resync();
+
+        while (!shouldStop) {
+            runRequests();
+
+            if (paused || !cpu.hasMoreInstructions()) {
+                LockSupport.park(this);
+                // Don't try to catch up on the frames that were skipped while parked.
+                pacer.resync();
+                speedMeter.restart();
+                continue;
+            }
+
+            if (speed.isUnlimited()) {
+                runUnlimitedFrames();
+            }
+            else {
+                runFrame(true);
+            }
+
+            speedMeter.update(cpu.getCycles(), System.nanoTime(), speed);
+
+            if (debugger.hasStopped()) {
+                present();
+                paused = true;
+                continue;
+            }
+
+            if (speed.isUnlimited()) {
+                long now = System.nanoTime();
+
+                if (now - lastPresentNanos >= PRESENT_INTERVAL_NANOS) {
+                    present();
+                    lastPresentNanos = now;
+                }
+            }
+            else if (frameSkipper.shouldPresent(pacer.nanosUntilDeadline())) {
+                long start = System.nanoTime();
+                present();
+                frameSkipper.recordPresent(System.nanoTime() - start + frameSink.getDisplayNanos());
+                pacer.awaitNextFrame();
+            }
+            else if (!frameSkipper.isTurbo()) {
+                pacer.awaitNextFrame();
+            }
+        }
+
+        // Nothing is left to pick up requests, so finish the ones that came in while stopping.
+        running = false;
+        runRequests();
+    }
+
+    /**
+     * Stop the emulator execution.
+     */
+    public void stop() {
+        shouldStop = true;
+        LockSupport.unpark(runner);
+    }
+
+    /**
+     * Run a number of whole frames as fast as possible, without any pacing. Each frame latches the keys, runs the
+     * number of CPU cycles that fit into one frame at the emulator's CPU speed and is then handed to the
+     * {@link FrameSink}. Returns early if the {@link Debugger} stops, which it has to be resumed from before
+     * running more frames. The first frame run after that is the rest of the one that was stopped in.
+     *
+     * @param frames The number of frames to run.
+     */
+    public void runFrames(int frames) {
+        loadProgram();
+
+        for (int i = 0; i < frames && cpu.hasMoreInstructions() && !debugger.hasStopped(); i++) {
+            runFrame(true);
+            present();
+        }
+    }
+
+    /**
+     * Run a single instruction of the current frame, starting the next frame first if the last one has finished.
+     * Steps over anything the {@link Debugger} stopped on. Can be called from any thread, and is run by the
+     * emulator's own thread when {@link #run()} is running.
+     */
+    public void update() {
+        onEmulatorThread(Executors.callable(this::updateNow));
+    }
+
+    private void updateNow() {
+        loadProgram();
+        debugger.resume();
+
+        if (!cpu.hasMoreInstructions()) {
+            return;
+        }
+
+        if (unfinishedCycles == 0) {
+            startFrame(true);
+        }
+
+        cpu.processNextInstruction();
+        unfinishedCycles--;
+
+        if (unfinishedCycles == 0) {
+            debugger.checkFrame(frame);
+        }
+    }
+
+    /**
+     * Run until a frame has been run, or until the {@link Debugger} stops on something else first.
+     *
+     * @param frame The number of frames to have run before pausing.
+     */
+    public void runUntilFrame(long frame) {
+        debugger.setFrameBreak(frame);
+        resume();
+    }
+
+    /**
+     * Gets run once per frame. Can be called from any thread, but the {@link FrameSink} is only ever called by the
+     * emulator's own thread when {@link #run()} is running.
+     */
+    public void draw() {
+        onEmulatorThread(Executors.callable(this::present));
+    }
+
+    /**
+     * @return The {@link CPU} this emulator is running.
+     */
+    public CPU getCpu() {
+        return cpu;
+    }
+
+    /**
+     * @return The {@link Debugger} that can stop this emulator.
+     */
+    public Debugger getDebugger() {
+        return debugger;
+    }
+
+    /**
+     * Stop before the instruction at an address runs. Can be called from any thread, and is done by the emulator's
+     * own thread between frames when {@link #run()} is running.
+     *
+     * @param address The address of the instruction.
+     */
+    public void addBreakpoint(int address) {
+        onEmulatorThread(Executors.callable(() -> debugger.addBreakpoint(address)));
+    }
+
+    /**
+     * Stop before an instruction accesses an address in the given way. Can be called from any thread, and is done
+     * by the emulator's own thread between frames when {@link #run()} is running.
+     *
+     * @param address The memory address to watch.
+     * @param access The kind of access to stop on.
+     */
+    public void addWatchpoint(int address, MemoryAccess access) {
+        onEmulatorThread(Executors.callable(() -> debugger.addWatchpoint(address, access)));
+    }
+
+    /**
+     * Stop after an instruction leaves a register holding a value that it didn't hold before. Can be called from
+     * any thread, and is done by the emulator's own thread between frames when {@link #run()} is running.
+     *
+     * @param register A V register from 0 to 15, or {@link Debugger#REGISTER_I}.
+     * @param value The value to stop on.
+     */
+    public void addCondition(int register, int value) {
+        onEmulatorThread(Executors.callable(() -> debugger.addCondition(register, value)));
+    }
+
+    /**
+     * Remove every breakpoint, watchpoint and register condition. Can be called from any thread, and is done by the
+     * emulator's own thread between frames when {@link #run()} is running.
+     */
+    public void clearBreakpoints() {
+        onEmulatorThread(Executors.callable(debugger::clearAll));
+    }
+
+    /**
+     * Describe the CPU's registers, stack and program counter. Can be called from any thread. When {@link #run()}
+     * is running, the emulator's own thread reads them between frames, so they all come from the same moment.
+     *
+     * @return The CPU state as text.
+     */
+    public String describeCpu() {
+        return onEmulatorThread(cpu::toString);
+    }
+
+    /**
+     * @return The {@link FramePacer} that keeps {@link #run()} in real time, with its frame timing statistics.
+     */
+    public FramePacer getPacer() {
+        return pacer;
+    }
+
+    /**
+     * @return The {@link FrameSkipper} that decides which frames {@link #run()} presents, with its limits, turbo
+     * mode and counts of skipped frames.
+     */
+    public FrameSkipper getFrameSkipper() {
+        return frameSkipper;
+    }
+
+    /**
+     * @return The {@link SpeedMeter} with the instructions per second that {@link #run()} is reaching.
+     */
+    public SpeedMeter getSpeedMeter() {
+        return speedMeter;
+    }
+
+    /**
+     * Change the CPU speed. Can be called from any thread, and takes effect from the start of the next frame. While
+     * a {@link Movie} is played, the speeds it was recorded at are used instead.
+     *
+     * @param speed The new CPU speed.
+     */
+    public void setSpeed(CPUSpeed speed) {
+        if (speed == null) {
+            throw new IllegalArgumentException("The speed can't be null.");
+        }
+
+        requestedSpeed = speed;
+    }
+
+    /**
+     * @return The CPU speed that was last asked for with {@link #setSpeed(CPUSpeed)}.
+     */
+    public CPUSpeed getSpeed() {
+        return requestedSpeed;
+    }
+
+    /**
+     * @return The {@link KeyState} this emulator reads input from.
+     */
+    public KeyState getKeyState() {
+        return keyState;
+    }
+
+    /**
+     * @return The {@link ScreenState} this emulator draws to.
+     */
+    public ScreenState getScreenState() {
+        return screenState;
+    }
+
+    /**
+     * Save the whole machine into a snapshot. Call this from the emulator's own thread or while it's paused.
+     *
+     * @param snapshot The snapshot to save into.
+     */
+    public void captureSnapshot(Snapshot snapshot) {
+        loadProgram();
+        snapshot.capture(cpu, state, screenState, keyState);
+    }
+
+    /**
+     * Put the whole machine back into a saved state. Call this from the emulator's own thread or while it's paused.
+     *
+     * @param snapshot The snapshot to restore.
+     */
+    public void restoreSnapshot(Snapshot snapshot) {
+        loadProgram();
+        snapshot.restore(cpu, state, screenState, keyState);
+    }
+
+    /**
+     * Go back to the start of the last frame that was run, and show it. Frames are remembered for up to a minute.
+     * At {@link CPUSpeed#UNLIMITED}, this goes back to the start of the last batch of frames instead.
+     * Can be called from any thread. When {@link #run()} is running, the emulator's own thread does it between
+     * frames while the caller waits, so that no frame is running at the same time.
+     *
+     * @return False if there was no earlier frame to go back to.
+     */
+    public boolean stepBack() {
+        return onEmulatorThread(this::stepBackNow);
+    }
+
+    private boolean stepBackNow() {
+        if (!rewindBuffer.pop(rewindSnapshot)) {
+            return false;
+        }
+
+        restoreSnapshot(rewindSnapshot);
+        unfinishedCycles = 0;
+        rewindTop = (rewindTop + rewindFrames.length - 1) % rewindFrames.length;
+        frame = rewindFrames[rewindTop];
+
+        if (recorder != null) {
+            recorder.discardFrom(frame);
+        }
+
+        present();
+        return true;
+    }
+
+    /**
+     * Start recording the input and CPU speed of every frame. Has to be called before the first frame runs, so that the
+     * recording can be replayed from a fresh start.
+     */
+    public void startRecording() {
+        checkNotStarted();
+        recorder = new InputRecorder(seed, StateHash.of(program));
+    }
+
+    /**
+     * Stop recording input. Can be called from any thread. When {@link #run()} is running, the recording is
+     * stopped by the emulator's own thread between two frames, so the movie ends on a whole frame.
+     *
+     * @return Everything recorded since {@link #startRecording()}, or null if input wasn't being recorded.
+     */
+    public Movie stopRecording() {
+        return onEmulatorThread(this::stopRecordingNow);
+    }
+
+    private Movie stopRecordingNow() {
+        if (recorder == null) {
+            return null;
+        }
+
+        Movie movie = recorder.toMovie(frame);
+        recorder = null;
+        return movie;
+    }
+
+    /**
+     * Take input from a recorded {@link Movie} instead of the keys. Has to be called before the first frame runs,
+     * on an emulator created with the movie's seed and ROM.
+     *
+     * @param movie The movie to play.
+     */
+    public void playMovie(Movie movie) {
+        checkNotStarted();
+
+        if (movie.getSeed() != seed || movie.getRomHash() != StateHash.of(program)) {
+            throw new IllegalArgumentException("The movie was recorded with a different seed or ROM.");
+        }
+
+        player = new MoviePlayer(movie);
+    }
+
+    /**
+     * @return The number of frames that have been run.
+     */
+    public long getFrame() {
+        return frame;
+    }
+
+    /**
+     * @return The {@link RewindBuffer} holding the frames that {@link #stepBack()} can go back to.
+     */
+    public RewindBuffer getRewindBuffer() {
+        return rewindBuffer;
+    }
+
+    /**
+     * Pauses the emulator.
+     */
+    public void pause() {
+        paused = true;
+    }
+
+    /**
+     * Unpauses the emulator, carrying on past anything the {@link Debugger} stopped on.
+     */
+    public void resume() {
+        debugger.resume();
+        paused = false;
+        LockSupport.unpark(runner);
+    }
+
+    /**
+     * @return True if the emulator is currently processing updates, false otherwise.
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Run an action on the thread running {@link #run()} and wait for its result. The action runs straight away
+     * when called from that thread, or when the emulator isn't being run in a thread of its own.
+     */
+    private <T> T onEmulatorThread(Callable<T> action) {
+        Thread current = runner;
+
+        try {
+            if (current == null || current == Thread.currentThread()) {
+                return action.call();
+            }
+
+            FutureTask<T> task = new FutureTask<>(action);
+            requests.add(task);
+            LockSupport.unpark(current);
+
+            if (!running) {
+                runRequests();
+            }
+
+            return task.get();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the emulator thread.", ex);
+        }
+        catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)ex.getCause();
+            }
+
+            throw new IllegalStateException(ex.getCause());
+        }
+        catch (RuntimeException ex) {
+            throw ex;
+        }
+        catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private synchronized void runRequests() {
+        FutureTask<?> task;
+
+        while ((task = requests.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private void checkNotStarted() {
+        if (frame != 0) {
+            throw new IllegalStateException("Frames have already been run.");
+        }
+    }
+
+    /**
+     * Latch the keys for the next frame, from the live keys or the movie being played, and record them if
+     * recording.
+     */
+    private void latchInput() {
+        if (player != null) {
+            player.apply(frame, keyState);
+        }
+        else {
+            keyState.latch();
+        }
+
+        if (recorder != null) {
+            recorder.record(frame, keyState);
+        }
+
+        frame++;
+    }
+
+    private void present() {
+        frameSink.onFrame(screenState);
+    }
+
+    /**
+     * Run the rest of the current frame, starting a new one first if the last one was finished. A frame the
+     * debugger stops partway through keeps the cycles it has left, so resuming finishes it with the same latched
+     * input, and every later frame starts on the same cycle it would have without the stop.
+     *
+     * @param rewindable Whether a new frame is kept for {@link #stepBack()}.
+     */
+    private void runFrame(boolean rewindable) {
+        if (unfinishedCycles == 0) {
+            startFrame(rewindable);
+        }
+
+        int budget = unfinishedCycles;
+        int executed = cpu.execute(budget);
+        unfinishedCycles = debugger.hasStopped() ? budget - executed : 0;
+
+        if (unfinishedCycles == 0) {
+            debugger.checkFrame(frame);
+        }
+    }
+
+    /**
+     * Run frames without pacing until a sixtieth of a second has passed since the last frame was presented, only
+     * looking at the clock every {@link #UNLIMITED_BATCH_FRAMES} frames. Stops early when the debugger stops or the
+     * speed changes, and at the end of a batch for anything else that needs the emulator thread.
+     */
+    private void runUnlimitedFrames() {
+        runFrame(true);
+
+        while (canRunUnlimitedFrame() && !paused && !shouldStop && requests.isEmpty()) {
+            for (int i = 0; i < UNLIMITED_BATCH_FRAMES && canRunUnlimitedFrame(); i++) {
+                runFrame(false);
+            }
+
+            if (System.nanoTime() - lastPresentNanos >= PRESENT_INTERVAL_NANOS) {
+                return;
+            }
+        }
+    }
+
+    private boolean canRunUnlimitedFrame() {
+        return speed.isUnlimited() && !debugger.hasStopped() && cpu.hasMoreInstructions();
+    }
+
+    private void startFrame(boolean rewindable) {
+        applySpeed();
+
+        if (rewindable) {
+            recordRewindFrame();
+        }
+
+        latchInput();
+        unfinishedCycles = pacer.cyclesForNextFrame();
+    }
+
+    /**
+     * Switch to the speed asked for with {@link #setSpeed(CPUSpeed)}, or to the one the movie being played was
+     * recorded at, and record it if recording.
+     */
+    private void applySpeed() {
+        CPUSpeed requested = player == null ? null : player.getSpeed(frame);
+
+        if (requested == null) {
+            requested = requestedSpeed;
+        }
+
+        if (requested != speed) {
+            speed = requested;
+            cpu.setSpeed(speed);
+            pacer.setSpeed(speed);
+            pacer.resync();
+            speedMeter.restart();
+        }
+
+        if (recorder != null) {
+            recorder.recordSpeed(frame, speed);
+        }
+    }
+
+    private void recordRewindFrame() {
+        captureSnapshot(rewindSnapshot);
+        rewindBuffer.push(rewindSnapshot);
+        rewindFrames[rewindTop] = frame;
+        rewindTop = (rewindTop + 1) % rewindFrames.length;
+    }
+
+    private void loadProgram() {
+        if (!programLoaded) {
+            cpu.loadProgram(program);
+            programLoaded = true;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.github.dsvalerian.chip8;
+
+import com.github.dsvalerian.chip8.cpu.CPUSpeed;
+import com.github.dsvalerian.chip8.io.FPS;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Paces an emulator to real time. Each frame gets a fixed budget of CPU cycles worked out from the {@link CPUSpeed},
+ * and once the frame's work is done the thread parks until the frame's deadline instead of spinning.
+ *
+ * Deadlines are kept on an absolute schedule, so oversleeping one frame makes the next wait shorter rather than
+ * pushing every later frame back. If the emulator falls far behind, for example after the machine was suspended,
+ * the schedule starts over from the current time instead of running a burst of frames to catch up.
+ */
+public class FramePacer {
+    private static final long NANOS_PER_SECOND = 1000000000L;
+    private static final int MAX_LAG_FRAMES = 3;
+
+    private CPUSpeed speed;
+    private final FPS fps;
+    private final long frameNanos;
+
+    private int cycleRemainder;
+    private long epoch;
+    private long framesSinceEpoch;
+
+    private long frames;
+    private long resyncs;
+    private long totalJitterNanos;
+    private long maxJitterNanos;
+
+    /**
+     * Create a new {@link FramePacer}.
+     *
+     * @param speed The CPU speed that decides how many cycles each frame gets.
+     * @param fps The number of frames per second.
+     */
+    public FramePacer(CPUSpeed speed, FPS fps) {
+        this.speed = speed;
+        this.fps = fps;
+        frameNanos = NANOS_PER_SECOND / fps.getValue();
+        resync();
+    }
+
+    /**
+     * Change the CPU speed that decides how many cycles each frame gets.
+     *
+     * @param speed The new CPU speed.
+     */
+    public void setSpeed(CPUSpeed speed) {
+        this.speed = speed;
+        cycleRemainder = 0;
+    }
+
+    /**
+     * @return The number of cycles in the next frame. CPU speeds don't divide evenly into frames, so the leftover
+     * fraction of a cycle is carried over to the following frame.
+     */
+    public int cyclesForNextFrame() {
+        cycleRemainder += speed.getHertz();
+        int cycles = cycleRemainder / fps.getValue();
+        cycleRemainder %= fps.getValue();
+        return cycles;
+    }
+
+    /**
+     * Park the calling thread until the current frame's deadline has passed, and move on to the next frame.
+     */
+    public void awaitNextFrame() {
+        framesSinceEpoch++;
+        long deadline = epoch + framesSinceEpoch * NANOS_PER_SECOND / fps.getValue();
+        long remaining = deadline - System.nanoTime();
+
+        while (remaining > 0) {
+            LockSupport.parkNanos(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+
+        // How late the thread woke up, or how far behind schedule the frame's work ran.
+        long jitter = -remaining;
+        frames++;
+        totalJitterNanos += jitter;
+        maxJitterNanos = Math.max(maxJitterNanos, jitter);
+
+        if (jitter > MAX_LAG_FRAMES * frameNanos) {
+            resync();
+            resyncs++;
+        }
+    }
+
+    /**
+     * @return The time left until the current frame's deadline, in nanoseconds, or a negative number if it has
+     * already passed.
+     */
+    public long nanosUntilDeadline() {
+        return epoch + (framesSinceEpoch + 1) * NANOS_PER_SECOND / fps.getValue() - System.nanoTime();
+    }
+
+    /**
+     * Start the frame schedule over from the current time, for example after the emulator was paused.
+     */
+    public void resync() {
+        epoch = System.nanoTime();
+        framesSinceEpoch = 0;
+    }
+
+    /**
+     * @return The number of frames that were waited for.
+     */
+    public long getFrames() {
+        return frames;
+    }
+
+    /**
+     * @return The number of times the schedule had to start over because the emulator fell too far behind.
+     */
+    public long getResyncs() {
+        return resyncs;
+    }
+
+    /**
+     * @return The average time a frame ended after its deadline, in nanoseconds.
+     */
+    public long getMeanJitterNanos() {
+        return frames == 0 ? 0 : totalJitterNanos / frames;
+    }
+
+    /**
+     * @return The longest time a frame ended after its deadline, in nanoseconds.
+     */
+    public long getMaxJitterNanos() {
+        return maxJitterNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("frames=%d, jitter mean=%.3fms max=%.3fms, resyncs=%d", frames,
+                getMeanJitterNanos() / 1e6, maxJitterNanos / 1e6, resyncs);
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.dsvalerian.chip8;
+
+import com.github.dsvalerian.chip8.io.ScreenState;
+
+/**
+ * Receives the screen once per emulated frame. This is how an {@link Emulator} presents its output, so the core
+ * never has to know whether it is being shown in a window or running headless.
+ */
+@FunctionalInterface
+public interface FrameSink {
+    /**
+     * A {@link FrameSink} that throws every frame away, for running without any display.
+     */
+    FrameSink NONE = screen -> { };
+
+    /**
+     * Called at the end of every emulated frame.
+     *
+     * @param screen The current screen. Only valid for the duration of the call.
+     */
+    void onFrame(ScreenState screen);
+
+    /**
+     * Sinks that show frames on another thread after {@link #onFrame(ScreenState)} returns, such as a window
+     * painting on its own thread, report how long that takes here, so the {@link FrameSkipper} can skip frames
+     * when showing them falls behind.
+     *
+     * @return How long the last frame took to show after it was handed over, in nanoseconds, or 0 if
+     * {@link #onFrame(ScreenState)} does all of the work itself.
+     */
+    default long getDisplayNanos() {
+        return 0;
+    }
+}
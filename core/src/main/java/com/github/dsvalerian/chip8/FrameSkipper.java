@@ -0,0 +1,156 @@
+package com.github.dsvalerian.chip8;
+
+/**
+ * Decides which emulated frames are presented to the {@link FrameSink}. Every frame is always emulated; only
+ * showing it can be skipped. A frame is skipped when presenting it is expected to take longer than what is left of
+ * the frame's time, so that slow rendering doesn't slow down emulation, but never more than a set number of frames
+ * in a row. The cost of presenting is an average of recent measurements, made up of the time the
+ * {@link FrameSink} takes to take the frame plus what it reports with {@link FrameSink#getDisplayNanos()} for
+ * showing it on another thread.
+ *
+ * In turbo mode only every Nth frame is presented, whatever the cost.
+ */
+public class FrameSkipper {
+    /**
+     * The default for the most frames that are skipped in a row.
+     */
+    public static final int DEFAULT_MAX_SKIPPED_FRAMES = 4;
+
+    // Each new measurement makes up 1/8 of the average.
+    private static final int AVERAGE_SHIFT = 3;
+
+    private volatile int maxSkippedFrames;
+    private volatile int turboInterval = 1;
+
+    private long averagePresentNanos;
+    private int framesSincePresent;
+    private long presentedFrames;
+    private long skippedFrames;
+
+    /**
+     * Create a new {@link FrameSkipper} that skips at most {@link #DEFAULT_MAX_SKIPPED_FRAMES} frames in a row.
+     */
+    public FrameSkipper() {
+        this(DEFAULT_MAX_SKIPPED_FRAMES);
+    }
+
+    /**
+     * Create a new {@link FrameSkipper}.
+     *
+     * @param maxSkippedFrames The most frames to skip in a row, or 0 to present every frame.
+     */
+    public FrameSkipper(int maxSkippedFrames) {
+        setMaxSkippedFrames(maxSkippedFrames);
+    }
+
+    /**
+     * Decide whether to present the frame that was just emulated, and count it as presented or skipped.
+     *
+     * @param nanosUntilDeadline The time left before the next frame has to start, in nanoseconds.
+     * @return True if the frame should be presented, in which case {@link #recordPresent(long)} should be called
+     * with how long it took.
+     */
+    public boolean shouldPresent(long nanosUntilDeadline) {
+        framesSincePresent++;
+        boolean present;
+
+        if (turboInterval > 1) {
+            present = framesSincePresent >= turboInterval;
+        }
+        else {
+            present = framesSincePresent > maxSkippedFrames || averagePresentNanos <= nanosUntilDeadline;
+        }
+
+        if (present) {
+            framesSincePresent = 0;
+            presentedFrames++;
+        }
+        else {
+            skippedFrames++;
+        }
+
+        return present;
+    }
+
+    /**
+     * Add how long presenting a frame took to the average cost.
+     *
+     * @param nanos The time it took, in nanoseconds.
+     */
+    public void recordPresent(long nanos) {
+        averagePresentNanos += (nanos - averagePresentNanos) >> AVERAGE_SHIFT;
+    }
+
+    /**
+     * @param maxSkippedFrames The most frames to skip in a row, or 0 to present every frame.
+     */
+    public void setMaxSkippedFrames(int maxSkippedFrames) {
+        if (maxSkippedFrames < 0) {
+            throw new IllegalArgumentException("The number of frames to skip can't be negative.");
+        }
+
+        this.maxSkippedFrames = maxSkippedFrames;
+    }
+
+    /**
+     * @return The most frames that are skipped in a row.
+     */
+    public int getMaxSkippedFrames() {
+        return maxSkippedFrames;
+    }
+
+    /**
+     * Present only every Nth frame, or go back to adaptive skipping with 1.
+     *
+     * @param interval N, at least 1.
+     */
+    public void setTurbo(int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Turbo has to present at least every frame, not every " + interval +
+                    ".");
+        }
+
+        turboInterval = interval;
+    }
+
+    /**
+     * @return How many frames make up one presented frame in turbo mode, or 1 if turbo is off.
+     */
+    public int getTurbo() {
+        return turboInterval;
+    }
+
+    /**
+     * @return True if in turbo mode.
+     */
+    public boolean isTurbo() {
+        return turboInterval > 1;
+    }
+
+    /**
+     * @return The number of frames that were presented.
+     */
+    public long getPresentedFrames() {
+        return presentedFrames;
+    }
+
+    /**
+     * @return The number of frames that were emulated without being presented.
+     */
+    public long getSkippedFrames() {
+        return skippedFrames;
+    }
+
+    /**
+     * @return The average time it took to present a frame, in nanoseconds.
+     */
+    public long getAveragePresentNanos() {
+        return averagePresentNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("presented=%d, skipped=%d, present mean=%.3fms, turbo=%d", presentedFrames,
+                skippedFrames, averagePresentNanos / 1e6, turboInterval);
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.dsvalerian.chip8;
+
+import com.github.dsvalerian.chip8.cpu.CPUSpeed;
+
+/**
+ * Measures how many instructions an emulator runs per second of wall clock time, and how many times faster than
+ * real time that is. The measurement is over windows of half a second, and the latest one can be read from any
+ * thread.
+ */
+public class SpeedMeter {
+    private static final long WINDOW_NANOS = 500000000L;
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private boolean started;
+    private long windowStartNanos;
+    private long windowStartCycles;
+
+    private volatile double instructionsPerSecond;
+    private volatile double speedMultiplier;
+
+    /**
+     * Add a measurement. Call this regularly from the thread running the emulator, for example once per frame.
+     *
+     * @param cycles The total number of instructions run so far.
+     * @param nanoTime The current {@link System#nanoTime()}.
+     * @param speed The CPU speed that real time is measured against.
+     */
+    public void update(long cycles, long nanoTime, CPUSpeed speed) {
+        if (!started) {
+            started = true;
+            windowStartNanos = nanoTime;
+            windowStartCycles = cycles;
+            return;
+        }
+
+        long elapsed = nanoTime - windowStartNanos;
+
+        if (elapsed >= WINDOW_NANOS) {
+            double rate = (cycles - windowStartCycles) * NANOS_PER_SECOND / elapsed;
+            instructionsPerSecond = rate;
+            speedMultiplier = rate / speed.getHertz();
+            windowStartNanos = nanoTime;
+            windowStartCycles = cycles;
+        }
+    }
+
+    /**
+     * Start a new measurement window with the next update, so time spent paused isn't counted.
+     */
+    public void restart() {
+        started = false;
+    }
+
+    /**
+     * @return The number of instructions run per second in the latest measurement.
+     */
+    public double getInstructionsPerSecond() {
+        return instructionsPerSecond;
+    }
+
+    /**
+     * @return The number of millions of instructions run per second in the latest measurement.
+     */
+    public double getMips() {
+        return instructionsPerSecond / 1e6;
+    }
+
+    /**
+     * @return How many times faster than real time the latest measurement was, where 1 is real time.
+     */
+    public double getSpeedMultiplier() {
+        return speedMultiplier;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.2f MIPS, %.1fx", getMips(), speedMultiplier);
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.dsvalerian.chip8.cpu;
+
+/**
+ * A straight-line run of decoded instructions, starting at a fixed address and ending at the first instruction
+ * that can change the flow of execution. Blocks are built and owned by a {@link BlockCache}.
+ */
+final class Block {
+    /**
+     * The address of the first instruction in the block.
+     */
+    final int startAddress;
+
+    /**
+     * The decoded instructions in the block, in program order.
+     */
+    final int[] entries;
+
+    /**
+     * Cleared once memory covered by the block has been written to. An invalid block must not be executed any
+     * further.
+     */
+    boolean valid = true;
+
+    /**
+     * The number of times execution has entered the block at its start address.
+     */
+    int timesEntered;
+
+    /**
+     * Set once the {@link Recompiler} has looked at the block, whether or not it could compile it.
+     */
+    boolean compileAttempted;
+
+    /**
+     * The compiled form of the first {@link #compiledLength} instructions, or null if there isn't one.
+     */
+    CompiledBlock compiled;
+
+    /**
+     * The number of leading instructions covered by {@link #compiled}.
+     */
+    int compiledLength;
+
+    /**
+     * Set if the compiled instructions read the delay timer, so they can't run across a timer tick.
+     */
+    boolean compiledReadsTimers;
+
+    /**
+     * Set if the block ends with a backward jump whose loop body has side effects, so the CPU doesn't need to
+     * check it for idling again.
+     */
+    boolean notIdleLoop;
+
+    Block(int startAddress, int[] entries) {
+        this.startAddress = startAddress;
+        this.entries = entries;
+    }
+
+    /**
+     * @return The address one past the last byte covered by the block.
+     */
+    int endAddress() {
+        return startAddress + entries.length * Interpreter.PC_STEP_SIZE;
+    }
+}
@@ -0,0 +1,154 @@
+package com.github.dsvalerian.chip8.cpu;
+
+import java.util.Arrays;
+
+/**
+ * Caches decoded {@link Block}s by their start address so that code that runs more than once is only fetched and
+ * decoded the first time. Blocks end at the first branch, skip, call or return, or once they reach
+ * {@link #MAX_BLOCK_INSTRUCTIONS}.
+ * <p>
+ * The cache must be told about every write to main memory through {@link #invalidate(int)}. A write only drops
+ * the blocks whose range actually contains the written address, so self-modifying programs stay correct without
+ * throwing away unrelated code.
+ */
+final class BlockCache {
+    /**
+     * The maximum number of instructions in a single block.
+     */
+    static final int MAX_BLOCK_INSTRUCTIONS = 32;
+
+    private static final int MAX_BLOCK_BYTES = MAX_BLOCK_INSTRUCTIONS * Interpreter.PC_STEP_SIZE;
+
+    private final CPUState state;
+    private final Block[] blocks = new Block[CPUState.MEMORY_SIZE];
+
+    /**
+     * The number of cached blocks covering each address in main memory.
+     */
+    private final short[] coverage = new short[CPUState.MEMORY_SIZE];
+
+    /**
+     * Create a new {@link BlockCache}.
+     *
+     * @param state The {@link CPUState} whose memory the blocks are decoded from.
+     */
+    BlockCache(CPUState state) {
+        this.state = state;
+    }
+
+    /**
+     * Get the block starting at an address, decoding it first if it isn't cached.
+     *
+     * @param address The address of the first instruction.
+     * @return The block starting at the address.
+     */
+    Block lookUp(int address) {
+        if (address > CPUState.MEMORY_SIZE - Interpreter.PC_STEP_SIZE) {
+            // The instruction straddles the end of memory, so don't bother caching it.
+            return new Block(address, new int[] {Decoder.decode(fetch(address))});
+        }
+
+        Block block = blocks[address];
+
+        if (block == null) {
+            block = build(address);
+            blocks[address] = block;
+            addCoverage(block, 1);
+        }
+
+        return block;
+    }
+
+    /**
+     * Drop every cached block that covers an address. Must be called whenever main memory is written.
+     *
+     * @param address The address that was written to.
+     */
+    void invalidate(int address) {
+        if (coverage[address] == 0) {
+            return;
+        }
+
+        int firstStart = Math.max(0, address - MAX_BLOCK_BYTES + 1);
+
+        for (int start = firstStart; start <= address; start++) {
+            Block block = blocks[start];
+
+            if (block != null && block.endAddress() > address) {
+                remove(block);
+            }
+        }
+    }
+
+    /**
+     * Drop every cached block.
+     */
+    void clear() {
+        for (int i = 0; i < blocks.length; i++) {
+            if (blocks[i] != null) {
+                blocks[i].valid = false;
+                blocks[i] = null;
+            }
+        }
+
+        Arrays.fill(coverage, (short)0);
+    }
+
+    private void remove(Block block) {
+        block.valid = false;
+        blocks[block.startAddress] = null;
+        addCoverage(block, -1);
+    }
+
+    private void addCoverage(Block block, int amount) {
+        for (int address = block.startAddress; address < block.endAddress(); address++) {
+            coverage[address] += amount;
+        }
+    }
+
+    private Block build(int startAddress) {
+        int[] buffer = new int[MAX_BLOCK_INSTRUCTIONS];
+        int length = 0;
+        int address = startAddress;
+
+        while (length < MAX_BLOCK_INSTRUCTIONS && address <= CPUState.MEMORY_SIZE - Interpreter.PC_STEP_SIZE) {
+            int entry = Decoder.decode(fetch(address));
+            buffer[length++] = entry;
+            address += Interpreter.PC_STEP_SIZE;
+
+            if (endsBlock(Decoder.opcode(entry))) {
+                break;
+            }
+        }
+
+        return new Block(startAddress, Arrays.copyOf(buffer, length));
+    }
+
+    private int fetch(int address) {
+        return (state.readMemoryUnchecked(address) << 8) + state.readMemoryUnchecked(address + 1);
+    }
+
+    /**
+     * @param opcode An {@link Opcodes} identifier.
+     * @return True if the instruction may continue anywhere other than the next instruction.
+     */
+    static boolean endsBlock(int opcode) {
+        switch (opcode) {
+            case Opcodes.RET:
+            case Opcodes.JP:
+            case Opcodes.CALL:
+            case Opcodes.SE_VX_BYTE:
+            case Opcodes.SNE_VX_BYTE:
+            case Opcodes.SE_VX_VY:
+            case Opcodes.SNE_VX_VY:
+            case Opcodes.JP_V0_ADDR:
+            case Opcodes.SKP:
+            case Opcodes.SKNP:
+            case Opcodes.LD_VX_K:
+            case Opcodes.INVALID:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
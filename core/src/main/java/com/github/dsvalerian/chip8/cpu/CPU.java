@@ -0,0 +1,550 @@
+package com.github.dsvalerian.chip8.cpu;
+
+import com.github.dsvalerian.chip8.data.ROM;
+import com.github.dsvalerian.chip8.data.Sprites;
+import com.github.dsvalerian.chip8.exception.NoProgramLoadedException;
+import com.github.dsvalerian.chip8.io.KeyState;
+import com.github.dsvalerian.chip8.io.ScreenState;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Representation of the Chip-8 CPU. In charge of all the necessary parts for loading and
+ * executing programs.
+ */
+public class CPU {
+    /**
+     * The number of bytes written by {@link #writeTo(ByteBuffer)}.
+     */
+    public static final int SNAPSHOT_BYTES = 12;
+
+    private static final int PROGRAM_START_ADDRESS = 0x200;
+    private static final int TIMER_HERTZ = 60;
+    private static final int MAX_IDLE_LOOP_INSTRUCTIONS = 16;
+
+    private CPUState state;
+    private Quirks quirks;
+    private Interpreter interpreter;
+    private BlockCache blockCache;
+    private Recompiler recompiler;
+    private volatile ExecutionProbe probe;
+
+    private Block currentBlock;
+    private int currentBlockIndex;
+
+    private ROM program;
+    private long cycles;
+
+    private CPUSpeed speed = CPUSpeed.FULL;
+    private int timerAccumulator;
+
+    // The backward jump closing the loop that is being watched for idling, or -1 if there isn't one.
+    private boolean idleSkipping = true;
+    private int idleJump = -1;
+    private int idleLoopStart;
+    private long idleArrival;
+    private final int[] idleSnapshot = new int[CPUState.NUM_V_REGISTERS + 2];
+    private long elidedCycles;
+
+    /**
+     * Create a new {@link CPU} with its own {@link KeyState}, following the {@link Quirks#COSMAC_VIP} quirks.
+     * @param state Represents the state of the CPU.
+     * @param screenState Represents the system screen.
+     */
+    public CPU(CPUState state, ScreenState screenState) {
+        this(state, screenState, new KeyState(), Quirks.COSMAC_VIP);
+    }
+
+    /**
+     * Create a new {@link CPU}.
+     * @param state Represents the state of the CPU.
+     * @param screenState Represents the system screen.
+     * @param keyState Represents the system keypad.
+     * @param quirks The {@link Quirks} to follow for instructions that differ between implementations.
+     */
+    public CPU(CPUState state, ScreenState screenState, KeyState keyState, Quirks quirks) {
+        this.state = state;
+        this.quirks = quirks;
+        this.interpreter = new Interpreter(state, screenState, keyState, quirks);
+        this.blockCache = new BlockCache(state);
+        state.setOnMemoryWrite(blockCache::invalidate);
+
+        program = null;
+        Sprites.load(state);
+    }
+
+    /**
+     * Read the next instruction and execute it.
+     */
+    public void processNextInstruction() {
+        if (program == null) {
+            throw new NoProgramLoadedException();
+        }
+
+        // Read and execute the next instruction.
+        if (!state.isPaused()) {
+            ExecutionProbe probe = this.probe;
+            int address = state.readPc();
+            int entry = nextInstruction();
+            interpreter.execute(entry);
+            cycles++;
+            advanceTimers(1);
+
+            if (probe != null) {
+                probe.onInstruction(cycles - 1, address, Decoder.instruction(entry), Decoder.opcode(entry), state);
+            }
+        }
+    }
+
+    /**
+     * Run up to a number of instructions, stopping early if execution is paused or leaves the program.
+     * Unlike {@link #processNextInstruction()}, this may run instructions that were compiled by the recompiler
+     * when it is enabled, and skips over loops that only wait for the delay timer or for a key press.
+     *
+     * @param cycles The maximum number of instructions to run.
+     * @return The number of instructions that were run, including any that were skipped as idle.
+     */
+    public int execute(int cycles) {
+        if (program == null) {
+            throw new NoProgramLoadedException();
+        }
+
+        ExecutionProbe probe = this.probe;
+
+        if (probe != null) {
+            return executeProbed(cycles, probe);
+        }
+
+        int executed = 0;
+        // Keys may have been latched since the last call, so a loop seen before isn't known to repeat anymore.
+        idleJump = -1;
+
+        while (executed < cycles && !state.isPaused() && hasMoreInstructions()) {
+            int entry = nextInstruction();
+            Block block = currentBlock;
+
+            if (currentBlockIndex == 1 && recompiler != null) {
+                CompiledBlock compiled = compiledCode(block);
+
+                if (compiled != null && cycles - executed >= block.compiledLength &&
+                        (!block.compiledReadsTimers || cyclesUntilTimerTick() >= block.compiledLength)) {
+                    compiled.run(state);
+                    currentBlockIndex = block.compiledLength;
+                    executed += block.compiledLength;
+                    advanceTimers(block.compiledLength);
+                    continue;
+                }
+            }
+
+            int opcode = Decoder.opcode(entry);
+
+            if (opcode == Opcodes.JP && idleSkipping) {
+                executed += skipIdleIterations(entry, this.cycles + executed, cycles - executed);
+            }
+
+            interpreter.execute(entry);
+            executed++;
+            advanceTimers(1);
+
+            // Fx0A runs again until a key press is latched, which can't happen before the next call.
+            // Fx0A always ends its block, so it didn't take a key if PC is still on the block's last instruction.
+            if (opcode == Opcodes.LD_VX_K && idleSkipping &&
+                    state.readPc() == currentBlock.endAddress() - Interpreter.PC_STEP_SIZE) {
+                int skipped = cycles - executed;
+                executed += skipped;
+                elidedCycles += skipped;
+                advanceTimers(skipped);
+            }
+        }
+
+        this.cycles += executed;
+        return executed;
+    }
+
+    /**
+     * Attach a probe that is shown every instruction after it runs, or detach it by passing null. While a probe is
+     * attached, {@link #execute(int)} switches to a separate loop that interprets every instruction one at a time,
+     * without the recompiler or idle skipping, so nothing runs unseen. Without one, the normal loop pays nothing
+     * for the probe beyond a single check per call. A probe can be attached from another thread, and takes effect
+     * from the next call.
+     *
+     * @param probe The probe to attach, or null.
+     */
+    public void setProbe(ExecutionProbe probe) {
+        this.probe = probe;
+    }
+
+    /**
+     * @return The attached probe, or null if there isn't one.
+     */
+    public ExecutionProbe getProbe() {
+        return probe;
+    }
+
+    /**
+     * Turn skipping of idle loops in {@link #execute(int)} on or off. Skipping never changes the outcome of a
+     * program, only how long it takes to emulate.
+     *
+     * @param enabled True to skip idle loops.
+     */
+    public void setIdleSkippingEnabled(boolean enabled) {
+        idleSkipping = enabled;
+        idleJump = -1;
+    }
+
+    /**
+     * @return The number of instructions that were counted as run without being executed, because they were part
+     * of a loop that was only waiting.
+     */
+    public long getElidedCycles() {
+        return elidedCycles;
+    }
+
+    /**
+     * Turn the recompiler on or off. When it's on, blocks that {@link #execute(int)} enters often are translated
+     * into JVM bytecode. Compiled code is thrown away along with its block when the block's memory is written to.
+     *
+     * @param enabled True to use the recompiler.
+     */
+    public void setRecompilerEnabled(boolean enabled) {
+        recompiler = enabled ? new Recompiler(quirks) : null;
+        blockCache.clear();
+        currentBlock = null;
+    }
+
+    /**
+     * Set how many instructions make up one second of emulated time, which decides how often the delay and sound
+     * timers count down. Timers follow executed instructions rather than the wall clock, so a program sees the same
+     * timing however fast it is actually run.
+     *
+     * @param speed The emulated CPU speed.
+     */
+    public void setSpeed(CPUSpeed speed) {
+        // Keep the same progress towards the next timer tick.
+        timerAccumulator = (int)((long)timerAccumulator * speed.getHertz() / this.speed.getHertz());
+        this.speed = speed;
+    }
+
+    /**
+     * @return The emulated CPU speed.
+     */
+    public CPUSpeed getSpeed() {
+        return speed;
+    }
+
+    /**
+     * @return The total number of instructions this CPU has executed.
+     */
+    public long getCycles() {
+        return cycles;
+    }
+
+    /**
+     * Write the cycle count and the progress towards the next timer tick to a buffer, at its current position.
+     *
+     * @param buffer The buffer to write {@link #SNAPSHOT_BYTES} bytes to.
+     */
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putLong(cycles).putInt(timerAccumulator);
+    }
+
+    /**
+     * Replace the cycle count and timer progress with ones written by {@link #writeTo(ByteBuffer)}. Decoded and
+     * compiled blocks are kept, since restoring the {@link CPUState} invalidates any whose memory changed.
+     *
+     * @param buffer The buffer to read {@link #SNAPSHOT_BYTES} bytes from, at its current position.
+     */
+    public void readFrom(ByteBuffer buffer) {
+        cycles = buffer.getLong();
+        timerAccumulator = Math.floorMod(buffer.getInt(), speed.getHertz());
+        currentBlock = null;
+        idleJump = -1;
+    }
+
+    /**
+     * @return True if there are still more instructions in the loaded program for the CPU to process.
+     */
+    public boolean hasMoreInstructions() {
+        if (program == null) {
+            throw new NoProgramLoadedException();
+        }
+
+        return state.readPc() < PROGRAM_START_ADDRESS + program.getSize() &&
+                state.readPc() >= PROGRAM_START_ADDRESS;
+    }
+
+    /**
+     * Load a {@link ROM} into main memory and reset the program counter.
+     *
+     * @param program The {@link ROM} to load.
+     */
+    public void loadProgram(ROM program) {
+        this.program = program;
+        blockCache.clear();
+        currentBlock = null;
+        state.loadMemory(PROGRAM_START_ADDRESS, program);
+        resetPc();
+    }
+
+    /**
+     * Get the decoded instruction at the program counter. Instructions are taken from the current {@link Block}
+     * for as long as execution stays inside of it, and only fetched and decoded when a new block is needed.
+     *
+     * @return The decoded instruction.
+     */
+    private int nextInstruction() {
+        int pc = state.readPc();
+        Block block = currentBlock;
+
+        if (block == null || !block.valid || currentBlockIndex >= block.entries.length ||
+                pc != block.startAddress + currentBlockIndex * Interpreter.PC_STEP_SIZE) {
+            block = blockCache.lookUp(pc);
+            currentBlock = block;
+            currentBlockIndex = 0;
+
+            // Skips and jumps always end a block, so this is the only place execution can leave a watched loop.
+            if (pc < idleLoopStart || pc > idleJump) {
+                idleJump = -1;
+            }
+        }
+
+        return block.entries[currentBlockIndex++];
+    }
+
+    /**
+     * Count an entry into a block and return its compiled code, compiling it once it gets hot.
+     */
+    private CompiledBlock compiledCode(Block block) {
+        if (block.compiled == null && !block.compileAttempted &&
+                ++block.timesEntered >= Recompiler.HOT_BLOCK_THRESHOLD) {
+            recompiler.compile(block, PROGRAM_START_ADDRESS + program.getSize());
+        }
+
+        return block.compiled;
+    }
+
+    /**
+     * Count executed instructions towards the 60hz timers. Every instruction is worth 60 units and a timer tick
+     * is due every {@link CPUSpeed#getHertz()} units, so no precision is lost to rounding.
+     */
+    private void advanceTimers(int executed) {
+        long units = timerAccumulator + (long)executed * TIMER_HERTZ;
+
+        if (units >= speed.getHertz()) {
+            state.tickTimers((int)Math.min(units / speed.getHertz(), Integer.MAX_VALUE));
+            units %= speed.getHertz();
+        }
+
+        timerAccumulator = (int)units;
+    }
+
+    /**
+     * The loop used by {@link #execute(int)} while a probe is attached.
+     */
+    private int executeProbed(int cycles, ExecutionProbe probe) {
+        int executed = 0;
+        probe.onStart(state);
+
+        while (executed < cycles && !state.isPaused() && hasMoreInstructions()) {
+            long cycle = this.cycles + executed;
+            int address = state.readPc();
+            int entry = nextInstruction();
+            interpreter.execute(entry);
+            executed++;
+            advanceTimers(1);
+            probe.onInstruction(cycle, address, Decoder.instruction(entry), Decoder.opcode(entry), state);
+        }
+
+        this.cycles += executed;
+        return executed;
+    }
+
+    /**
+     * Called before a jump is executed. When a backward jump is reached with the same registers, I and delay timer
+     * as the last time, and everything run in between was a loop body without side effects, then every following
+     * pass through the loop will be the same too. Those passes are skipped up to the next timer tick, or up to the
+     * end of the budget if the delay timer is already 0. Loops polling the delay timer are recognized by pattern
+     * instead, see {@link #skipTimerPoll(int, int)}.
+     *
+     * @param entry The decoded jump instruction.
+     * @param now The number of instructions run so far.
+     * @param budget The number of instructions left to run, including the jump.
+     * @return The number of instructions that were skipped.
+     */
+    private int skipIdleIterations(int entry, long now, int budget) {
+        int pc = state.readPc();
+        int target = Decoder.nnn(entry);
+
+        if (target > pc || currentBlock.notIdleLoop) {
+            return 0;
+        }
+
+        if (pc - target == 2 * Interpreter.PC_STEP_SIZE) {
+            int skipped = skipTimerPoll(target, budget);
+
+            if (skipped > 0) {
+                return skipped;
+            }
+        }
+
+        if (idleJump == pc && matchesIdleSnapshot()) {
+            // Only looked at once the registers repeat, since that's rare for loops that do real work.
+            if (!isIdleLoopBody(target, pc)) {
+                currentBlock.notIdleLoop = true;
+                idleJump = -1;
+                return 0;
+            }
+
+            int length = (int)(now - idleArrival);
+            // Leave room for the jump itself, and stop where the delay timer could change.
+            int room = budget - 1;
+
+            if (state.readDt() != 0) {
+                room = Math.min(room, cyclesUntilTimerTick());
+            }
+
+            int skipped = room / length * length;
+            idleArrival = now + skipped;
+            elidedCycles += skipped;
+            advanceTimers(skipped);
+            return skipped;
+        }
+
+        idleJump = pc;
+        idleLoopStart = target;
+        idleArrival = now;
+
+        for (int x = 0; x < CPUState.NUM_V_REGISTERS; x++) {
+            idleSnapshot[x] = state.readVUnchecked(x);
+        }
+
+        idleSnapshot[CPUState.NUM_V_REGISTERS] = state.readI();
+        idleSnapshot[CPUState.NUM_V_REGISTERS + 1] = state.readDt();
+        return 0;
+    }
+
+    /**
+     * Skip passes through the most common wait loop, "loop: LD Vx, DT; SE Vx, kk; JP loop", which the register
+     * comparison can't catch because Vx changes on every timer tick. The loop keeps going until the delay timer
+     * reaches kk, so every pass up to the one that reads kk is skipped, with Vx set to what the last skipped pass
+     * read.
+     *
+     * @param loopStart The address the jump goes back to.
+     * @param budget The number of instructions left to run, including the jump.
+     * @return The number of instructions that were skipped, or 0 if this isn't the loop or none could be skipped.
+     */
+    private int skipTimerPoll(int loopStart, int budget) {
+        int load = Decoder.decode((state.readMemoryUnchecked(loopStart) << 8) |
+                state.readMemoryUnchecked(loopStart + 1));
+        int compare = Decoder.decode((state.readMemoryUnchecked(loopStart + 2) << 8) |
+                state.readMemoryUnchecked(loopStart + 3));
+
+        if (Decoder.opcode(load) != Opcodes.LD_VX_DT || Decoder.opcode(compare) != Opcodes.SE_VX_BYTE ||
+                Decoder.x(load) != Decoder.x(compare)) {
+            return 0;
+        }
+
+        int delay = state.readDt();
+        int until = Decoder.kk(compare);
+        // Counting the jump as 1, the load of pass k runs as instruction 3k - 1.
+        long passes = (budget - 1) / 3;
+
+        if (delay == until) {
+            return 0;
+        }
+        else if (delay > until) {
+            // The tick that brings the timer down to kk comes right after this instruction, and every load up to
+            // and including it still reads a larger value.
+            long tickInstruction = ((long)(delay - until) * speed.getHertz() - timerAccumulator + TIMER_HERTZ - 1) /
+                    TIMER_HERTZ;
+            passes = Math.min(passes, (tickInstruction + 1) / 3);
+        }
+
+        if (passes == 0) {
+            return 0;
+        }
+
+        int skipped = (int)passes * 3;
+        advanceTimers(skipped - 2);
+        state.setVUnchecked(Decoder.x(load), state.readDt());
+        advanceTimers(2);
+        elidedCycles += skipped;
+        return skipped;
+    }
+
+    private boolean matchesIdleSnapshot() {
+        for (int x = 0; x < CPUState.NUM_V_REGISTERS; x++) {
+            if (idleSnapshot[x] != state.readVUnchecked(x)) {
+                return false;
+            }
+        }
+
+        return idleSnapshot[CPUState.NUM_V_REGISTERS] == state.readI() &&
+                idleSnapshot[CPUState.NUM_V_REGISTERS + 1] == state.readDt();
+    }
+
+    /**
+     * @return True if every instruction from start up to and including end only reads memory, the keys and the
+     * delay timer, and writes nothing but registers and I.
+     */
+    private boolean isIdleLoopBody(int start, int end) {
+        if ((end - start) / Interpreter.PC_STEP_SIZE >= MAX_IDLE_LOOP_INSTRUCTIONS) {
+            return false;
+        }
+
+        for (int address = start; address <= end; address += Interpreter.PC_STEP_SIZE) {
+            int instruction = (state.readMemoryUnchecked(address) << 8) | state.readMemoryUnchecked(address + 1);
+
+            switch (Decoder.opcode(Decoder.decode(instruction))) {
+                case Opcodes.SYS:
+                case Opcodes.JP:
+                case Opcodes.SE_VX_BYTE:
+                case Opcodes.SNE_VX_BYTE:
+                case Opcodes.SE_VX_VY:
+                case Opcodes.SNE_VX_VY:
+                case Opcodes.LD_VX_BYTE:
+                case Opcodes.ADD_VX_BYTE:
+                case Opcodes.LD_VX_VY:
+                case Opcodes.OR:
+                case Opcodes.AND:
+                case Opcodes.XOR:
+                case Opcodes.ADD_VX_VY:
+                case Opcodes.SUB:
+                case Opcodes.SHR:
+                case Opcodes.SUBN:
+                case Opcodes.SHL:
+                case Opcodes.LD_I_ADDR:
+                case Opcodes.ADD_I_VX:
+                case Opcodes.SKP:
+                case Opcodes.SKNP:
+                case Opcodes.LD_VX_DT:
+                case Opcodes.LD_F_VX:
+                case Opcodes.LD_VX_MEM:
+                    break;
+                default:
+                    return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return The number of instructions until the next timer tick, counting the instruction that causes it.
+     */
+    private int cyclesUntilTimerTick() {
+        return (speed.getHertz() - timerAccumulator + TIMER_HERTZ - 1) / TIMER_HERTZ;
+    }
+
+    /**
+     * Set the program counter to the program start address.
+     */
+    private void resetPc() {
+        state.setPc(PROGRAM_START_ADDRESS);
+    }
+
+    @Override
+    public String toString() {
+        return state.toString();
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.dsvalerian.chip8.cpu;
+
+/**
+ * Values representing the CPU speed in hertz. The speed decides how many instructions make up a second of emulated
+ * time, and unless it's unlimited, also how fast that time passes on the wall clock.
+ */
+public enum CPUSpeed {
+    /**
+     * Half speed of the CPU, at 250hz.
+     */
+    HALF(250),
+
+    /**
+     * Full speed of the CPU, at 500hz.
+     */
+    FULL(500),
+
+    /**
+     * Double speed of the CPU, at 1000hz.
+     */
+    DOUBLE(1000),
+
+    /**
+     * As fast as the host can run, with emulated time passing as it would at full speed.
+     */
+    UNLIMITED(500, true);
+
+    private int hertz;
+    private boolean unlimited;
+
+    CPUSpeed(int hertz) {
+        this(hertz, false);
+    }
+
+    CPUSpeed(int hertz, boolean unlimited) {
+        this.hertz = hertz;
+        this.unlimited = unlimited;
+    }
+
+    /**
+     * @return The speed value in hertz. For {@link #UNLIMITED}, this is the number of instructions per second of
+     * emulated time rather than of wall clock time.
+     */
+    public int getHertz() {
+        return hertz;
+    }
+
+    /**
+     * @return True if the CPU isn't held to real time at this speed.
+     */
+    public boolean isUnlimited() {
+        return unlimited;
+    }
+}
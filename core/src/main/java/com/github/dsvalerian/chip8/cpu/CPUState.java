@@ -0,0 +1,521 @@
+package com.github.dsvalerian.chip8.cpu;
+
+import com.github.dsvalerian.chip8.data.Bits;
+import com.github.dsvalerian.chip8.data.MemoryBlock;
+import com.github.dsvalerian.chip8.exception.StackEmptyException;
+import com.github.dsvalerian.chip8.exception.StackFullException;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Representation of the Chip-8 CPU state. Keeps track of all memory, registers, counters, delays, etc, and include
+ * read and set methods for each.
+ */
+public class CPUState {
+    /**
+     * The size of main memory.
+     */
+    public static final int MEMORY_SIZE = 4096;
+    /**
+     * The number of bits used for each register in main memory.
+     */
+    public static final Bits MEMORY_REGISTER_SIZE = Bits.EIGHT;
+    /**
+     * The size of the program stack.
+     */
+    public static final int STACK_SIZE = 16;
+    /**
+     * The number of bits used for each register in the program stack.
+     */
+    public static final Bits STACK_REGISTER_SIZE = Bits.SIXTEEN;
+    /**
+     * The number of bits used by the stack pointer.
+     */
+    public static final Bits STACK_POINTER_SIZE = Bits.EIGHT;
+    /**
+     * The number of general-purpose V registers.
+     */
+    public static final int NUM_V_REGISTERS = 16;
+    /**
+     * The number of bits used by each general-purpose V register.
+     */
+    public static final Bits V_REGISTER_SIZE = Bits.EIGHT;
+    /**
+     * The number of bits used by the I index register.
+     */
+    public static final Bits I_REGISTER_SIZE = Bits.TWELVE;
+    /**
+     * The number of bits used by the program counter register.
+     */
+    public static final Bits PROGRAM_COUNTER_SIZE = Bits.SIXTEEN;
+    /**
+     * The number of bits used by the delay timer register.
+     */
+    public static final Bits DELAY_TIMER_SIZE = Bits.EIGHT;
+    /**
+     * The number of bits used by the sound timer register.
+     */
+    public static final Bits SOUND_TIMER_SIZE = Bits.EIGHT;
+    /**
+     * The number of bytes written by {@link #writeTo(ByteBuffer)}.
+     */
+    public static final int SNAPSHOT_BYTES = MEMORY_SIZE + NUM_V_REGISTERS + STACK_SIZE * 2 + 16;
+
+    private static final int MEMORY_ADDRESS_MASK = MEMORY_SIZE - 1;
+    private static final int V_REGISTER_MASK = NUM_V_REGISTERS - 1;
+    private static final int I_REGISTER_MASK = (1 << I_REGISTER_SIZE.getValue()) - 1;
+    private static final int PROGRAM_COUNTER_MASK = (1 << PROGRAM_COUNTER_SIZE.getValue()) - 1;
+
+    private final byte[] memory = new byte[MEMORY_SIZE];
+    private final short[] stack = new short[STACK_SIZE];
+    private final byte[] vRegisters = new byte[NUM_V_REGISTERS];
+    private int stackPointer;
+    private int iRegister;
+    private int programCounter;
+    private int delayTimer;
+    private int soundTimer;
+    private long randomState;
+    private boolean paused = false;
+    private IntConsumer onMemoryWrite = null;
+
+    /**
+     * Read the value at an address in main memory.
+     *
+     * @param address The address to read.
+     * @return The value at the address.
+     */
+    public int readMemory(int address) {
+        checkIndex(address, MEMORY_SIZE);
+        return readMemoryUnchecked(address);
+    }
+
+    /**
+     * Set a value at an address in main memory.
+     *
+     * @param address The address at which to set the value.
+     * @param value The value to set.
+     */
+    public void setMemory(int address, int value) {
+        checkIndex(address, MEMORY_SIZE);
+        checkValue(value, MEMORY_REGISTER_SIZE);
+        setMemoryUnchecked(address, value);
+    }
+
+    /**
+     * Load a block of memory into the main memory, starting at a specified address.
+     *
+     * @param address The address in the memory at which the new {@link MemoryBlock} will be loaded.
+     * @param memory The {@link MemoryBlock} to load into the memory.
+     */
+    public void loadMemory(int address, MemoryBlock memory) {
+        if (memory.getSize() > 0) {
+            checkIndex(address, MEMORY_SIZE);
+            checkIndex(address + memory.getSize() - 1, MEMORY_SIZE);
+        }
+
+        for (int i = 0; i < memory.getSize(); i++) {
+            setMemoryUnchecked(address + i, memory.read(i));
+        }
+    }
+
+    /**
+     * Set the SP register back and pop the value off the top.
+     *
+     * @return The popped value.
+     */
+    public int popStack() {
+        if (isStackEmpty()) {
+            throw new StackEmptyException();
+        }
+
+        stackPointer--;
+        return stack[stackPointer] & 0xFFFF;
+    }
+
+    /**
+     * Push a value to the top of the stack and move the SP register up.
+     *
+     * @param value The value to push to the stack.
+     */
+    public void pushStack(int value) {
+        if (isStackFull()) {
+            throw new StackFullException();
+        }
+
+        checkValue(value, STACK_REGISTER_SIZE);
+        stack[stackPointer] = (short)value;
+        stackPointer++;
+    }
+
+    /**
+     * Read the value stored in the SP register, which is the number of values on the stack.
+     *
+     * @return The value.
+     */
+    public int readSp() {
+        return stackPointer;
+    }
+
+    /**
+     * Read a value on the stack without popping it.
+     *
+     * @param index The position in the stack, where 0 is the bottom.
+     * @return The value at that position.
+     */
+    public int readStack(int index) {
+        checkIndex(index, STACK_SIZE);
+        return stack[index] & 0xFFFF;
+    }
+
+    /**
+     * Read the value stored in the Vx register, where x is the provided register number 0-15 inclusive.
+     *
+     * @param x The register number.
+     * @return The value stored in the Vx register.
+     */
+    public int readV(int x) {
+        checkIndex(x, NUM_V_REGISTERS);
+        return readVUnchecked(x);
+    }
+
+    /**
+     * Set the value in the Vx register, where x is the provided register number 0-15 inclusive.
+     *
+     * @param x The register number.
+     * @param value The value to set.
+     */
+    public void setV(int x, int value) {
+        checkIndex(x, NUM_V_REGISTERS);
+        checkValue(value, V_REGISTER_SIZE);
+        setVUnchecked(x, value);
+    }
+
+    /**
+     * Read the value stored in the I register.
+     *
+     * @return The value.
+     */
+    public int readI() {
+        return iRegister;
+    }
+
+    /**
+     * Set the value stored in the I register.
+     *
+     * @param value The value.
+     */
+    public void setI(int value) {
+        checkValue(value, I_REGISTER_SIZE);
+        iRegister = value;
+    }
+
+    /**
+     * Read the value stored in the PC register.
+     *
+     * @return The value.
+     */
+    public int readPc() {
+        return programCounter;
+    }
+
+    /**
+     * Set the value stored in the PC register.
+     *
+     * @param value The value.
+     */
+    public void setPc(int value) {
+        checkValue(value, PROGRAM_COUNTER_SIZE);
+        programCounter = value;
+    }
+
+    /**
+     * Read the value stored in the delay timer register.
+     *
+     * @return The value.
+     */
+    public int readDt() {
+        return delayTimer;
+    }
+
+    /**
+     * Set the value stored in the delay timer register.
+     *
+     * @param value The value.
+     */
+    public void setDt(int value) {
+        checkValue(value, DELAY_TIMER_SIZE);
+        delayTimer = value;
+    }
+
+    /**
+     * Read the value stored in the sound timer register.
+     *
+     * @return The value.
+     */
+    public int readSt() {
+        return soundTimer;
+    }
+
+    /**
+     * Set the value stored in the sound timer register.
+     *
+     * @param value The value.
+     */
+    public void setSt(int value) {
+        checkValue(value, SOUND_TIMER_SIZE);
+        soundTimer = value;
+    }
+
+    /**
+     * Count down the delay and sound timers, stopping at 0.
+     *
+     * @param ticks The number of 60hz timer ticks that have passed.
+     */
+    public void tickTimers(int ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("ticks cannot be negative");
+        }
+
+        delayTimer = Math.max(0, delayTimer - ticks);
+        soundTimer = Math.max(0, soundTimer - ticks);
+    }
+
+    /**
+     * Set a function to be run after every write to main memory, for example to drop anything that was derived
+     * from the old contents.
+     *
+     * @param consumer The consumer to run on each write, given the address that was written to. May be null.
+     */
+    public void setOnMemoryWrite(IntConsumer consumer) {
+        this.onMemoryWrite = consumer;
+    }
+
+    /**
+     * Seed the random number generator used by the Cxkk instruction. Runs that start from the same seed, program
+     * and input produce the same numbers.
+     *
+     * @param seed The seed.
+     */
+    public void setRandomSeed(long seed) {
+        randomState = seed;
+    }
+
+    /**
+     * @return The current state of the random number generator, to save along with the rest of the state.
+     */
+    public long readRandomState() {
+        return randomState;
+    }
+
+    /**
+     * Restore the random number generator to a state returned by {@link #readRandomState()}.
+     *
+     * @param value The state.
+     */
+    public void setRandomState(long value) {
+        randomState = value;
+    }
+
+    /**
+     * Write the memory, registers, stack, timers, paused flag and random number generator to a buffer, at its
+     * current position.
+     *
+     * @param buffer The buffer to write {@link #SNAPSHOT_BYTES} bytes to.
+     */
+    public void writeTo(ByteBuffer buffer) {
+        buffer.put(memory).put(vRegisters);
+
+        for (int i = 0; i < STACK_SIZE; i++) {
+            buffer.putShort(stack[i]);
+        }
+
+        buffer.put((byte)stackPointer)
+                .putShort((short)iRegister)
+                .putShort((short)programCounter)
+                .put((byte)delayTimer)
+                .put((byte)soundTimer)
+                .put((byte)(paused ? 1 : 0))
+                .putLong(randomState);
+    }
+
+    /**
+     * Replace the whole state with one written by {@link #writeTo(ByteBuffer)}. The memory write function is run
+     * for every address whose value changes, so anything derived from memory that is still the same can be kept.
+     *
+     * @param buffer The buffer to read {@link #SNAPSHOT_BYTES} bytes from, at its current position.
+     */
+    public void readFrom(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            byte[] source = buffer.array();
+            int start = buffer.arrayOffset() + buffer.position();
+            int address = Arrays.mismatch(memory, 0, MEMORY_SIZE, source, start, start + MEMORY_SIZE);
+
+            while (address >= 0) {
+                setMemoryUnchecked(address, source[start + address]);
+                int next = Arrays.mismatch(memory, address + 1, MEMORY_SIZE, source, start + address + 1,
+                        start + MEMORY_SIZE);
+                address = next < 0 ? -1 : address + 1 + next;
+            }
+
+            buffer.position(buffer.position() + MEMORY_SIZE);
+        }
+        else {
+            for (int address = 0; address < MEMORY_SIZE; address++) {
+                byte value = buffer.get();
+
+                if (memory[address] != value) {
+                    setMemoryUnchecked(address, value);
+                }
+            }
+        }
+
+        buffer.get(vRegisters);
+
+        for (int i = 0; i < STACK_SIZE; i++) {
+            stack[i] = buffer.getShort();
+        }
+
+        int sp = buffer.get() & 0xFF;
+
+        if (sp > STACK_SIZE) {
+            throw new IllegalArgumentException("Stack pointer " + sp + " is larger than the stack.");
+        }
+
+        stackPointer = sp;
+        iRegister = buffer.getShort() & I_REGISTER_MASK;
+        programCounter = buffer.getShort() & PROGRAM_COUNTER_MASK;
+        delayTimer = buffer.get() & 0xFF;
+        soundTimer = buffer.get() & 0xFF;
+        paused = buffer.get() != 0;
+        randomState = buffer.getLong();
+    }
+
+    /**
+     * Set the state of execution to paused.
+     */
+    public void pause() {
+        paused = true;
+    }
+
+    /**
+     * Set the state of execution to not paused.
+     */
+    public void resume() {
+        paused = false;
+    }
+
+    /**
+     * @return True if the state of execution is paused.
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /*
+     * Unchecked accessors used by the interpreter on the hot path. Addresses and register numbers are masked
+     * into range and values are truncated to the width of their register instead of being validated.
+     */
+
+    int readMemoryUnchecked(int address) {
+        return memory[address & MEMORY_ADDRESS_MASK] & 0xFF;
+    }
+
+    void setMemoryUnchecked(int address, int value) {
+        memory[address & MEMORY_ADDRESS_MASK] = (byte)value;
+
+        if (onMemoryWrite != null) {
+            onMemoryWrite.accept(address & MEMORY_ADDRESS_MASK);
+        }
+    }
+
+    int readVUnchecked(int x) {
+        return vRegisters[x & V_REGISTER_MASK] & 0xFF;
+    }
+
+    void setVUnchecked(int x, int value) {
+        vRegisters[x & V_REGISTER_MASK] = (byte)value;
+    }
+
+    void setIUnchecked(int value) {
+        iRegister = value & I_REGISTER_MASK;
+    }
+
+    void setPcUnchecked(int value) {
+        programCounter = value & PROGRAM_COUNTER_MASK;
+    }
+
+    /**
+     * Step the SplitMix64 generator and take the top 8 bits of its output.
+     */
+    int nextRandomByte() {
+        long z = randomState += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (int)((z ^ (z >>> 31)) >>> 56);
+    }
+
+    /**
+     * @return True if the subroutine stack is empty.
+     */
+    private boolean isStackEmpty() {
+        return stackPointer == 0;
+    }
+
+    /**
+     * @return True if the subroutine stack is full.
+     */
+    private boolean isStackFull() {
+        return stackPointer == STACK_SIZE;
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index >= size || index < 0x00) {
+            throw new IllegalArgumentException("Address must be within memory space of " + size + " registers.");
+        }
+    }
+
+    private static void checkValue(int value, Bits size) {
+        if (value >= 1 << size.getValue() || value < 0) {
+            throw new IllegalArgumentException("value " + value + " cannot be stored using " +
+                    size.getValue() + " bits");
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder()
+                .append("{")
+                .append("PC: ").append(readPc()).append(", ")
+                .append("V Registers: [");
+
+        for (int i = 0; i < NUM_V_REGISTERS; i++) {
+            builder.append(readV(i));
+
+            if (i != NUM_V_REGISTERS - 1) {
+                builder.append(", ");
+            }
+        }
+
+        builder
+                .append("], ")
+                .append("I: ").append(readI()).append(", ")
+                .append("SP: ").append(stackPointer).append(", ")
+                .append("Stack: [");
+
+        for (int i = 0; i < STACK_SIZE; i++) {
+            builder.append(stack[i] & 0xFFFF);
+
+            if (i != STACK_SIZE - 1) {
+                builder.append(", ");
+            }
+        }
+
+        builder
+                .append("]")
+                .append("}");
+
+        return builder.toString();
+    }
+}
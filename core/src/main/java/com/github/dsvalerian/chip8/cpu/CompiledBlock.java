@@ -0,0 +1,15 @@
+package com.github.dsvalerian.chip8.cpu;
+
+/**
+ * A run of Chip-8 instructions that has been translated into JVM bytecode by the {@link Recompiler}. Running it
+ * has the same effect on the {@link CPUState} as interpreting the instructions one by one, including leaving the
+ * program counter on the first instruction that was not compiled.
+ */
+interface CompiledBlock {
+    /**
+     * Run the compiled instructions.
+     *
+     * @param state The {@link CPUState} to run against.
+     */
+    void run(CPUState state);
+}
@@ -0,0 +1,155 @@
+package com.github.dsvalerian.chip8.cpu;
+
+/**
+ * Decodes Chip-8 instructions through a table that is built once per JVM and covers all 65,536 possible
+ * instructions. Each table entry holds the {@link Opcodes} identifier in its upper half and the original
+ * instruction in its lower 16 bits. Instructions outside of the instruction set decode to {@link Opcodes#INVALID}.
+ * <p>
+ * The operand fields are deliberately not split out of the instruction ahead of time. The x, y, n, kk and nnn
+ * fields overlap inside the 16 bits, so the instruction already holds all of them, and any packing of separate
+ * copies into an entry would still need a shift and a mask to read all but one of them back. Keeping the entry to
+ * a single int keeps the table at 256KB, and each field costs one register shift and mask rather than another load.
+ */
+public final class Decoder {
+    private static final int OPCODE_SHIFT = 16;
+    private static final int[] TABLE = buildTable();
+
+    private Decoder() {
+        // Only static helpers.
+    }
+
+    /**
+     * Decode an instruction into a table entry.
+     *
+     * @param instruction The 16-bit instruction.
+     * @return The decoded entry.
+     */
+    public static int decode(int instruction) {
+        return TABLE[instruction & 0xFFFF];
+    }
+
+    /**
+     * @param entry A decoded entry.
+     * @return The {@link Opcodes} identifier of the entry.
+     */
+    public static int opcode(int entry) {
+        return entry >>> OPCODE_SHIFT;
+    }
+
+    /**
+     * @param entry A decoded entry.
+     * @return The original 16-bit instruction.
+     */
+    public static int instruction(int entry) {
+        return entry & 0xFFFF;
+    }
+
+    /**
+     * @param entry A decoded entry.
+     * @return The x value, aka the second nibble of the instruction.
+     */
+    public static int x(int entry) {
+        return (entry >> 8) & 0xF;
+    }
+
+    /**
+     * @param entry A decoded entry.
+     * @return The y value, aka the third nibble of the instruction.
+     */
+    public static int y(int entry) {
+        return (entry >> 4) & 0xF;
+    }
+
+    /**
+     * @param entry A decoded entry.
+     * @return The n value, aka the last nibble of the instruction.
+     */
+    public static int n(int entry) {
+        return entry & 0xF;
+    }
+
+    /**
+     * @param entry A decoded entry.
+     * @return The kk value, aka the last byte of the instruction.
+     */
+    public static int kk(int entry) {
+        return entry & 0xFF;
+    }
+
+    /**
+     * @param entry A decoded entry.
+     * @return The nnn value, aka the last three nibbles of the instruction.
+     */
+    public static int nnn(int entry) {
+        return entry & 0xFFF;
+    }
+
+    private static int[] buildTable() {
+        int[] table = new int[1 << Interpreter.INSTRUCTION_BITS.getValue()];
+
+        for (int instruction = 0; instruction < table.length; instruction++) {
+            table[instruction] = (identify(instruction) << OPCODE_SHIFT) | instruction;
+        }
+
+        return table;
+    }
+
+    /**
+     * Work out which instruction a 16-bit value is. Only used while building the table.
+     */
+    private static int identify(int instruction) {
+        switch (instruction & 0xF000) {
+            case 0x0000:
+                switch (instruction & 0x0FFF) {
+                    case 0x0E0: return Opcodes.CLS;
+                    case 0x0EE: return Opcodes.RET;
+                    default: return Opcodes.SYS;
+                }
+            case 0x1000: return Opcodes.JP;
+            case 0x2000: return Opcodes.CALL;
+            case 0x3000: return Opcodes.SE_VX_BYTE;
+            case 0x4000: return Opcodes.SNE_VX_BYTE;
+            case 0x5000: return (instruction & 0x000F) == 0x0 ? Opcodes.SE_VX_VY : Opcodes.INVALID;
+            case 0x6000: return Opcodes.LD_VX_BYTE;
+            case 0x7000: return Opcodes.ADD_VX_BYTE;
+            case 0x8000:
+                switch (instruction & 0x000F) {
+                    case 0x0: return Opcodes.LD_VX_VY;
+                    case 0x1: return Opcodes.OR;
+                    case 0x2: return Opcodes.AND;
+                    case 0x3: return Opcodes.XOR;
+                    case 0x4: return Opcodes.ADD_VX_VY;
+                    case 0x5: return Opcodes.SUB;
+                    case 0x6: return Opcodes.SHR;
+                    case 0x7: return Opcodes.SUBN;
+                    case 0xE: return Opcodes.SHL;
+                    default: return Opcodes.INVALID;
+                }
+            case 0x9000: return (instruction & 0x000F) == 0x0 ? Opcodes.SNE_VX_VY : Opcodes.INVALID;
+            case 0xA000: return Opcodes.LD_I_ADDR;
+            case 0xB000: return Opcodes.JP_V0_ADDR;
+            case 0xC000: return Opcodes.RND;
+            case 0xD000: return Opcodes.DRW;
+            case 0xE000:
+                switch (instruction & 0x00FF) {
+                    case 0x9E: return Opcodes.SKP;
+                    case 0xA1: return Opcodes.SKNP;
+                    default: return Opcodes.INVALID;
+                }
+            case 0xF000:
+                switch (instruction & 0x00FF) {
+                    case 0x07: return Opcodes.LD_VX_DT;
+                    case 0x0A: return Opcodes.LD_VX_K;
+                    case 0x15: return Opcodes.LD_DT_VX;
+                    case 0x18: return Opcodes.LD_ST_VX;
+                    case 0x1E: return Opcodes.ADD_I_VX;
+                    case 0x29: return Opcodes.LD_F_VX;
+                    case 0x33: return Opcodes.LD_B_VX;
+                    case 0x55: return Opcodes.LD_MEM_VX;
+                    case 0x65: return Opcodes.LD_VX_MEM;
+                    default: return Opcodes.INVALID;
+                }
+            default: return Opcodes.INVALID;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.dsvalerian.chip8.cpu;
+
+/**
+ * Observes every instruction a {@link CPU} runs while it is attached with {@link CPU#setProbe(ExecutionProbe)}.
+ */
+public interface ExecutionProbe {
+    /**
+     * Called right after an instruction has run.
+     *
+     * @param cycle The number of instructions the CPU had run before this one, as counted by
+     *              {@link CPU#getCycles()}, so traces of runs started at different points can be lined up.
+     * @param address The address the instruction was fetched from.
+     * @param instruction The raw 16-bit instruction.
+     * @param opcode The instruction's identifier from {@link Opcodes}.
+     * @param state The CPU state as the instruction left it.
+     */
+    void onInstruction(long cycle, int address, int instruction, int opcode, CPUState state);
+
+    /**
+     * Called when {@link CPU#execute(int)} is about to run instructions, before the first one. Pausing the state
+     * here means none are run.
+     *
+     * @param state The CPU state the first instruction will run with.
+     */
+    default void onStart(CPUState state) {
+    }
+}
@@ -5,11 +5,8 @@ import com.github.dsvalerian.chip8.data.Register;
 import com.github.dsvalerian.chip8.data.Sprites;
 import com.github.dsvalerian.chip8.exception.UnsupportedInstructionException;
 import com.github.dsvalerian.chip8.io.KeyState;
-import com.github.dsvalerian.chip8.io.Pixel;
 import com.github.dsvalerian.chip8.io.ScreenState;
 
-import java.util.Random;
-
 /**
  * Handles Chip-8 instruction processing.
  */
@@ -24,190 +21,95 @@ public class Interpreter {
     public static final int PC_STEP_SIZE = 2;
 
     private static final int MAX_V_REGISTER_VALUE = 1 << CPUState.V_REGISTER_SIZE.getValue();
-    private static final KeyState KEY_STATE = KeyState.getInstance();
 
     private final CPUState STATE;
     private final ScreenState SCREEN_STATE;
-    private final Random RANDOM = new Random();
+    private final KeyState KEY_STATE;
+    private final Quirks QUIRKS;
 
     /**
-     * Constructs a {@link Interpreter} with an assigned {@link CPUState}.
+     * Constructs a {@link Interpreter} with an assigned {@link CPUState}, its own {@link KeyState} and the
+     * {@link Quirks#COSMAC_VIP} quirks.
      *
      * @param state The {@link CPUState} that will be used when processing instructions.
      * @param screenState The {@link ScreenState} that will be drawn to when processing instructions.
      */
     public Interpreter(CPUState state, ScreenState screenState) {
-        STATE = state;
-        SCREEN_STATE = screenState;
-    }
-
-    /**
-     * Decode and execute a Chip-8 instruction stored in a {@link Register}.
-     *
-     * @param instruction A {@link Register} holding the instruction as a 16-bit value.
-     */
-    public void executeInstruction(Register instruction) {
-        executeInstruction(instruction.read());
-    }
-
-    private void executeInstruction(int instruction) {
-        // Decode the instruction by parts and delegate work to an instruction method.
-        switch (instruction & 0xF000) {
-            case 0x0000:
-                switch(instruction & 0x0FFF) {
-                    // 00E0
-                    case 0x0E0: clearScreen(); break;
-                    // 00EE
-                    case 0x0EE: ret(); break;
-                    // 0nnn
-                    default: sys(getNnn(instruction)); break;
-                }
-                break;
-            // 1nnn
-            case 0x1000: jumpNnn(getNnn(instruction)); break;
-            // 2nnn
-            case 0x2000: callNnn(getNnn(instruction)); break;
-            // 3xkk
-            case 0x3000: skipIfVxEqualKk(getX(instruction), getKk(instruction)); break;
-            // 4xkk
-            case 0x4000: skipIfVxNotEqualKk(getX(instruction), getKk(instruction)); break;
-            case 0x5000:
-                switch (instruction & 0x000F) {
-                    // 5xy0
-                    case 0x0: skipIfVxEqualVy(getX(instruction), getY(instruction)); break;
-                    default: throw new UnsupportedInstructionException(instruction);
-                }
-                break;
-            // 6xkk
-            case 0x6000: loadByteIntoVx(getX(instruction), getKk(instruction)); break;
-            // 7xkk
-            case 0x7000: addKkToVx(getX(instruction), getKk(instruction)); break;
-            case 0x8000:
-                switch (instruction & 0x000F) {
-                    // 8xy0
-                    case 0x0: loadVyIntoVx(getX(instruction), getY(instruction)); break;
-                    // 8xy1
-                    case 0x1: or(getX(instruction), getY(instruction)); break;
-                    // 8xy2
-                    case 0x2: and(getX(instruction), getY(instruction)); break;
-                    // 8xy3
-                    case 0x3: xor(getX(instruction), getY(instruction)); break;
-                    // 8xy4
-                    case 0x4: addVyToVx(getX(instruction), getY(instruction)); break;
-                    // 8xy5
-                    case 0x5: subtractVyFromVx(getX(instruction), getY(instruction)); break;
-                    // 8xy6
-                    case 0x6: shr(getX(instruction), getY(instruction)); break;
-                    // 8xy7
-                    case 0x7: subtractVxFromVy(getX(instruction), getY(instruction)); break;
-                    // 8xyE
-                    case 0xE: shl(getX(instruction), getY(instruction)); break;
-                    default: throw new UnsupportedInstructionException(instruction);
-                }
-                break;
-            case 0x9000:
-                switch (instruction & 0x000F) {
-                    // 9xy0
-                    case 0x0: skipIfVxNotEqualVy(getX(instruction), getY(instruction)); break;
-                    default: throw new UnsupportedInstructionException(instruction);
-                }
-                break;
-            // Annn
-            case 0xA000: loadNnnIntoI(getNnn(instruction)); break;
-            // Bnnn
-            case 0xB000: jumpV0PlusNnn(getNnn(instruction)); break;
-            // Cxkk
-            case 0xC000: rand(getX(instruction), getKk(instruction)); break;
-            // Dxyn
-            case 0xD000: draw(getX(instruction), getY(instruction), getNibble(instruction)); break;
-            case 0xE000:
-                switch (instruction & 0x00FF) {
-                    // Ex9E
-                    case 0x9E: skipIfKeyPressed(getX(instruction)); break;
-                    // ExA1
-                    case 0xA1: skipIfKeyNotPressed(getX(instruction)); break;
-                    default: throw new UnsupportedInstructionException(instruction);
-                }
-                break;
-            case 0xF000:
-                switch (instruction & 0x00FF) {
-                    // Fx07
-                    case 0x07: loadDtIntoX(getX(instruction)); break;
-                    // Fx0A
-                    case 0x0A: loadOnKeyPress(getX(instruction)); break;
-                    // Fx15
-                    case 0x15: loadXIntoDt(getX(instruction)); break;
-                    // Fx18
-                    case 0x18: loadXIntoSt(getX(instruction)); break;
-                    // Fx1E
-                    case 0x1E: addVxToI(getX(instruction)); break;
-                    // Fx29
-                    case 0x29: loadSpriteIntoI(getX(instruction)); break;
-                    // Fx33
-                    case 0x33: loadDecimalIntoI(getX(instruction)); break;
-                    // Fx55
-                    case 0x55: loadVRegistersIntoIAddress(getX(instruction)); break;
-                    // Fx65
-                    case 0x65: loadIBlockIntoVRegisters(getX(instruction)); break;
-                    default: throw new UnsupportedInstructionException(instruction);
-                }
-                break;
-            default: throw new UnsupportedInstructionException(instruction);
-        }
-    }
-
-    private void incrementPc() {
-        STATE.setPc(STATE.readPc() + PC_STEP_SIZE);
+        this(state, screenState, new KeyState(), Quirks.COSMAC_VIP);
     }
 
     /**
-     * Get the x value, aka the second nibble, from an instruction.
-     *
-     * @param instruction The instruction to get the x value from.
-     * @return The second nibble in the instruction.
-     */
-    private int getX(int instruction) {
-        return (instruction & 0x0F00) >> 8;
-    }
-
-    /**
-     * Get the y value, aka the third nibble, from an instruction.
+     * Constructs a {@link Interpreter} with an assigned {@link CPUState}.
      *
-     * @param instruction The instruction to get the y value from.
-     * @return The third nibble in the instruction.
+     * @param state The {@link CPUState} that will be used when processing instructions.
+     * @param screenState The {@link ScreenState} that will be drawn to when processing instructions.
+     * @param keyState The {@link KeyState} that key instructions will read.
+     * @param quirks The {@link Quirks} to follow for instructions that differ between implementations.
      */
-    private int getY(int instruction) {
-        return (instruction & 0x00F0) >> 4;
+    public Interpreter(CPUState state, ScreenState screenState, KeyState keyState, Quirks quirks) {
+        STATE = state;
+        SCREEN_STATE = screenState;
+        KEY_STATE = keyState;
+        QUIRKS = quirks;
     }
 
     /**
-     * Get the kk value, aka the last byte, from an instruction.
+     * Decode and execute a Chip-8 instruction stored in a {@link Register}.
      *
-     * @param instruction The instruction to get the kk value from.
-     * @return The last byte in the instruction.
+     * @param instruction A {@link Register} holding the instruction as a 16-bit value.
      */
-    private int getKk(int instruction) {
-        return instruction & 0x00FF;
+    public void executeInstruction(Register instruction) {
+        execute(Decoder.decode(instruction.read()));
     }
 
     /**
-     * Get the nnn value, aka the last three nibbles, from an instruction.
+     * Execute an instruction that has already been decoded by the {@link Decoder}.
      *
-     * @param instruction The instruction to get the nnn value from.
-     * @return The last three nibbles in the instruction.
-     */
-    private int getNnn(int instruction) {
-        return instruction & 0x0FFF;
+     * @param entry The decoded instruction.
+     */
+    void execute(int entry) {
+        switch (Decoder.opcode(entry)) {
+            case Opcodes.CLS: clearScreen(); break;
+            case Opcodes.RET: ret(); break;
+            case Opcodes.SYS: sys(Decoder.nnn(entry)); break;
+            case Opcodes.JP: jumpNnn(Decoder.nnn(entry)); break;
+            case Opcodes.CALL: callNnn(Decoder.nnn(entry)); break;
+            case Opcodes.SE_VX_BYTE: skipIfVxEqualKk(Decoder.x(entry), Decoder.kk(entry)); break;
+            case Opcodes.SNE_VX_BYTE: skipIfVxNotEqualKk(Decoder.x(entry), Decoder.kk(entry)); break;
+            case Opcodes.SE_VX_VY: skipIfVxEqualVy(Decoder.x(entry), Decoder.y(entry)); break;
+            case Opcodes.LD_VX_BYTE: loadByteIntoVx(Decoder.x(entry), Decoder.kk(entry)); break;
+            case Opcodes.ADD_VX_BYTE: addKkToVx(Decoder.x(entry), Decoder.kk(entry)); break;
+            case Opcodes.LD_VX_VY: loadVyIntoVx(Decoder.x(entry), Decoder.y(entry)); break;
+            case Opcodes.OR: or(Decoder.x(entry), Decoder.y(entry)); break;
+            case Opcodes.AND: and(Decoder.x(entry), Decoder.y(entry)); break;
+            case Opcodes.XOR: xor(Decoder.x(entry), Decoder.y(entry)); break;
+            case Opcodes.ADD_VX_VY: addVyToVx(Decoder.x(entry), Decoder.y(entry)); break;
+            case Opcodes.SUB: subtractVyFromVx(Decoder.x(entry), Decoder.y(entry)); break;
+            case Opcodes.SHR: shr(Decoder.x(entry), Decoder.y(entry)); break;
+            case Opcodes.SUBN: subtractVxFromVy(Decoder.x(entry), Decoder.y(entry)); break;
+            case Opcodes.SHL: shl(Decoder.x(entry), Decoder.y(entry)); break;
+            case Opcodes.SNE_VX_VY: skipIfVxNotEqualVy(Decoder.x(entry), Decoder.y(entry)); break;
+            case Opcodes.LD_I_ADDR: loadNnnIntoI(Decoder.nnn(entry)); break;
+            case Opcodes.JP_V0_ADDR: jumpV0PlusNnn(Decoder.nnn(entry)); break;
+            case Opcodes.RND: rand(Decoder.x(entry), Decoder.kk(entry)); break;
+            case Opcodes.DRW: draw(Decoder.x(entry), Decoder.y(entry), Decoder.n(entry)); break;
+            case Opcodes.SKP: skipIfKeyPressed(Decoder.x(entry)); break;
+            case Opcodes.SKNP: skipIfKeyNotPressed(Decoder.x(entry)); break;
+            case Opcodes.LD_VX_DT: loadDtIntoX(Decoder.x(entry)); break;
+            case Opcodes.LD_VX_K: loadOnKeyPress(Decoder.x(entry)); break;
+            case Opcodes.LD_DT_VX: loadXIntoDt(Decoder.x(entry)); break;
+            case Opcodes.LD_ST_VX: loadXIntoSt(Decoder.x(entry)); break;
+            case Opcodes.ADD_I_VX: addVxToI(Decoder.x(entry)); break;
+            case Opcodes.LD_F_VX: loadSpriteIntoI(Decoder.x(entry)); break;
+            case Opcodes.LD_B_VX: loadDecimalIntoI(Decoder.x(entry)); break;
+            case Opcodes.LD_MEM_VX: loadVRegistersIntoIAddress(Decoder.x(entry)); break;
+            case Opcodes.LD_VX_MEM: loadIBlockIntoVRegisters(Decoder.x(entry)); break;
+            default: throw new UnsupportedInstructionException(Decoder.instruction(entry));
+        }
     }
 
-    /**
-     * Get the n value, aka the last nibble, from an instruction.
-     *
-     * @param instruction The instruction to get the n value from.
-     * @return The last nibble in the instruction.
-     */
-    private int getNibble(int instruction) {
-        return instruction & 0x000F;
+    private void incrementPc() {
+        STATE.setPcUnchecked(STATE.readPc() + PC_STEP_SIZE);
     }
 
     /**
@@ -236,7 +138,7 @@ public class Interpreter {
      * then subtracts 1 from the stack pointer.
      */
     private void ret() {
-        STATE.setPc(STATE.popStack());
+        STATE.setPcUnchecked(STATE.popStack());
         incrementPc();
     }
 
@@ -245,7 +147,7 @@ public class Interpreter {
      * The interpreter sets the program counter to nnn.
      */
     private void jumpNnn(int address) {
-        STATE.setPc(address);
+        STATE.setPcUnchecked(address);
     }
 
     /**
@@ -255,7 +157,7 @@ public class Interpreter {
      */
     private void callNnn(int address) {
         STATE.pushStack(STATE.readPc());
-        STATE.setPc(address);
+        STATE.setPcUnchecked(address);
     }
 
     /**
@@ -265,7 +167,7 @@ public class Interpreter {
      */
     private void skipIfVxEqualKk(int x, int kk) {
         // skip instruction if register Vx == kk
-        if (STATE.readV(x) == kk) {
+        if (STATE.readVUnchecked(x) == kk) {
             incrementPc();
         }
 
@@ -279,7 +181,7 @@ public class Interpreter {
      */
     private void skipIfVxEqualVy(int x, int y) {
         // skip instruction if register Vx == Vy
-        if (STATE.readV(x) == STATE.readV(y)) {
+        if (STATE.readVUnchecked(x) == STATE.readVUnchecked(y)) {
             incrementPc();
         }
 
@@ -293,7 +195,7 @@ public class Interpreter {
      */
     private void skipIfVxNotEqualKk(int x, int kk) {
         // skip instruction if register Vx == kk
-        if (STATE.readV(x) != kk) {
+        if (STATE.readVUnchecked(x) != kk) {
             incrementPc();
         }
 
@@ -307,7 +209,7 @@ public class Interpreter {
      */
     private void skipIfVxNotEqualVy(int x, int y) {
         // skip instruction if register Vx != Vy
-        if (STATE.readV(x) != STATE.readV(y)) {
+        if (STATE.readVUnchecked(x) != STATE.readVUnchecked(y)) {
             incrementPc();
         }
 
@@ -319,7 +221,7 @@ public class Interpreter {
      * Checks the keyboard, and if the key corresponding to the value of Vx is currently in the down position, PC is increased by 2.
      */
     private void skipIfKeyPressed(int x) {
-        if (KEY_STATE.isPressed(x)) {
+        if ((KEY_STATE.readLatched() >>> (STATE.readVUnchecked(x) & 0xF) & 1) != 0) {
             incrementPc();
         }
 
@@ -331,7 +233,7 @@ public class Interpreter {
      * Checks the keyboard, and if the key corresponding to the value of Vx is currently in the up position, PC is increased by 2.
      */
     private void skipIfKeyNotPressed(int x) {
-        if (!KEY_STATE.isPressed(x)) {
+        if ((KEY_STATE.readLatched() >>> (STATE.readVUnchecked(x) & 0xF) & 1) == 0) {
             incrementPc();
         }
 
@@ -343,7 +245,7 @@ public class Interpreter {
      * The interpreter puts the value kk into register Vx.
      */
     private void loadByteIntoVx(int x, int kk) {
-        STATE.setV(x, kk);
+        STATE.setVUnchecked(x, kk);
 
         incrementPc();
     }
@@ -353,7 +255,7 @@ public class Interpreter {
      * Stores the value of register Vy in register Vx.
      */
     private void loadVyIntoVx(int x, int y) {
-        STATE.setV(x, STATE.readV(y));
+        STATE.setVUnchecked(x, STATE.readVUnchecked(y));
 
         incrementPc();
     }
@@ -363,7 +265,7 @@ public class Interpreter {
      * The value of register I is set to nnn.
      */
     private void loadNnnIntoI(int nnn) {
-        STATE.setI(nnn);
+        STATE.setIUnchecked(nnn);
 
         incrementPc();
     }
@@ -373,8 +275,8 @@ public class Interpreter {
      * Adds the value kk to the value of register Vx, then stores the result in Vx.
      */
     private void addKkToVx(int x, int kk) {
-        int value = STATE.readV(x) + kk;
-        STATE.setV(x, value & 0x00FF);
+        int value = STATE.readVUnchecked(x) + kk;
+        STATE.setVUnchecked(x, value & 0x00FF);
 
         incrementPc();
     }
@@ -385,11 +287,11 @@ public class Interpreter {
      * VF is set to 1, otherwise 0. Only the lowest 8 bits of the result are kept, and stored in Vx.
      */
     private void addVyToVx(int x, int y) {
-        int value = STATE.readV(x) + STATE.readV(y);
+        int value = STATE.readVUnchecked(x) + STATE.readVUnchecked(y);
         int carry = value > 0x00FF ? 1 : 0;
 
-        STATE.setV(x, value & 0x00FF);
-        STATE.setV(0xF, carry);
+        STATE.setVUnchecked(x, value & 0x00FF);
+        STATE.setVUnchecked(0xF, carry);
 
         incrementPc();
     }
@@ -401,7 +303,7 @@ public class Interpreter {
      * then the same bit in the result is also 1. Otherwise, it is 0.
      */
     private void or(int x, int y) {
-        STATE.setV(x, STATE.readV(x) | STATE.readV(y));
+        STATE.setVUnchecked(x, STATE.readVUnchecked(x) | STATE.readVUnchecked(y));
 
         incrementPc();
     }
@@ -413,7 +315,7 @@ public class Interpreter {
      * then the same bit in the result is also 1. Otherwise, it is 0.
      */
     private void and(int x, int y) {
-        STATE.setV(x, STATE.readV(x) & STATE.readV(y));
+        STATE.setVUnchecked(x, STATE.readVUnchecked(x) & STATE.readVUnchecked(y));
 
         incrementPc();
     }
@@ -425,7 +327,7 @@ public class Interpreter {
      * then the corresponding bit in the result is set to 1. Otherwise, it is 0.
      */
     private void xor(int x, int y) {
-        STATE.setV(x, STATE.readV(x) ^ STATE.readV(y));
+        STATE.setVUnchecked(x, STATE.readVUnchecked(x) ^ STATE.readVUnchecked(y));
 
         incrementPc();
     }
@@ -437,14 +339,14 @@ public class Interpreter {
      */
     private void subtractVyFromVx(int x, int y) {
         // Note: Do NOT set VF before doing the math, otherwise it is wrong.
-        int newVf = STATE.readV(x) > STATE.readV(y) ? 1 : 0;
+        int newVf = STATE.readVUnchecked(x) > STATE.readVUnchecked(y) ? 1 : 0;
 
         // if newValue is negative, add it to the max value (so it wraps around, essentially).
-        int newValue = STATE.readV(x) - STATE.readV(y);
+        int newValue = STATE.readVUnchecked(x) - STATE.readVUnchecked(y);
         newValue = newValue < 0 ? MAX_V_REGISTER_VALUE + newValue : newValue;
 
-        STATE.setV(x, newValue);
-        STATE.setV(0xF, newVf);
+        STATE.setVUnchecked(x, newValue);
+        STATE.setVUnchecked(0xF, newVf);
 
         incrementPc();
     }
@@ -456,14 +358,14 @@ public class Interpreter {
      */
     private void subtractVxFromVy(int x, int y) {
         // Note: Do NOT set VF before doing the math, otherwise it is wrong.
-        int newVf = STATE.readV(x) < STATE.readV(y) ? 1 : 0;
+        int newVf = STATE.readVUnchecked(x) < STATE.readVUnchecked(y) ? 1 : 0;
 
         // if newValue is negative, add it to the max value (so it wraps around, essentially).
-        int newValue = STATE.readV(y) - STATE.readV(x);
+        int newValue = STATE.readVUnchecked(y) - STATE.readVUnchecked(x);
         newValue = newValue < 0 ? MAX_V_REGISTER_VALUE + newValue : newValue;
 
-        STATE.setV(x, newValue);
-        STATE.setV(0xF, newVf);
+        STATE.setVUnchecked(x, newValue);
+        STATE.setVUnchecked(0xF, newVf);
 
         incrementPc();
     }
@@ -473,14 +375,17 @@ public class Interpreter {
      * Store the value of register VY shifted right one bit in register VX
      * Set register VF to the least significant bit prior to the shift
      * VY is unchanged
+     * Without the {@link Quirks#shiftsVy()} quirk, VX is shifted in place instead.
      */
     private void shr(int x, int y) {
+        int source = QUIRKS.shiftsVy() ? y : x;
+
         // Note: We get the LSB before setting things because y might be VF, so it's not
         // guaranteed that it's unchanged.
-        int leastSignificantBit = STATE.readV(y) & 0b1;
+        int leastSignificantBit = STATE.readVUnchecked(source) & 0b1;
 
-        STATE.setV(x, (STATE.readV(y) >> 1) & 0xFF);
-        STATE.setV(0xF, leastSignificantBit);
+        STATE.setVUnchecked(x, (STATE.readVUnchecked(source) >> 1) & 0xFF);
+        STATE.setVUnchecked(0xF, leastSignificantBit);
 
         incrementPc();
     }
@@ -490,14 +395,17 @@ public class Interpreter {
      * Store the value of register VY shifted left one bit in register VX
      * Set register VF to the most significant bit prior to the shift
      * VY is unchanged
+     * Without the {@link Quirks#shiftsVy()} quirk, VX is shifted in place instead.
      */
     private void shl(int x, int y) {
+        int source = QUIRKS.shiftsVy() ? y : x;
+
         // Note: We get the MSB before setting things because y might be VF, so it's not
         // guaranteed that it's unchanged.
-        int mostSignificantBit = (STATE.readV(y) & 0b10000000) >> 7;
+        int mostSignificantBit = (STATE.readVUnchecked(source) & 0b10000000) >> 7;
 
-        STATE.setV(x, STATE.readV(y) << 1 & 0xFF);
-        STATE.setV(0xF, mostSignificantBit);
+        STATE.setVUnchecked(x, STATE.readVUnchecked(source) << 1 & 0xFF);
+        STATE.setVUnchecked(0xF, mostSignificantBit);
 
         incrementPc();
     }
@@ -505,9 +413,11 @@ public class Interpreter {
     /**
      * Bnnn - JP V0, addr
      * The program counter is set to nnn plus the value of V0.
+     * With the {@link Quirks#jumpsWithVx()} quirk, Vx is used instead, where x is the highest nibble of nnn.
      */
     private void jumpV0PlusNnn(int nnn) {
-        STATE.setPc(STATE.readV(0x0) + nnn);
+        int register = QUIRKS.jumpsWithVx() ? (nnn >> 8) & 0xF : 0x0;
+        STATE.setPcUnchecked(STATE.readVUnchecked(register) + nnn);
     }
 
     /**
@@ -515,7 +425,7 @@ public class Interpreter {
      * Generates a random number from 0 to 255, which is then ANDed with the value kk. The results are stored in Vx.
      */
     private void rand(int x, int kk) {
-        STATE.setV(x, kk & RANDOM.nextInt(256));
+        STATE.setVUnchecked(x, kk & STATE.nextRandomByte());
 
         incrementPc();
     }
@@ -530,26 +440,17 @@ public class Interpreter {
      * and section 2.4, Display, for more information on the Chip-8 screen and sprites.
      */
     private void draw(int x, int y, int n) {
+        int xCoordinate = STATE.readVUnchecked(x);
+        int yCoordinate = STATE.readVUnchecked(y);
+        int address = STATE.readI();
         boolean pixelsDeactivated = false;
 
         for (int i = 0; i < n; i++) {
-            int spriteRow = STATE.readMemory(STATE.readI() + i);
-
-            // Split and draw each bit in the row as a sprite.
-            for (int j = 0; j < 8; j++) {
-                int shiftAmount = 8 - j - 1;
-                int currentBit = (spriteRow & (1 << shiftAmount)) >> shiftAmount;
-                int xCoordinate = (STATE.readV(x) + j) % ScreenState.WIDTH;
-                int yCoordinate = (STATE.readV(y) + i) % ScreenState.HEIGHT;
-                int oldPixel = SCREEN_STATE.readPixel(xCoordinate, yCoordinate) == Pixel.ACTIVE ? 1 : 0;
-                int newPixel = oldPixel ^ currentBit;
-
-                SCREEN_STATE.setPixel(xCoordinate, yCoordinate, newPixel == 1 ? Pixel.ACTIVE : Pixel.INACTIVE);
-                pixelsDeactivated = oldPixel == 1 && newPixel == 0 ? true : pixelsDeactivated;
-            }
+            int spriteRow = STATE.readMemoryUnchecked(address + i);
+            pixelsDeactivated |= SCREEN_STATE.drawSpriteRow(xCoordinate, yCoordinate + i, spriteRow);
         }
 
-        STATE.setV(0xF, pixelsDeactivated ? 1 : 0);
+        STATE.setVUnchecked(0xF, pixelsDeactivated ? 1 : 0);
 
         incrementPc();
     }
@@ -559,7 +460,7 @@ public class Interpreter {
      * The value of DT is placed into Vx.
      */
     private void loadDtIntoX(int x) {
-        STATE.setV(x, STATE.readDt());
+        STATE.setVUnchecked(x, STATE.readDt());
 
         incrementPc();
     }
@@ -567,18 +468,15 @@ public class Interpreter {
     /**
      * Fx0A - LD Vx, K
      * All execution stops until a key is pressed, then the value of that key is stored in Vx.
+     * Waiting is done by running this instruction again until a latched key press is available.
      */
     private void loadOnKeyPress(int x) {
-        System.out.println("loadOnKeyPress");
-        STATE.pause();
+        int key = KEY_STATE.takeLatchedPress();
 
-        KEY_STATE.setOnNextKeyPress((lastKeyPressed) -> {
-            // Finish the LD Vx, K instruction.
-            STATE.setV(x, lastKeyPressed);
+        if (key >= 0) {
+            STATE.setVUnchecked(x, key);
             incrementPc();
-
-            STATE.resume();
-        });
+        }
     }
 
     /**
@@ -586,7 +484,7 @@ public class Interpreter {
      * DT is set equal to the value of Vx.
      */
     private void loadXIntoDt(int x) {
-        STATE.setDt(STATE.readV(x));
+        STATE.setDt(STATE.readVUnchecked(x));
 
         incrementPc();
     }
@@ -596,7 +494,7 @@ public class Interpreter {
      * ST is set equal to the value of Vx.
      */
      private void loadXIntoSt(int x) {
-         STATE.setSt(STATE.readV(x));
+         STATE.setSt(STATE.readVUnchecked(x));
 
          incrementPc();
      }
@@ -606,7 +504,7 @@ public class Interpreter {
      * The values of I and Vx are added, and the results are stored in I.
      */
      private void addVxToI(int x) {
-         STATE.setI(STATE.readI() + STATE.readV(x));
+         STATE.setIUnchecked(STATE.readI() + STATE.readVUnchecked(x));
 
          incrementPc();
      }
@@ -616,7 +514,7 @@ public class Interpreter {
      * The value of I is set to the location for the hexadecimal sprite corresponding to the value of Vx.
      */
      private void loadSpriteIntoI(int x) {
-         STATE.setI(Sprites.lookUp(STATE.readV(x) & 0xF));
+         STATE.setIUnchecked(Sprites.lookUp(STATE.readVUnchecked(x) & 0xF));
 
          incrementPc();
      }
@@ -627,14 +525,14 @@ public class Interpreter {
       * the tens digit at location I+1, and the ones digit at location I+2.
      */
      private void loadDecimalIntoI(int x) {
-         int value =  STATE.readV(x);
+         int value =  STATE.readVUnchecked(x);
          int hundredsDigit = value / 100;
          int tensDigit = (value % 100) / 10;
          int onesDigit = value % 10;
 
-         STATE.setMemory(STATE.readI(), hundredsDigit);
-         STATE.setMemory(STATE.readI() + 1, tensDigit);
-         STATE.setMemory(STATE.readI() + 2, onesDigit);
+         STATE.setMemoryUnchecked(STATE.readI(), hundredsDigit);
+         STATE.setMemoryUnchecked(STATE.readI() + 1, tensDigit);
+         STATE.setMemoryUnchecked(STATE.readI() + 2, onesDigit);
 
          incrementPc();
      }
@@ -645,10 +543,13 @@ public class Interpreter {
      */
      private void loadVRegistersIntoIAddress(int x) {
          for (int i = 0; i <= x; i++) {
-             STATE.setMemory(STATE.readI() + i, STATE.readV(i));
+             STATE.setMemoryUnchecked(STATE.readI() + i, STATE.readVUnchecked(i));
+         }
+
+         if (QUIRKS.loadStoreIncrementsI()) {
+             STATE.setIUnchecked(STATE.readI() + x + 1);
          }
 
-         STATE.setI(STATE.readI() + x + 1);
          incrementPc();
      }
 
@@ -658,10 +559,13 @@ public class Interpreter {
      */
      private void loadIBlockIntoVRegisters(int x) {
          for (int i = 0; i <= x; i++) {
-             STATE.setV(i, STATE.readMemory(STATE.readI() + i));
+             STATE.setVUnchecked(i, STATE.readMemoryUnchecked(STATE.readI() + i));
+         }
+
+         if (QUIRKS.loadStoreIncrementsI()) {
+             STATE.setIUnchecked(STATE.readI() + x + 1);
          }
 
-         STATE.setI(STATE.readI() + x + 1);
          incrementPc();
      }
 }
@@ -0,0 +1,179 @@
+package com.github.dsvalerian.chip8.cpu;
+
+/**
+ * Identifiers for every Chip-8 instruction the {@link Interpreter} understands. These are plain int constants
+ * rather than an enum so they can be used directly as dense {@code switch} labels on the dispatch path.
+ */
+public final class Opcodes {
+    /**
+     * Any instruction that is not part of the Chip-8 instruction set.
+     */
+    public static final int INVALID = 0;
+    /**
+     * 00E0 - CLS
+     */
+    public static final int CLS = 1;
+    /**
+     * 00EE - RET
+     */
+    public static final int RET = 2;
+    /**
+     * 0nnn - SYS addr
+     */
+    public static final int SYS = 3;
+    /**
+     * 1nnn - JP addr
+     */
+    public static final int JP = 4;
+    /**
+     * 2nnn - CALL addr
+     */
+    public static final int CALL = 5;
+    /**
+     * 3xkk - SE Vx, byte
+     */
+    public static final int SE_VX_BYTE = 6;
+    /**
+     * 4xkk - SNE Vx, byte
+     */
+    public static final int SNE_VX_BYTE = 7;
+    /**
+     * 5xy0 - SE Vx, Vy
+     */
+    public static final int SE_VX_VY = 8;
+    /**
+     * 6xkk - LD Vx, byte
+     */
+    public static final int LD_VX_BYTE = 9;
+    /**
+     * 7xkk - ADD Vx, byte
+     */
+    public static final int ADD_VX_BYTE = 10;
+    /**
+     * 8xy0 - LD Vx, Vy
+     */
+    public static final int LD_VX_VY = 11;
+    /**
+     * 8xy1 - OR Vx, Vy
+     */
+    public static final int OR = 12;
+    /**
+     * 8xy2 - AND Vx, Vy
+     */
+    public static final int AND = 13;
+    /**
+     * 8xy3 - XOR Vx, Vy
+     */
+    public static final int XOR = 14;
+    /**
+     * 8xy4 - ADD Vx, Vy
+     */
+    public static final int ADD_VX_VY = 15;
+    /**
+     * 8xy5 - SUB Vx, Vy
+     */
+    public static final int SUB = 16;
+    /**
+     * 8xy6 - SHR Vx {, Vy}
+     */
+    public static final int SHR = 17;
+    /**
+     * 8xy7 - SUBN Vx, Vy
+     */
+    public static final int SUBN = 18;
+    /**
+     * 8xyE - SHL Vx {, Vy}
+     */
+    public static final int SHL = 19;
+    /**
+     * 9xy0 - SNE Vx, Vy
+     */
+    public static final int SNE_VX_VY = 20;
+    /**
+     * Annn - LD I, addr
+     */
+    public static final int LD_I_ADDR = 21;
+    /**
+     * Bnnn - JP V0, addr
+     */
+    public static final int JP_V0_ADDR = 22;
+    /**
+     * Cxkk - RND Vx, byte
+     */
+    public static final int RND = 23;
+    /**
+     * Dxyn - DRW Vx, Vy, n
+     */
+    public static final int DRW = 24;
+    /**
+     * Ex9E - SKP Vx
+     */
+    public static final int SKP = 25;
+    /**
+     * ExA1 - SKNP Vx
+     */
+    public static final int SKNP = 26;
+    /**
+     * Fx07 - LD Vx, DT
+     */
+    public static final int LD_VX_DT = 27;
+    /**
+     * Fx0A - LD Vx, K
+     */
+    public static final int LD_VX_K = 28;
+    /**
+     * Fx15 - LD DT, Vx
+     */
+    public static final int LD_DT_VX = 29;
+    /**
+     * Fx18 - LD ST, Vx
+     */
+    public static final int LD_ST_VX = 30;
+    /**
+     * Fx1E - ADD I, Vx
+     */
+    public static final int ADD_I_VX = 31;
+    /**
+     * Fx29 - LD F, Vx
+     */
+    public static final int LD_F_VX = 32;
+    /**
+     * Fx33 - LD B, Vx
+     */
+    public static final int LD_B_VX = 33;
+    /**
+     * Fx55 - LD [I], Vx
+     */
+    public static final int LD_MEM_VX = 34;
+    /**
+     * Fx65 - LD Vx, [I]
+     */
+    public static final int LD_VX_MEM = 35;
+
+    /**
+     * The number of opcode identifiers, including {@link #INVALID}.
+     */
+    public static final int COUNT = 36;
+
+    private static final String[] NAMES = {
+            "INVALID", "00E0 CLS", "00EE RET", "0nnn SYS", "1nnn JP", "2nnn CALL", "3xkk SE", "4xkk SNE",
+            "5xy0 SE", "6xkk LD", "7xkk ADD", "8xy0 LD", "8xy1 OR", "8xy2 AND", "8xy3 XOR", "8xy4 ADD",
+            "8xy5 SUB", "8xy6 SHR", "8xy7 SUBN", "8xyE SHL", "9xy0 SNE", "Annn LD", "Bnnn JP", "Cxkk RND",
+            "Dxyn DRW", "Ex9E SKP", "ExA1 SKNP", "Fx07 LD", "Fx0A LD", "Fx15 LD", "Fx18 LD", "Fx1E ADD",
+            "Fx29 LD", "Fx33 LD", "Fx55 LD", "Fx65 LD"
+    };
+
+    private Opcodes() {
+        // Only holds constants.
+    }
+
+    /**
+     * Get a human-readable name for an opcode identifier, such as "8xy4 ADD".
+     *
+     * @param opcode The opcode identifier.
+     * @return The pattern and mnemonic of the opcode.
+     */
+    public static String nameOf(int opcode) {
+        return NAMES[opcode];
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.dsvalerian.chip8.cpu;
+
+/**
+ * Profiles for the instructions whose behaviour differs between Chip-8 implementations. ROMs written for one
+ * implementation can misbehave on another, so the profile has to match what the ROM expects.
+ */
+public enum Quirks {
+    /**
+     * The original COSMAC VIP interpreter. 8xy6/8xyE shift Vy into Vx, Fx55/Fx65 leave I pointing past the last
+     * register, and Bnnn jumps to nnn + V0.
+     */
+    COSMAC_VIP(true, true, false),
+
+    /**
+     * The SUPER-CHIP interpreter. 8xy6/8xyE shift Vx in place, Fx55/Fx65 leave I unchanged, and Bxnn jumps to
+     * xnn + Vx.
+     */
+    SUPER_CHIP(false, false, true);
+
+    private final boolean shiftsVy;
+    private final boolean loadStoreIncrementsI;
+    private final boolean jumpsWithVx;
+
+    Quirks(boolean shiftsVy, boolean loadStoreIncrementsI, boolean jumpsWithVx) {
+        this.shiftsVy = shiftsVy;
+        this.loadStoreIncrementsI = loadStoreIncrementsI;
+        this.jumpsWithVx = jumpsWithVx;
+    }
+
+    /**
+     * @return True if 8xy6 and 8xyE shift Vy into Vx, false if they shift Vx in place.
+     */
+    public boolean shiftsVy() {
+        return shiftsVy;
+    }
+
+    /**
+     * @return True if Fx55 and Fx65 add x + 1 to I.
+     */
+    public boolean loadStoreIncrementsI() {
+        return loadStoreIncrementsI;
+    }
+
+    /**
+     * @return True if Bnnn adds Vx, where x is the highest nibble of nnn, rather than V0.
+     */
+    public boolean jumpsWithVx() {
+        return jumpsWithVx;
+    }
+}
@@ -0,0 +1,458 @@
+package com.github.dsvalerian.chip8.cpu;
+
+import com.github.dsvalerian.chip8.data.Sprites;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Translates hot {@link Block}s into JVM bytecode and loads them as hidden classes implementing
+ * {@link CompiledBlock}.
+ * <p>
+ * Only the leading run of register and index instructions in a block is compiled. Everything else, such as
+ * drawing, memory writes, the stack and the instruction that ends the block, is left to the {@link Interpreter},
+ * which picks up at the first instruction the compiled code didn't cover. Within the compiled code the V registers
+ * and I live in JVM locals and are only written back once at the end, and any value that is known while
+ * compiling, such as the operand of a 6xkk or Annn, is folded into a constant.
+ */
+final class Recompiler {
+    /**
+     * The number of times a block has to be entered before it gets compiled.
+     */
+    static final int HOT_BLOCK_THRESHOLD = 64;
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final String STATE = Type.getInternalName(CPUState.class);
+    private static final String STATE_DESCRIPTOR = Type.getDescriptor(CPUState.class);
+    private static final String CLASS_NAME = Type.getInternalName(CompiledBlock.class) + "Impl";
+
+    private static final int I = CPUState.NUM_V_REGISTERS;
+    private static final int STATE_LOCAL = 1;
+    private static final int FIRST_REGISTER_LOCAL = 2;
+    private static final int TEMP_LOCAL = FIRST_REGISTER_LOCAL + I + 1;
+
+    // Where the current value of a register is while compiling.
+    private static final int IN_STATE = 0;
+    private static final int IN_LOCAL = 1;
+    private static final int CONSTANT = 2;
+
+    private final Quirks quirks;
+    private final int[] location = new int[I + 1];
+    private final int[] constant = new int[I + 1];
+    private final boolean[] written = new boolean[I + 1];
+    private MethodVisitor method;
+    private int compiledBlocks;
+
+    /**
+     * Create a new {@link Recompiler}.
+     *
+     * @param quirks The {@link Quirks} the compiled code has to follow.
+     */
+    Recompiler(Quirks quirks) {
+        this.quirks = quirks;
+    }
+
+    /**
+     * Try to compile a block. On success {@link Block#compiled} and {@link Block#compiledLength} are set; if the
+     * block doesn't start with enough supported instructions, they are left alone.
+     *
+     * @param block The block to compile.
+     * @param limitAddress No instruction at or after this address will be compiled.
+     */
+    void compile(Block block, int limitAddress) {
+        block.compileAttempted = true;
+
+        int length = compilableLength(block, limitAddress);
+        if (length < 2) {
+            return;
+        }
+
+        byte[] bytes = generate(block, length);
+
+        try {
+            MethodHandles.Lookup hidden = LOOKUP.defineHiddenClass(bytes, true);
+            block.compiled = (CompiledBlock)hidden
+                    .findConstructor(hidden.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+            block.compiledLength = length;
+            block.compiledReadsTimers = readsTimers(block, length);
+            compiledBlocks++;
+        }
+        catch (Throwable ex) {
+            // Leave the block to the interpreter.
+            block.compiled = null;
+        }
+    }
+
+    /**
+     * @return The number of blocks that have been compiled so far.
+     */
+    int getCompiledBlocks() {
+        return compiledBlocks;
+    }
+
+    private static int compilableLength(Block block, int limitAddress) {
+        int length = 0;
+
+        while (length < block.entries.length && isSupported(Decoder.opcode(block.entries[length])) &&
+                block.startAddress + (length + 1) * Interpreter.PC_STEP_SIZE <= limitAddress) {
+            length++;
+        }
+
+        return length;
+    }
+
+    private static boolean readsTimers(Block block, int length) {
+        for (int i = 0; i < length; i++) {
+            if (Decoder.opcode(block.entries[i]) == Opcodes.LD_VX_DT) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isSupported(int opcode) {
+        switch (opcode) {
+            case Opcodes.SYS:
+            case Opcodes.LD_VX_BYTE:
+            case Opcodes.ADD_VX_BYTE:
+            case Opcodes.LD_VX_VY:
+            case Opcodes.OR:
+            case Opcodes.AND:
+            case Opcodes.XOR:
+            case Opcodes.ADD_VX_VY:
+            case Opcodes.SUB:
+            case Opcodes.SHR:
+            case Opcodes.SUBN:
+            case Opcodes.SHL:
+            case Opcodes.LD_I_ADDR:
+            case Opcodes.ADD_I_VX:
+            case Opcodes.LD_F_VX:
+            case Opcodes.LD_VX_DT:
+            case Opcodes.LD_VX_MEM:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private byte[] generate(Block block, int length) {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+        writer.visit(V17, ACC_FINAL | ACC_SYNTHETIC, CLASS_NAME, null, "java/lang/Object",
+                new String[] {Type.getInternalName(CompiledBlock.class)});
+
+        MethodVisitor constructor = writer.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitInsn(RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        method = writer.visitMethod(ACC_PUBLIC, "run", "(" + STATE_DESCRIPTOR + ")V", null, null);
+        method.visitCode();
+
+        for (int r = 0; r <= I; r++) {
+            location[r] = IN_STATE;
+            written[r] = false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            translate(block.entries[i]);
+        }
+
+        writeBack(block.startAddress + length * Interpreter.PC_STEP_SIZE);
+        method.visitInsn(RETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+        method = null;
+
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    private void translate(int entry) {
+        int x = Decoder.x(entry);
+        int y = Decoder.y(entry);
+
+        switch (Decoder.opcode(entry)) {
+            case Opcodes.SYS:
+                break;
+            case Opcodes.LD_VX_BYTE:
+                setConstant(x, Decoder.kk(entry));
+                break;
+            case Opcodes.ADD_VX_BYTE:
+                if (isConstant(x)) {
+                    setConstant(x, (constant[x] + Decoder.kk(entry)) & 0xFF);
+                }
+                else {
+                    push(x);
+                    pushInt(Decoder.kk(entry));
+                    method.visitInsn(IADD);
+                    pushInt(0xFF);
+                    method.visitInsn(IAND);
+                    store(x);
+                }
+                break;
+            case Opcodes.LD_VX_VY:
+                if (isConstant(y)) {
+                    setConstant(x, constant[y]);
+                }
+                else {
+                    push(y);
+                    store(x);
+                }
+                break;
+            case Opcodes.OR:
+                logic(x, y, IOR);
+                break;
+            case Opcodes.AND:
+                logic(x, y, IAND);
+                break;
+            case Opcodes.XOR:
+                logic(x, y, IXOR);
+                break;
+            case Opcodes.ADD_VX_VY:
+                // temp = Vx + Vy; Vx = temp & 0xFF; VF = temp >>> 8
+                push(x);
+                push(y);
+                method.visitInsn(IADD);
+                storeResultAndFlag(x, () -> {
+                    pushInt(0xFF);
+                    method.visitInsn(IAND);
+                }, () -> {
+                    pushInt(8);
+                    method.visitInsn(IUSHR);
+                });
+                break;
+            case Opcodes.SUB:
+                // temp = Vx - Vy; Vx = temp & 0xFF; VF = Vx > Vy, which is the sign bit of -temp
+                push(x);
+                push(y);
+                method.visitInsn(ISUB);
+                storeResultAndFlag(x, this::maskByte, this::negativeSignBit);
+                break;
+            case Opcodes.SUBN:
+                // temp = Vy - Vx; Vx = temp & 0xFF; VF = Vy > Vx, which is the sign bit of -temp
+                push(y);
+                push(x);
+                method.visitInsn(ISUB);
+                storeResultAndFlag(x, this::maskByte, this::negativeSignBit);
+                break;
+            case Opcodes.SHR:
+                // temp = Vy (or Vx); Vx = temp >> 1; VF = temp & 1
+                push(quirks.shiftsVy() ? y : x);
+                storeResultAndFlag(x, () -> {
+                    pushInt(1);
+                    method.visitInsn(ISHR);
+                }, () -> {
+                    pushInt(1);
+                    method.visitInsn(IAND);
+                });
+                break;
+            case Opcodes.SHL:
+                // temp = Vy (or Vx); Vx = (temp << 1) & 0xFF; VF = (temp >> 7) & 1
+                push(quirks.shiftsVy() ? y : x);
+                storeResultAndFlag(x, () -> {
+                    pushInt(1);
+                    method.visitInsn(ISHL);
+                    maskByte();
+                }, () -> {
+                    pushInt(7);
+                    method.visitInsn(ISHR);
+                    pushInt(1);
+                    method.visitInsn(IAND);
+                });
+                break;
+            case Opcodes.LD_I_ADDR:
+                setConstant(I, Decoder.nnn(entry));
+                break;
+            case Opcodes.ADD_I_VX:
+                if (isConstant(I) && isConstant(x)) {
+                    setConstant(I, (constant[I] + constant[x]) & 0xFFF);
+                }
+                else {
+                    push(I);
+                    push(x);
+                    method.visitInsn(IADD);
+                    pushInt(0xFFF);
+                    method.visitInsn(IAND);
+                    store(I);
+                }
+                break;
+            case Opcodes.LD_F_VX:
+                if (isConstant(x)) {
+                    setConstant(I, Sprites.lookUp(constant[x] & 0xF));
+                }
+                else {
+                    push(x);
+                    pushInt(0xF);
+                    method.visitInsn(IAND);
+                    method.visitMethodInsn(INVOKESTATIC, Type.getInternalName(Sprites.class), "lookUp", "(I)I",
+                            false);
+                    store(I);
+                }
+                break;
+            case Opcodes.LD_VX_DT:
+                method.visitVarInsn(ALOAD, STATE_LOCAL);
+                method.visitMethodInsn(INVOKEVIRTUAL, STATE, "readDt", "()I", false);
+                store(x);
+                break;
+            case Opcodes.LD_VX_MEM:
+                for (int r = 0; r <= x; r++) {
+                    method.visitVarInsn(ALOAD, STATE_LOCAL);
+                    push(I);
+                    pushInt(r);
+                    method.visitInsn(IADD);
+                    method.visitMethodInsn(INVOKEVIRTUAL, STATE, "readMemoryUnchecked", "(I)I", false);
+                    store(r);
+                }
+
+                if (!quirks.loadStoreIncrementsI()) {
+                    break;
+                }
+
+                if (isConstant(I)) {
+                    setConstant(I, (constant[I] + x + 1) & 0xFFF);
+                }
+                else {
+                    push(I);
+                    pushInt(x + 1);
+                    method.visitInsn(IADD);
+                    pushInt(0xFFF);
+                    method.visitInsn(IAND);
+                    store(I);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Cannot compile " + Opcodes.nameOf(Decoder.opcode(entry)));
+        }
+    }
+
+    private void logic(int x, int y, int operation) {
+        if (isConstant(x) && isConstant(y)) {
+            int a = constant[x];
+            int b = constant[y];
+            setConstant(x, operation == IOR ? a | b : operation == IAND ? a & b : a ^ b);
+        }
+        else {
+            push(x);
+            push(y);
+            method.visitInsn(operation);
+            store(x);
+        }
+    }
+
+    /**
+     * With an intermediate value on the operand stack, store one function of it in Vx and then another in VF,
+     * in the same order as the interpreter does.
+     */
+    private void storeResultAndFlag(int x, Runnable result, Runnable flag) {
+        method.visitVarInsn(ISTORE, TEMP_LOCAL);
+        method.visitVarInsn(ILOAD, TEMP_LOCAL);
+        result.run();
+        store(x);
+        method.visitVarInsn(ILOAD, TEMP_LOCAL);
+        flag.run();
+        store(0xF);
+    }
+
+    private void maskByte() {
+        pushInt(0xFF);
+        method.visitInsn(IAND);
+    }
+
+    private void negativeSignBit() {
+        method.visitInsn(INEG);
+        pushInt(31);
+        method.visitInsn(IUSHR);
+    }
+
+    private boolean isConstant(int register) {
+        return location[register] == CONSTANT;
+    }
+
+    private void setConstant(int register, int value) {
+        location[register] = CONSTANT;
+        constant[register] = value;
+        written[register] = true;
+    }
+
+    /**
+     * Push the current value of a register, loading it from the state into its local the first time it's used.
+     */
+    private void push(int register) {
+        switch (location[register]) {
+            case CONSTANT:
+                pushInt(constant[register]);
+                break;
+            case IN_LOCAL:
+                method.visitVarInsn(ILOAD, FIRST_REGISTER_LOCAL + register);
+                break;
+            default:
+                method.visitVarInsn(ALOAD, STATE_LOCAL);
+                if (register == I) {
+                    method.visitMethodInsn(INVOKEVIRTUAL, STATE, "readI", "()I", false);
+                }
+                else {
+                    pushInt(register);
+                    method.visitMethodInsn(INVOKEVIRTUAL, STATE, "readVUnchecked", "(I)I", false);
+                }
+                method.visitInsn(DUP);
+                method.visitVarInsn(ISTORE, FIRST_REGISTER_LOCAL + register);
+                location[register] = IN_LOCAL;
+                break;
+        }
+    }
+
+    /**
+     * Pop the value on top of the operand stack into a register's local.
+     */
+    private void store(int register) {
+        method.visitVarInsn(ISTORE, FIRST_REGISTER_LOCAL + register);
+        location[register] = IN_LOCAL;
+        written[register] = true;
+    }
+
+    private void writeBack(int nextPc) {
+        for (int r = 0; r < I; r++) {
+            if (written[r]) {
+                method.visitVarInsn(ALOAD, STATE_LOCAL);
+                pushInt(r);
+                push(r);
+                method.visitMethodInsn(INVOKEVIRTUAL, STATE, "setVUnchecked", "(II)V", false);
+            }
+        }
+
+        if (written[I]) {
+            method.visitVarInsn(ALOAD, STATE_LOCAL);
+            push(I);
+            method.visitMethodInsn(INVOKEVIRTUAL, STATE, "setIUnchecked", "(I)V", false);
+        }
+
+        method.visitVarInsn(ALOAD, STATE_LOCAL);
+        pushInt(nextPc);
+        method.visitMethodInsn(INVOKEVIRTUAL, STATE, "setPcUnchecked", "(I)V", false);
+    }
+
+    private void pushInt(int value) {
+        if (value >= -1 && value <= 5) {
+            method.visitInsn(ICONST_0 + value);
+        }
+        else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            method.visitIntInsn(BIPUSH, value);
+        }
+        else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            method.visitIntInsn(SIPUSH, value);
+        }
+        else {
+            method.visitLdcInsn(value);
+        }
+    }
+}
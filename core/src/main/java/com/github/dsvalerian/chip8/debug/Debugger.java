@@ -0,0 +1,360 @@
+package com.github.dsvalerian.chip8.debug;
+
+import com.github.dsvalerian.chip8.cpu.CPU;
+import com.github.dsvalerian.chip8.cpu.CPUState;
+import com.github.dsvalerian.chip8.cpu.Decoder;
+import com.github.dsvalerian.chip8.cpu.ExecutionProbe;
+import com.github.dsvalerian.chip8.cpu.Opcodes;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Stops a {@link CPU} on breakpoints, memory watchpoints and register conditions. The debugger only attaches
+ * itself to the CPU as an {@link ExecutionProbe} while at least one of them is armed, so a CPU without any runs at
+ * full speed. Any probe that was already attached keeps being called while the debugger is.
+ * <p>
+ * Breakpoints and watchpoints are looked up in per-address bitmaps, and stop before the instruction that would
+ * hit them runs, including the first one a call to {@link CPU#execute(int)} runs. Register conditions stop right
+ * after the instruction that makes them true. The instruction that execution is resumed from after a stop is never
+ * stopped on again. When the debugger stops, it pauses the {@link CPUState},
+ * which ends the current {@link CPU#execute(int)} call. Call {@link #resume()} to carry on.
+ * <p>
+ * What is armed can be changed from any thread, and takes effect from the next instruction the CPU checks. The
+ * bitmaps are atomic and attaching to the CPU is synchronized, so changes from several threads don't get lost.
+ */
+public class Debugger implements ExecutionProbe {
+    /**
+     * The register number to use for I in {@link #addCondition(int, int)}. V registers are numbered 0 to 15.
+     */
+    public static final int REGISTER_I = CPUState.NUM_V_REGISTERS;
+
+    private static final int ADDRESS_MASK = CPUState.MEMORY_SIZE - 1;
+
+    private final CPU cpu;
+    private final CPUState state;
+
+    private final AtomicLongArray breakpoints = new AtomicLongArray(CPUState.MEMORY_SIZE / Long.SIZE);
+    private final AtomicLongArray readWatchpoints = new AtomicLongArray(CPUState.MEMORY_SIZE / Long.SIZE);
+    private final AtomicLongArray writeWatchpoints = new AtomicLongArray(CPUState.MEMORY_SIZE / Long.SIZE);
+    private final AtomicInteger armedPoints = new AtomicInteger();
+
+    // Register, value and whether it held after the last instruction, for each condition. Replaced as a whole
+    // whenever conditions change, so the CPU's thread never sees a half-made change.
+    private volatile int[] conditions = new int[0];
+
+    private volatile ExecutionProbe chained;
+    private volatile long frameBreak = -1;
+    private volatile String stopReason;
+    // The address execution was stopped at before the last resume, which isn't checked again, or -1.
+    private volatile int resumedFrom = -1;
+
+    /**
+     * Create a new {@link Debugger} with nothing armed.
+     *
+     * @param cpu The CPU to stop.
+     * @param state The state of that CPU.
+     */
+    public Debugger(CPU cpu, CPUState state) {
+        this.cpu = cpu;
+        this.state = state;
+    }
+
+    /**
+     * Stop before the instruction at an address runs.
+     *
+     * @param address The address of the instruction.
+     */
+    public void addBreakpoint(int address) {
+        set(breakpoints, address, true);
+    }
+
+    /**
+     * @param address The address of the instruction.
+     */
+    public void removeBreakpoint(int address) {
+        set(breakpoints, address, false);
+    }
+
+    /**
+     * @param address The address of an instruction.
+     * @return True if there is a breakpoint at the address.
+     */
+    public boolean hasBreakpoint(int address) {
+        return isSet(breakpoints, address);
+    }
+
+    /**
+     * Stop before an instruction accesses an address in the given way.
+     *
+     * @param address The memory address to watch.
+     * @param access The kind of access to stop on.
+     */
+    public void addWatchpoint(int address, MemoryAccess access) {
+        set(access == MemoryAccess.READ ? readWatchpoints : writeWatchpoints, address, true);
+    }
+
+    /**
+     * @param address The watched memory address.
+     * @param access The kind of access to stop watching for.
+     */
+    public void removeWatchpoint(int address, MemoryAccess access) {
+        set(access == MemoryAccess.READ ? readWatchpoints : writeWatchpoints, address, false);
+    }
+
+    /**
+     * @param address A memory address.
+     * @param access A kind of access.
+     * @return True if the address is watched for that kind of access.
+     */
+    public boolean hasWatchpoint(int address, MemoryAccess access) {
+        return isSet(access == MemoryAccess.READ ? readWatchpoints : writeWatchpoints, address);
+    }
+
+    /**
+     * Stop after an instruction leaves a register holding a value that it didn't hold before.
+     *
+     * @param register A V register from 0 to 15, or {@link #REGISTER_I}.
+     * @param value The value to stop on.
+     */
+    public synchronized void addCondition(int register, int value) {
+        if (register < 0 || register > REGISTER_I) {
+            throw new IllegalArgumentException("Register " + register + " doesn't exist.");
+        }
+
+        int[] updated = Arrays.copyOf(conditions, conditions.length + 3);
+        updated[updated.length - 3] = register;
+        updated[updated.length - 2] = value;
+        updated[updated.length - 1] = readRegister(register) == value ? 1 : 0;
+        conditions = updated;
+        updateArmed();
+    }
+
+    /**
+     * Remove every register condition.
+     */
+    public synchronized void clearConditions() {
+        conditions = new int[0];
+        updateArmed();
+    }
+
+    /**
+     * Remove every breakpoint, watchpoint and register condition, and the frame set with
+     * {@link #setFrameBreak(long)}.
+     */
+    public void clearAll() {
+        clear(breakpoints);
+        clear(readWatchpoints);
+        clear(writeWatchpoints);
+        frameBreak = -1;
+        clearConditions();
+    }
+
+    /**
+     * @return True if any breakpoint, watchpoint or register condition is armed.
+     */
+    public boolean isArmed() {
+        return armedPoints.get() > 0 || conditions.length > 0;
+    }
+
+    /**
+     * Set a frame to stop at, for whatever runs frames to check with {@link #checkFrame(long)}.
+     *
+     * @param frame The frame number to stop at, or -1 for none.
+     */
+    public void setFrameBreak(long frame) {
+        frameBreak = frame;
+    }
+
+    /**
+     * Stop if a frame has been reached that was set with {@link #setFrameBreak(long)}, and forget it.
+     *
+     * @param frame The number of frames that have been run.
+     */
+    public void checkFrame(long frame) {
+        long target = frameBreak;
+
+        if (target >= 0 && frame >= target) {
+            frameBreak = -1;
+            stop("Reached frame " + frame);
+        }
+    }
+
+    /**
+     * @return True if the debugger has stopped execution and {@link #resume()} hasn't been called since.
+     */
+    public boolean hasStopped() {
+        return stopReason != null;
+    }
+
+    /**
+     * @return What execution stopped on, or null if it hasn't stopped.
+     */
+    public String getStopReason() {
+        return stopReason;
+    }
+
+    /**
+     * Let the CPU carry on after the debugger stopped it.
+     */
+    public void resume() {
+        if (stopReason != null) {
+            resumedFrom = state.readPc();
+        }
+
+        stopReason = null;
+        state.resume();
+    }
+
+    /**
+     * Check the first instruction about to run, unless execution was just resumed from it.
+     */
+    @Override
+    public void onStart(CPUState state) {
+        if (chained != null) {
+            chained.onStart(state);
+        }
+
+        int pc = state.readPc();
+        int skipped = resumedFrom;
+        resumedFrom = -1;
+
+        if (pc != skipped) {
+            checkNext(pc);
+        }
+    }
+
+    /**
+     * Attach with {@link CPU#setProbe(ExecutionProbe)} rather than calling this directly. Done automatically
+     * while anything is armed.
+     */
+    @Override
+    public void onInstruction(long cycle, int address, int instruction, int opcode, CPUState state) {
+        if (chained != null) {
+            chained.onInstruction(cycle, address, instruction, opcode, state);
+        }
+
+        int[] conditions = this.conditions;
+
+        for (int i = 0; i < conditions.length; i += 3) {
+            int holds = readRegister(conditions[i]) == conditions[i + 1] ? 1 : 0;
+
+            if (holds > conditions[i + 2]) {
+                stop(String.format("%s became %02X", registerName(conditions[i]), conditions[i + 1]));
+            }
+
+            conditions[i + 2] = holds;
+        }
+
+        checkNext(state.readPc());
+    }
+
+    /**
+     * Stop if the instruction at an address is on a breakpoint or is about to access a watched address.
+     */
+    private void checkNext(int pc) {
+        if (armedPoints.get() == 0) {
+            return;
+        }
+
+        if (isSet(breakpoints, pc)) {
+            stop(String.format("Breakpoint at %03X", pc));
+        }
+
+        int next = Decoder.decode((state.readMemory(pc & ADDRESS_MASK) << 8) |
+                state.readMemory((pc + 1) & ADDRESS_MASK));
+        int x = Decoder.x(next);
+
+        switch (Decoder.opcode(next)) {
+            case Opcodes.DRW:
+                checkAccess(readWatchpoints, MemoryAccess.READ, state.readI(), Decoder.n(next));
+                break;
+            case Opcodes.LD_VX_MEM:
+                checkAccess(readWatchpoints, MemoryAccess.READ, state.readI(), x + 1);
+                break;
+            case Opcodes.LD_B_VX:
+                checkAccess(writeWatchpoints, MemoryAccess.WRITE, state.readI(), 3);
+                break;
+            case Opcodes.LD_MEM_VX:
+                checkAccess(writeWatchpoints, MemoryAccess.WRITE, state.readI(), x + 1);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void checkAccess(AtomicLongArray watchpoints, MemoryAccess access, int start, int length) {
+        for (int i = 0; i < length; i++) {
+            int address = (start + i) & ADDRESS_MASK;
+
+            if (isSet(watchpoints, address)) {
+                stop(String.format("%s of watched address %03X at %03X", access, address, state.readPc()));
+                return;
+            }
+        }
+    }
+
+    private void stop(String reason) {
+        if (stopReason == null) {
+            stopReason = reason;
+        }
+
+        state.pause();
+    }
+
+    private int readRegister(int register) {
+        return register == REGISTER_I ? state.readI() : state.readV(register);
+    }
+
+    private static String registerName(int register) {
+        return register == REGISTER_I ? "I" : String.format("V%X", register);
+    }
+
+    private void set(AtomicLongArray bitmap, int address, boolean value) {
+        if (address < 0 || address >= CPUState.MEMORY_SIZE) {
+            throw new IllegalArgumentException("Address " + address + " is out of range.");
+        }
+
+        long bit = 1L << address;
+        long old = value ? bitmap.getAndAccumulate(address >>> 6, bit, (word, b) -> word | b) :
+                bitmap.getAndAccumulate(address >>> 6, ~bit, (word, b) -> word & b);
+        boolean wasSet = (old & bit) != 0;
+
+        if (value && !wasSet) {
+            armedPoints.incrementAndGet();
+        }
+        else if (!value && wasSet) {
+            armedPoints.decrementAndGet();
+        }
+
+        updateArmed();
+    }
+
+    private void clear(AtomicLongArray bitmap) {
+        for (int i = 0; i < bitmap.length(); i++) {
+            armedPoints.addAndGet(-Long.bitCount(bitmap.getAndSet(i, 0)));
+        }
+    }
+
+    private static boolean isSet(AtomicLongArray bitmap, int address) {
+        return (bitmap.get((address & ADDRESS_MASK) >>> 6) & (1L << address)) != 0;
+    }
+
+    /**
+     * Attach to the CPU while anything is armed, and give its probe back once nothing is. Synchronized so that two
+     * threads arming and disarming at once can't both attach, or lose the probe that was chained.
+     */
+    private synchronized void updateArmed() {
+        ExecutionProbe attached = cpu.getProbe();
+
+        if (isArmed() && attached != this) {
+            chained = attached;
+            cpu.setProbe(this);
+        }
+        else if (!isArmed() && attached == this) {
+            cpu.setProbe(chained);
+            chained = null;
+        }
+    }
+}
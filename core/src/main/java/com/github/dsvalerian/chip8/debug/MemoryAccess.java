@@ -0,0 +1,15 @@
+package com.github.dsvalerian.chip8.debug;
+
+/**
+ * The kinds of memory access a watchpoint can stop on.
+ */
+public enum MemoryAccess {
+    /**
+     * Memory read as data by Dxyn or Fx65. Fetching instructions doesn't count.
+     */
+    READ,
+    /**
+     * Memory written by Fx33 or Fx55.
+     */
+    WRITE
+}
@@ -0,0 +1,93 @@
+package com.github.dsvalerian.chip8.farm;
+
+import com.github.dsvalerian.chip8.cpu.Quirks;
+import com.github.dsvalerian.chip8.io.InputScript;
+
+import java.nio.file.Path;
+
+/**
+ * One run for the {@link RomFarm}: a ROM, how many cycles to run it for, the input to feed it, the
+ * {@link Quirks} to run it with and the seed for its random numbers. Jobs with the same values always give the
+ * same result.
+ */
+public final class FarmJob {
+    private final Path romPath;
+    private final long cycleBudget;
+    private final InputScript inputScript;
+    private final Quirks quirks;
+    private final long seed;
+
+    /**
+     * Create a new {@link FarmJob} with a random seed of 0.
+     *
+     * @param romPath The path to the ROM file.
+     * @param cycleBudget The maximum number of CPU cycles to run.
+     * @param inputScript The input to feed the emulator.
+     * @param quirks The {@link Quirks} profile to run with.
+     */
+    public FarmJob(Path romPath, long cycleBudget, InputScript inputScript, Quirks quirks) {
+        this(romPath, cycleBudget, inputScript, quirks, 0);
+    }
+
+    /**
+     * Create a new {@link FarmJob}.
+     *
+     * @param romPath The path to the ROM file.
+     * @param cycleBudget The maximum number of CPU cycles to run.
+     * @param inputScript The input to feed the emulator.
+     * @param quirks The {@link Quirks} profile to run with.
+     * @param seed The seed for the random number generator.
+     */
+    public FarmJob(Path romPath, long cycleBudget, InputScript inputScript, Quirks quirks, long seed) {
+        if (cycleBudget < 0) {
+            throw new IllegalArgumentException("cycle budget cannot be negative");
+        }
+
+        this.romPath = romPath;
+        this.cycleBudget = cycleBudget;
+        this.inputScript = inputScript;
+        this.quirks = quirks;
+        this.seed = seed;
+    }
+
+    /**
+     * @return The path to the ROM file.
+     */
+    public Path getRomPath() {
+        return romPath;
+    }
+
+    /**
+     * @return The maximum number of CPU cycles to run.
+     */
+    public long getCycleBudget() {
+        return cycleBudget;
+    }
+
+    /**
+     * @return The input to feed the emulator.
+     */
+    public InputScript getInputScript() {
+        return inputScript;
+    }
+
+    /**
+     * @return The {@link Quirks} profile to run with.
+     */
+    public Quirks getQuirks() {
+        return quirks;
+    }
+
+    /**
+     * @return The seed for the random number generator.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public String toString() {
+        return romPath + " (" + cycleBudget + " cycles, " + inputScript.size() + " input events, " + quirks +
+                ", seed " + seed + ")";
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.dsvalerian.chip8.farm;
+
+/**
+ * The outcome of a {@link FarmJob}.
+ */
+public final class FarmResult {
+    private final FarmJob job;
+    private final long stateHash;
+    private final long frameHash;
+    private final long cycles;
+    private final long wallTimeNanos;
+    private final String error;
+
+    FarmResult(FarmJob job, long stateHash, long frameHash, long cycles, long wallTimeNanos, String error) {
+        this.job = job;
+        this.stateHash = stateHash;
+        this.frameHash = frameHash;
+        this.cycles = cycles;
+        this.wallTimeNanos = wallTimeNanos;
+        this.error = error;
+    }
+
+    /**
+     * @return The job this is the result of.
+     */
+    public FarmJob getJob() {
+        return job;
+    }
+
+    /**
+     * @return A {@link StateHash} of the CPU state at the end of the run.
+     */
+    public long getStateHash() {
+        return stateHash;
+    }
+
+    /**
+     * @return A {@link StateHash} of the screen at the end of the run.
+     */
+    public long getFrameHash() {
+        return frameHash;
+    }
+
+    /**
+     * @return The number of CPU cycles that were run.
+     */
+    public long getCycles() {
+        return cycles;
+    }
+
+    /**
+     * @return How long the run took, in nanoseconds.
+     */
+    public long getWallTimeNanos() {
+        return wallTimeNanos;
+    }
+
+    /**
+     * @return A description of what went wrong, or null if the run finished normally.
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * @return True if the run finished normally.
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: state=%016x frame=%016x cycles=%d time=%.3fms%s", job, stateHash, frameHash,
+                cycles, wallTimeNanos / 1e6, error == null ? "" : " error=" + error);
+    }
+}
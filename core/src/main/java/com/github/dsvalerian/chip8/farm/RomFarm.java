@@ -0,0 +1,157 @@
+package com.github.dsvalerian.chip8.farm;
+
+import com.github.dsvalerian.chip8.cpu.CPU;
+import com.github.dsvalerian.chip8.cpu.CPUState;
+import com.github.dsvalerian.chip8.data.ROM;
+import com.github.dsvalerian.chip8.io.InputScript;
+import com.github.dsvalerian.chip8.io.KeyState;
+import com.github.dsvalerian.chip8.io.ScreenState;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Runs many headless emulators in parallel on a {@link ForkJoinPool}, for regression testing ROMs and
+ * comparing {@link com.github.dsvalerian.chip8.cpu.Quirks} profiles. Every job gets its own CPU, screen and keys,
+ * so runs are independent and their results are reproducible.
+ */
+public class RomFarm implements AutoCloseable {
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a new {@link RomFarm} that uses one worker per available processor.
+     */
+    public RomFarm() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create a new {@link RomFarm}.
+     *
+     * @param parallelism The number of worker threads.
+     */
+    public RomFarm(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Run every job, passing each result to a consumer as soon as its job finishes. The consumer is called from
+     * worker threads, so it must be thread safe. Returns once all jobs are done.
+     *
+     * @param jobs The jobs to run.
+     * @param onResult Called with the result of each job.
+     */
+    public void run(List<FarmJob> jobs, Consumer<FarmResult> onResult) {
+        FarmJob[] jobArray = jobs.toArray(new FarmJob[0]);
+        pool.invoke(new Split(jobArray, 0, jobArray.length, (index, result) -> onResult.accept(result)));
+    }
+
+    /**
+     * Run every job and collect the results.
+     *
+     * @param jobs The jobs to run.
+     * @return The results, in the same order as the jobs.
+     */
+    public List<FarmResult> run(List<FarmJob> jobs) {
+        FarmJob[] jobArray = jobs.toArray(new FarmJob[0]);
+        FarmResult[] results = new FarmResult[jobArray.length];
+        pool.invoke(new Split(jobArray, 0, jobArray.length, (index, result) -> results[index] = result));
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Run a single job on the calling thread.
+     *
+     * @param job The job to run.
+     * @return The result of the job.
+     */
+    public static FarmResult runJob(FarmJob job) {
+        long start = System.nanoTime();
+        CPUState state = new CPUState();
+        state.setRandomSeed(job.getSeed());
+        ScreenState screen = new ScreenState();
+        KeyState keys = new KeyState();
+        CPU cpu = new CPU(state, screen, keys, job.getQuirks());
+        cpu.setRecompilerEnabled(true);
+
+        try {
+            cpu.loadProgram(ROM.fromFile(job.getRomPath()));
+
+            InputScript script = job.getInputScript();
+            long budget = job.getCycleBudget();
+            int nextEvent = 0;
+
+            while (cpu.getCycles() < budget && cpu.hasMoreInstructions()) {
+                if (nextEvent < script.size() && script.getCycle(nextEvent) <= cpu.getCycles()) {
+                    while (nextEvent < script.size() && script.getCycle(nextEvent) <= cpu.getCycles()) {
+                        script.apply(nextEvent++, keys);
+                    }
+
+                    // Scripted input lands on exact cycles, so latch it right away instead of once per frame.
+                    keys.latch();
+                }
+
+                long runUntil = nextEvent < script.size() ? Math.min(budget, script.getCycle(nextEvent)) : budget;
+
+                if (cpu.execute((int)Math.min(Integer.MAX_VALUE, runUntil - cpu.getCycles())) == 0) {
+                    break;
+                }
+            }
+        }
+        catch (IOException | RuntimeException e) {
+            return new FarmResult(job, StateHash.of(state), StateHash.of(screen), cpu.getCycles(),
+                    System.nanoTime() - start, e.toString());
+        }
+
+        return new FarmResult(job, StateHash.of(state), StateHash.of(screen), cpu.getCycles(),
+                System.nanoTime() - start, null);
+    }
+
+    /**
+     * Stop the worker threads.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private interface ResultSink {
+        void accept(int index, FarmResult result);
+    }
+
+    /**
+     * Splits a range of jobs in half until there is one job left, then runs it.
+     */
+    private static class Split extends RecursiveAction {
+        private final FarmJob[] jobs;
+        private final int from;
+        private final int to;
+        private final ResultSink sink;
+
+        private Split(FarmJob[] jobs, int from, int to, ResultSink sink) {
+            this.jobs = jobs;
+            this.from = from;
+            this.to = to;
+            this.sink = sink;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                sink.accept(from, runJob(jobs[from]));
+            }
+            else if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Split(jobs, from, middle, sink), new Split(jobs, middle, to, sink));
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.dsvalerian.chip8.farm;
+
+import com.github.dsvalerian.chip8.cpu.CPUState;
+import com.github.dsvalerian.chip8.data.MemoryBlock;
+import com.github.dsvalerian.chip8.io.ScreenState;
+
+/**
+ * 64-bit FNV-1a hashes of machine state, used to compare the outcome of runs without keeping the state around.
+ */
+public final class StateHash {
+    private static final long OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long PRIME = 0x100000001B3L;
+
+    private StateHash() {
+        // Only static helpers.
+    }
+
+    /**
+     * Hash the memory, registers, stack, timers and random number generator of a {@link CPUState}.
+     *
+     * @param state The state to hash.
+     * @return The hash.
+     */
+    public static long of(CPUState state) {
+        long hash = OFFSET_BASIS;
+
+        for (int i = 0; i < CPUState.MEMORY_SIZE; i++) {
+            hash = mix(hash, state.readMemory(i));
+        }
+        for (int i = 0; i < CPUState.NUM_V_REGISTERS; i++) {
+            hash = mix(hash, state.readV(i));
+        }
+
+        hash = mix(hash, state.readI());
+        hash = mix(hash, state.readPc());
+        hash = mix(hash, state.readDt());
+        hash = mix(hash, state.readSt());
+        hash = mix(hash, state.readSp());
+        hash = mix(hash, (int)(state.readRandomState() >>> 32));
+        hash = mix(hash, (int)state.readRandomState());
+
+        for (int i = 0; i < state.readSp(); i++) {
+            hash = mix(hash, state.readStack(i));
+        }
+
+        return hash;
+    }
+
+    /**
+     * Hash the contents of a {@link MemoryBlock}, for example to check that a ROM is the expected one.
+     *
+     * @param block The block to hash.
+     * @return The hash.
+     */
+    public static long of(MemoryBlock block) {
+        long hash = OFFSET_BASIS;
+
+        for (int i = 0; i < block.getSize(); i++) {
+            hash = mix(hash, block.read(i));
+        }
+
+        return hash;
+    }
+
+    /**
+     * Hash every pixel of a {@link ScreenState}.
+     *
+     * @param screen The screen to hash.
+     * @return The hash.
+     */
+    public static long of(ScreenState screen) {
+        long hash = OFFSET_BASIS;
+
+        for (int y = 0; y < ScreenState.HEIGHT; y++) {
+            long row = screen.readRow(y);
+            hash = mix(hash, (int)(row >>> 32));
+            hash = mix(hash, (int)row);
+        }
+
+        return hash;
+    }
+
+    private static long mix(long hash, int value) {
+        for (int i = 0; i < Integer.BYTES; i++) {
+            hash ^= (value >>> (i * 8)) & 0xFF;
+            hash *= PRIME;
+        }
+
+        return hash;
+    }
+}
@@ -1,4 +1,4 @@
-package com.github.dsvalerian.chip8.gui;
+package com.github.dsvalerian.chip8.io;
 
 /**
  * Frames per second enum.
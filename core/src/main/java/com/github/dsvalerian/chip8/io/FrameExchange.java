@@ -0,0 +1,58 @@
+package com.github.dsvalerian.chip8.io;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands finished frames from the thread running the emulator to the thread showing them, without either one ever
+ * waiting for the other. There are three frame buffers: one the writer fills, one the reader shows, and one in the
+ * middle holding the newest finished frame. Publishing and taking a frame each swap a buffer with the middle one in
+ * a single atomic step, so the reader never sees a frame that is only partly written, and frames the reader was
+ * too slow for are simply replaced.
+ * <p>
+ * There must be only one writer thread and one reader thread.
+ */
+public class FrameExchange {
+    private static final int FRESH = 4;
+    private static final int INDEX_MASK = 3;
+
+    private final long[][] buffers = new long[3][ScreenState.HEIGHT];
+
+    /**
+     * The index of the middle buffer, plus {@link #FRESH} if it holds a frame the reader hasn't taken yet.
+     */
+    private final AtomicInteger middle = new AtomicInteger(1);
+
+    // Owned by the writer and the reader thread respectively.
+    private int back = 0;
+    private int front = 2;
+
+    /**
+     * @return The buffer for the writer to fill with the next frame, one long per row as in
+     * {@link ScreenState#readRow(int)}.
+     */
+    public long[] getBackBuffer() {
+        return buffers[back];
+    }
+
+    /**
+     * Make the frame in the back buffer the newest one, and get a new back buffer to write the next frame into.
+     * Only call this from the writer thread.
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Get the newest published frame. Until something newer is published, the same frame is returned again and
+     * it doesn't change. Only call this from the reader thread.
+     *
+     * @return The frame, one long per row, which must not be modified.
+     */
+    public long[] takeNewest() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+
+        return buffers[front];
+    }
+}
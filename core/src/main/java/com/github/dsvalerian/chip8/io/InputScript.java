@@ -0,0 +1,128 @@
+package com.github.dsvalerian.chip8.io;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A list of key presses and releases, each at a fixed CPU cycle, used to drive an emulator without a keyboard.
+ * Events are kept in cycle order.
+ */
+public final class InputScript {
+    /**
+     * A script without any input.
+     */
+    public static final InputScript EMPTY = new InputScript(new long[0], new int[0], new boolean[0]);
+
+    private final long[] cycles;
+    private final int[] keys;
+    private final boolean[] presses;
+
+    private InputScript(long[] cycles, int[] keys, boolean[] presses) {
+        this.cycles = cycles;
+        this.keys = keys;
+        this.presses = presses;
+    }
+
+    /**
+     * Parse a script with one event per line in the format "cycle key down|up", where the key is a hex digit.
+     * Example: "1200 A down". Blank lines and lines starting with '#' are ignored.
+     *
+     * @param text The script text.
+     * @return A new {@link InputScript}.
+     */
+    public static InputScript parse(String text) {
+        String[] lines = text.split("\n");
+        long[] cycles = new long[lines.length];
+        int[] keys = new int[lines.length];
+        boolean[] presses = new boolean[lines.length];
+        int size = 0;
+
+        for (String line : lines) {
+            line = line.trim();
+
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            String[] parts = line.split("\\s+");
+            if (parts.length != 3 || !(parts[2].equals("down") || parts[2].equals("up"))) {
+                throw new IllegalArgumentException("invalid input script line: " + line);
+            }
+
+            cycles[size] = Long.parseLong(parts[0]);
+            keys[size] = Integer.parseInt(parts[1], 16);
+            presses[size] = parts[2].equals("down");
+
+            if (cycles[size] < 0 || keys[size] < 0 || keys[size] >= 16) {
+                throw new IllegalArgumentException("invalid input script line: " + line);
+            }
+            if (size > 0 && cycles[size] < cycles[size - 1]) {
+                throw new IllegalArgumentException("input script events must be in cycle order: " + line);
+            }
+
+            size++;
+        }
+
+        return new InputScript(Arrays.copyOf(cycles, size), Arrays.copyOf(keys, size),
+                Arrays.copyOf(presses, size));
+    }
+
+    /**
+     * Read and parse a script from a file.
+     *
+     * @param path The {@link Path} to the file.
+     * @return A new {@link InputScript}.
+     * @throws IOException if the file can't be read.
+     */
+    public static InputScript fromFile(Path path) throws IOException {
+        return parse(Files.readString(path));
+    }
+
+    /**
+     * @return The number of events in the script.
+     */
+    public int size() {
+        return cycles.length;
+    }
+
+    /**
+     * @param index The index of an event.
+     * @return The cycle at which the event happens.
+     */
+    public long getCycle(int index) {
+        return cycles[index];
+    }
+
+    /**
+     * @param index The index of an event.
+     * @return The key the event is for, from 0-15 (inclusive).
+     */
+    public int getKey(int index) {
+        return keys[index];
+    }
+
+    /**
+     * @param index The index of an event.
+     * @return True if the event is a press, false if it's a release.
+     */
+    public boolean isPress(int index) {
+        return presses[index];
+    }
+
+    /**
+     * Apply an event to a {@link KeyState}.
+     *
+     * @param index The index of the event.
+     * @param keyState The {@link KeyState} to press or release the key in.
+     */
+    public void apply(int index, KeyState keyState) {
+        if (presses[index]) {
+            keyState.press(keys[index]);
+        }
+        else {
+            keyState.release(keys[index]);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.github.dsvalerian.chip8.io;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Representation of the Chip-8 16-key keypad. Each emulator owns its own {@link KeyState}.
+ *
+ * Keys are stored as a 16-bit mask where bit k is set while key k is down. Any thread, usually the GUI's, may press
+ * and release keys at any time. The emulator thread calls {@link #latch()} once per frame and its instructions only
+ * read the latched mask, so every instruction in a frame sees the same keys and a key that was tapped between two
+ * frames is still seen as pressed for one frame.
+ */
+public class KeyState {
+    /**
+     * The number of bytes written by {@link #writeTo(ByteBuffer)}.
+     */
+    public static final int SNAPSHOT_BYTES = 4;
+
+    private static final int NUM_KEYS = 16;
+
+    private final AtomicInteger keys = new AtomicInteger();
+    private final AtomicInteger pressesSinceLatch = new AtomicInteger();
+    private volatile int lastKeyPressed = -1;
+
+    // Only touched by the emulator thread.
+    private int latchedKeys;
+    private int latchedPresses;
+
+    /**
+     * Press a key.
+     * @param k The key to press, from 0-15 (inclusive).
+     */
+    public void press(int k) {
+        if (k >= NUM_KEYS || k < 0) {
+            throw new IllegalArgumentException("Cannot press a key outside of the key space " + NUM_KEYS);
+        }
+
+        keys.accumulateAndGet(1 << k, (current, bit) -> current | bit);
+        pressesSinceLatch.accumulateAndGet(1 << k, (current, bit) -> current | bit);
+        lastKeyPressed = k;
+    }
+
+    /**
+     * Release a key.
+     * @param k The key to release, from 0-15 (inclusive).
+     */
+    public void release(int k) {
+        if (k >= NUM_KEYS || k < 0) {
+            throw new IllegalArgumentException("Cannot release a key outside of the key space " + NUM_KEYS);
+        }
+
+        keys.accumulateAndGet(~(1 << k), (current, mask) -> current & mask);
+    }
+
+    /**
+     * Check if a key is pressed right now, regardless of what was latched.
+     * @param k The key to check.
+     * @return True if key k is pressed.
+     */
+    public boolean isPressed(int k) {
+        if (k >= NUM_KEYS || k < 0) {
+            throw new IllegalArgumentException("Cannot release a key outside of the key space " + NUM_KEYS);
+        }
+
+        return (keys.get() >>> k & 1) != 0;
+    }
+
+    /**
+     * @return The value of the last key that was pressed.
+     */
+    public int getLastKeyPressed() {
+        return lastKeyPressed;
+    }
+
+    /**
+     * Take a snapshot of the keys for the emulator to read until the next call. A key counts as pressed in the
+     * snapshot if it is down now or was pressed at any point since the previous snapshot.
+     */
+    public void latch() {
+        latchedPresses = pressesSinceLatch.getAndSet(0);
+        latchedKeys = keys.get() | latchedPresses;
+    }
+
+    /**
+     * @return The latched keys, where bit k is set if key k was pressed.
+     */
+    public int readLatched() {
+        return latchedKeys;
+    }
+
+    /**
+     * @return The keys that were pressed since the snapshot before the latest one and haven't been taken yet, where
+     * bit k is set for key k.
+     */
+    public int readLatchedPresses() {
+        return latchedPresses;
+    }
+
+    /**
+     * Replace the latched snapshot instead of taking it from the live keys, for example to replay recorded input.
+     *
+     * @param keys The keys to latch as pressed, where bit k is set for key k.
+     * @param presses The keys to latch as newly pressed.
+     */
+    public void setLatched(int keys, int presses) {
+        latchedKeys = keys & 0xFFFF;
+        latchedPresses = presses & 0xFFFF;
+    }
+
+    /**
+     * Take one key press from the latched snapshot, so that each press is only taken once.
+     *
+     * @return The lowest key that was pressed since the snapshot before the latest one, or -1 if there isn't one.
+     */
+    public int takeLatchedPress() {
+        if (latchedPresses == 0) {
+            return -1;
+        }
+
+        int k = Integer.numberOfTrailingZeros(latchedPresses);
+        latchedPresses &= latchedPresses - 1;
+        return k;
+    }
+
+    /**
+     * Write the latched keys and presses to a buffer, at its current position. The live keys belong to whoever is
+     * pressing them, so they aren't part of the snapshot.
+     *
+     * @param buffer The buffer to write {@link #SNAPSHOT_BYTES} bytes to.
+     */
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putShort((short)latchedKeys).putShort((short)latchedPresses);
+    }
+
+    /**
+     * Replace the latched keys and presses with ones written by {@link #writeTo(ByteBuffer)}.
+     *
+     * @param buffer The buffer to read {@link #SNAPSHOT_BYTES} bytes from, at its current position.
+     */
+    public void readFrom(ByteBuffer buffer) {
+        latchedKeys = buffer.getShort() & 0xFFFF;
+        latchedPresses = buffer.getShort() & 0xFFFF;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder()
+                .append("Keys: [");
+        int current = keys.get();
+
+        for (int i = 0; i < NUM_KEYS; i++) {
+            builder.append((current >>> i & 1) != 0);
+
+            if (i != NUM_KEYS - 1) {
+                builder.append(", ");
+            }
+        }
+
+        builder.append("]");
+
+        return builder.toString();
+    }
+}
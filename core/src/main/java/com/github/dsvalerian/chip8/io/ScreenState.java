@@ -0,0 +1,174 @@
+package com.github.dsvalerian.chip8.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Represents a Chip-8 screen. Handles setting and reading pixels. Since the screen is exactly 64 pixels wide, each
+ * row is stored as a single long so sprites can be drawn a whole row at a time. Rows that change are remembered
+ * until {@link #takeDirtyRows()} is called, so whatever shows the screen only has to redraw those.
+ */
+public class ScreenState {
+    /**
+     * The width of the screen.
+     */
+    public static final int WIDTH = 64;
+    /**
+     * The height of the screen.
+     */
+    public static final int HEIGHT = 32;
+    /**
+     * The number of bytes written by {@link #writeTo(ByteBuffer)}.
+     */
+    public static final int SNAPSHOT_BYTES = HEIGHT * Long.BYTES;
+
+    private static final int ROW_MASK = HEIGHT - 1;
+    private static final int COLUMN_MASK = WIDTH - 1;
+    private static final int SPRITE_WIDTH = 8;
+
+    /**
+     * One long per row. The pixel in column x of a row is bit (63 - x), so the leftmost pixel is the sign bit.
+     */
+    private final long[] rows = new long[HEIGHT];
+
+    /**
+     * Bit y is set if row y may have changed since the last call to {@link #takeDirtyRows()}.
+     */
+    private int dirtyRows = -1;
+
+    /**
+     * Set a pixel at (x, y) to either active or inactive.
+     *
+     * @param x The column in the screen.
+     * @param y The row in the screen.
+     * @param pixel Pixel.ACTIVE or Pixel.INACTIVE.
+     */
+    public void setPixel(int x, int y, Pixel pixel) {
+        if (x >= WIDTH || x < 0 || y >= HEIGHT || y < 0) {
+            throw new IllegalArgumentException("Cannot set a pixel outside of the screen space " +
+                    WIDTH + " * " + HEIGHT + ".");
+        }
+
+        long bit = Long.MIN_VALUE >>> x;
+
+        if (pixel == Pixel.ACTIVE) {
+            rows[y] |= bit;
+        }
+        else {
+            rows[y] &= ~bit;
+        }
+
+        dirtyRows |= 1 << y;
+    }
+
+    /**
+     * @param x The column in the screen.
+     * @param y The row in the screen.
+     * @return 1 if the pixel at (x, y) is active, 0 otherwise.
+     */
+    public Pixel readPixel(int x, int y) {
+        if (x >= WIDTH || x < 0 || y >= HEIGHT || y < 0) {
+            throw new IllegalArgumentException("Cannot get a pixel outside of the screen space " +
+                    WIDTH + " * " + HEIGHT);
+        }
+
+        return (rows[y] & (Long.MIN_VALUE >>> x)) != 0 ? Pixel.ACTIVE : Pixel.INACTIVE;
+    }
+
+    /**
+     * Read a whole row of pixels at once.
+     *
+     * @param y The row in the screen.
+     * @return The row, where the pixel in column x is bit (63 - x).
+     */
+    public long readRow(int y) {
+        return rows[y & ROW_MASK];
+    }
+
+    /**
+     * XOR one 8-pixel row of a sprite onto the screen. Coordinates wrap around the edges of the screen.
+     *
+     * @param x The column of the leftmost sprite pixel.
+     * @param y The row to draw to.
+     * @param spriteRow The 8 sprite pixels, most significant bit on the left.
+     * @return True if any pixel that was active got deactivated.
+     */
+    public boolean drawSpriteRow(int x, int y, int spriteRow) {
+        long sprite = Long.rotateRight((long)(spriteRow & 0xFF) << (WIDTH - SPRITE_WIDTH), x & COLUMN_MASK);
+        int row = y & ROW_MASK;
+        long old = rows[row];
+
+        rows[row] = old ^ sprite;
+
+        if (sprite != 0) {
+            dirtyRows |= 1 << row;
+        }
+
+        return (old & sprite) != 0;
+    }
+
+    /**
+     * Deactivate every pixel in the screen.
+     */
+    public void clear() {
+        for (int y = 0; y < HEIGHT; y++) {
+            if (rows[y] != 0) {
+                rows[y] = 0;
+                dirtyRows |= 1 << y;
+            }
+        }
+    }
+
+    /**
+     * Get the rows that may have changed since the last call, and start over with none. Every row counts as
+     * changed before the first call.
+     *
+     * @return A mask where bit y is set if row y may have changed.
+     */
+    public int takeDirtyRows() {
+        int dirty = dirtyRows;
+        dirtyRows = 0;
+        return dirty;
+    }
+
+    /**
+     * Write every row to a buffer, at its current position.
+     *
+     * @param buffer The buffer to write {@link #SNAPSHOT_BYTES} bytes to.
+     */
+    public void writeTo(ByteBuffer buffer) {
+        for (int y = 0; y < HEIGHT; y++) {
+            buffer.putLong(rows[y]);
+        }
+    }
+
+    /**
+     * Replace every row with ones written by {@link #writeTo(ByteBuffer)}.
+     *
+     * @param buffer The buffer to read {@link #SNAPSHOT_BYTES} bytes from, at its current position.
+     */
+    public void readFrom(ByteBuffer buffer) {
+        for (int y = 0; y < HEIGHT; y++) {
+            long row = buffer.getLong();
+
+            if (row != rows[y]) {
+                rows[y] = row;
+                dirtyRows |= 1 << y;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+
+        for (int i = 0; i < HEIGHT; i++) {
+            for (int j = 0; j < WIDTH; j++) {
+                builder.append(readPixel(j, i) == Pixel.ACTIVE ? "0" : ".")
+                        .append(" ");
+            }
+            builder.append("\n");
+        }
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.dsvalerian.chip8.movie;
+
+import com.github.dsvalerian.chip8.cpu.CPUSpeed;
+import com.github.dsvalerian.chip8.io.KeyState;
+
+import java.util.Arrays;
+
+/**
+ * Records what a {@link KeyState} latched and the {@link CPUSpeed} on each frame, keeping only the frames where
+ * they changed, so the session can be saved as a {@link Movie}.
+ */
+public class InputRecorder {
+    private final long seed;
+    private final long romHash;
+
+    private long[] frames = new long[64];
+    private int[] keys = new int[64];
+    private int[] presses = new int[64];
+    private int size;
+
+    private int lastKeys;
+    private int lastPresses;
+
+    private long[] speedFrames = new long[4];
+    private CPUSpeed[] speeds = new CPUSpeed[4];
+    private int speedChanges;
+
+    /**
+     * Create a new {@link InputRecorder}.
+     *
+     * @param seed The random number seed of the session being recorded.
+     * @param romHash The {@link com.github.dsvalerian.chip8.farm.StateHash} of the ROM being run.
+     */
+    public InputRecorder(long seed, long romHash) {
+        this.seed = seed;
+        this.romHash = romHash;
+    }
+
+    /**
+     * Record what was latched for a frame. Call this right after the keys are latched, before the frame runs.
+     *
+     * @param frame The frame number, counting from 0 at the start of the session.
+     * @param keyState The keys that were latched.
+     */
+    public void record(long frame, KeyState keyState) {
+        int latchedKeys = keyState.readLatched();
+        int latchedPresses = keyState.readLatchedPresses();
+
+        if (latchedKeys == lastKeys && latchedPresses == lastPresses) {
+            return;
+        }
+
+        if (size == frames.length) {
+            frames = Arrays.copyOf(frames, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+            presses = Arrays.copyOf(presses, size * 2);
+        }
+
+        frames[size] = frame;
+        keys[size] = latchedKeys;
+        presses[size] = latchedPresses;
+        size++;
+        lastKeys = latchedKeys;
+        lastPresses = latchedPresses;
+    }
+
+    /**
+     * Record the CPU speed a frame runs at. The speed of the first frame is always recorded, so the movie doesn't
+     * depend on the speed an emulator starts at.
+     *
+     * @param frame The frame number, counting from 0 at the start of the session.
+     * @param speed The CPU speed of the frame.
+     */
+    public void recordSpeed(long frame, CPUSpeed speed) {
+        if (speedChanges > 0 && speeds[speedChanges - 1] == speed) {
+            return;
+        }
+
+        if (speedChanges == speeds.length) {
+            speedFrames = Arrays.copyOf(speedFrames, speedChanges * 2);
+            speeds = Arrays.copyOf(speeds, speedChanges * 2);
+        }
+
+        speedFrames[speedChanges] = frame;
+        speeds[speedChanges] = speed;
+        speedChanges++;
+    }
+
+    /**
+     * Forget everything recorded on or after a frame, for example after stepping back to it.
+     *
+     * @param frame The first frame to forget.
+     */
+    public void discardFrom(long frame) {
+        while (size > 0 && frames[size - 1] >= frame) {
+            size--;
+        }
+
+        lastKeys = size > 0 ? keys[size - 1] : 0;
+        lastPresses = size > 0 ? presses[size - 1] : 0;
+
+        while (speedChanges > 0 && speedFrames[speedChanges - 1] >= frame) {
+            speedChanges--;
+        }
+    }
+
+    /**
+     * @return The number of changes recorded so far.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Make a {@link Movie} out of what was recorded.
+     *
+     * @param frameCount The number of frames the session lasted.
+     * @return The movie.
+     */
+    public Movie toMovie(long frameCount) {
+        return new Movie(seed, romHash, frameCount, Arrays.copyOf(frames, size), Arrays.copyOf(keys, size),
+                Arrays.copyOf(presses, size), Arrays.copyOf(speedFrames, speedChanges),
+                Arrays.copyOf(speeds, speedChanges));
+    }
+}
@@ -0,0 +1,261 @@
+package com.github.dsvalerian.chip8.movie;
+
+import com.github.dsvalerian.chip8.cpu.CPUSpeed;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A recorded session: the random number seed and ROM it was run with, how many frames it lasted, and every
+ * change to the latched keys and to the {@link CPUSpeed} along with the frame it happened on. Replaying the changes
+ * on the same frames from a fresh start reproduces the session exactly.
+ *
+ * The file format is a header of magic "C8MV", version, seed, ROM hash, frame count and event count, followed by
+ * one event per change: the number of frames since the previous event as a varint, then the latched keys and
+ * latched presses as 16-bit masks. After that comes the number of speed changes and one entry per change: the
+ * number of frames since the previous speed change as a varint, then the {@link CPUSpeed} ordinal as a byte.
+ * Version 1 files have no speed changes, and play at the default speed.
+ */
+public final class Movie {
+    /**
+     * The version of the file format written by this class.
+     */
+    public static final int VERSION = 2;
+
+    // "C8MV"
+    private static final int MAGIC = 0x43384D56;
+
+    private final long seed;
+    private final long romHash;
+    private final long frameCount;
+    private final long[] frames;
+    private final int[] keys;
+    private final int[] presses;
+    private final long[] speedFrames;
+    private final CPUSpeed[] speeds;
+
+    Movie(long seed, long romHash, long frameCount, long[] frames, int[] keys, int[] presses, long[] speedFrames,
+          CPUSpeed[] speeds) {
+        this.seed = seed;
+        this.romHash = romHash;
+        this.frameCount = frameCount;
+        this.frames = frames;
+        this.keys = keys;
+        this.presses = presses;
+        this.speedFrames = speedFrames;
+        this.speeds = speeds;
+    }
+
+    /**
+     * @return The random number seed the session was run with.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return The {@link com.github.dsvalerian.chip8.farm.StateHash} of the ROM the session was run with.
+     */
+    public long getRomHash() {
+        return romHash;
+    }
+
+    /**
+     * @return The number of frames the session lasted.
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @return The number of recorded changes to the latched keys.
+     */
+    public int size() {
+        return frames.length;
+    }
+
+    /**
+     * @param index The index of a change.
+     * @return The frame the change happened on.
+     */
+    public long getFrame(int index) {
+        return frames[index];
+    }
+
+    /**
+     * @param index The index of a change.
+     * @return The latched keys from that frame on, where bit k is set for key k.
+     */
+    public int getKeys(int index) {
+        return keys[index];
+    }
+
+    /**
+     * @param index The index of a change.
+     * @return The latched presses from that frame on, where bit k is set for key k.
+     */
+    public int getPresses(int index) {
+        return presses[index];
+    }
+
+    /**
+     * @return The number of recorded changes to the CPU speed.
+     */
+    public int getSpeedChanges() {
+        return speeds.length;
+    }
+
+    /**
+     * @param index The index of a speed change.
+     * @return The frame the speed change happened on.
+     */
+    public long getSpeedFrame(int index) {
+        return speedFrames[index];
+    }
+
+    /**
+     * @param index The index of a speed change.
+     * @return The CPU speed from that frame on.
+     */
+    public CPUSpeed getSpeed(int index) {
+        return speeds[index];
+    }
+
+    /**
+     * Write the movie to a file.
+     *
+     * @param path The file to write.
+     * @throws IOException If the file can't be written.
+     */
+    public void save(Path path) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(seed);
+        out.writeLong(romHash);
+        out.writeLong(frameCount);
+        out.writeInt(frames.length);
+        long previous = 0;
+
+        for (int i = 0; i < frames.length; i++) {
+            writeVarint(out, frames[i] - previous);
+            out.writeShort(keys[i]);
+            out.writeShort(presses[i]);
+            previous = frames[i];
+        }
+
+        out.writeInt(speeds.length);
+        previous = 0;
+
+        for (int i = 0; i < speeds.length; i++) {
+            writeVarint(out, speedFrames[i] - previous);
+            out.writeByte(speeds[i].ordinal());
+            previous = speedFrames[i];
+        }
+
+        out.flush();
+        Files.write(path, bytes.toByteArray());
+    }
+
+    /**
+     * Read a movie written by {@link #save(Path)}.
+     *
+     * @param path The file to read.
+     * @return The movie.
+     * @throws IOException If the file can't be read or isn't a movie of this or an earlier version.
+     */
+    public static Movie load(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(path + " is not an input movie.");
+            }
+
+            int version = in.readInt();
+
+            if (version < 1 || version > VERSION) {
+                throw new IOException(path + " is a version " + version + " movie, expected version " + VERSION);
+            }
+
+            long seed = in.readLong();
+            long romHash = in.readLong();
+            long frameCount = in.readLong();
+            int size = in.readInt();
+
+            if (size < 0) {
+                throw new IOException(path + " has a negative number of events.");
+            }
+
+            long[] frames = new long[size];
+            int[] keys = new int[size];
+            int[] presses = new int[size];
+            long frame = 0;
+
+            for (int i = 0; i < size; i++) {
+                frame += readVarint(in);
+                frames[i] = frame;
+                keys[i] = in.readUnsignedShort();
+                presses[i] = in.readUnsignedShort();
+            }
+
+            int speedChanges = version < 2 ? 0 : in.readInt();
+
+            if (speedChanges < 0) {
+                throw new IOException(path + " has a negative number of speed changes.");
+            }
+
+            long[] speedFrames = new long[speedChanges];
+            CPUSpeed[] speeds = new CPUSpeed[speedChanges];
+            CPUSpeed[] allSpeeds = CPUSpeed.values();
+            frame = 0;
+
+            for (int i = 0; i < speedChanges; i++) {
+                frame += readVarint(in);
+                speedFrames[i] = frame;
+                int speed = in.readUnsignedByte();
+
+                if (speed >= allSpeeds.length) {
+                    throw new IOException(path + " has an unknown CPU speed " + speed + ".");
+                }
+
+                speeds[i] = allSpeeds[speed];
+            }
+
+            return new Movie(seed, romHash, frameCount, frames, keys, presses, speedFrames, speeds);
+        }
+    }
+
+    private static void writeVarint(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int)(value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        out.write((int)value);
+    }
+
+    private static long readVarint(InputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+
+        do {
+            b = in.read();
+
+            if (b < 0 || shift > 63) {
+                throw new IOException("Movie ends in the middle of an event.");
+            }
+
+            value |= (long)(b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+
+        return value;
+    }
+}
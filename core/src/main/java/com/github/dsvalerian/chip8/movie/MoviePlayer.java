@@ -0,0 +1,70 @@
+package com.github.dsvalerian.chip8.movie;
+
+import com.github.dsvalerian.chip8.cpu.CPUSpeed;
+import com.github.dsvalerian.chip8.io.KeyState;
+
+/**
+ * Feeds the key changes of a {@link Movie} back into a {@link KeyState} on the frames they were recorded on, in
+ * place of latching the live keys, and gives the {@link CPUSpeed} each frame was recorded at.
+ */
+public class MoviePlayer {
+    private final Movie movie;
+    private int next;
+    private long lastFrame = -1;
+    private int currentKeys;
+    private int currentPresses;
+
+    /**
+     * Create a new {@link MoviePlayer}.
+     *
+     * @param movie The movie to play.
+     */
+    public MoviePlayer(Movie movie) {
+        this.movie = movie;
+    }
+
+    /**
+     * Latch the recorded keys for a frame.
+     *
+     * @param frame The frame number, counting from 0 at the start of the session.
+     * @param keyState The keys to latch into.
+     */
+    public void apply(long frame, KeyState keyState) {
+        if (frame <= lastFrame) {
+            // Stepped back, so find the state for this frame from the start again.
+            next = 0;
+            currentKeys = 0;
+            currentPresses = 0;
+        }
+
+        while (next < movie.size() && movie.getFrame(next) <= frame) {
+            currentKeys = movie.getKeys(next);
+            currentPresses = movie.getPresses(next);
+            next++;
+        }
+
+        lastFrame = frame;
+        keyState.setLatched(currentKeys, currentPresses);
+    }
+
+    /**
+     * @param frame The frame number, counting from 0 at the start of the session.
+     * @return The CPU speed the frame was recorded at, or null if the movie has no speed for it.
+     */
+    public CPUSpeed getSpeed(long frame) {
+        CPUSpeed speed = null;
+
+        for (int i = 0; i < movie.getSpeedChanges() && movie.getSpeedFrame(i) <= frame; i++) {
+            speed = movie.getSpeed(i);
+        }
+
+        return speed;
+    }
+
+    /**
+     * @return The movie being played.
+     */
+    public Movie getMovie() {
+        return movie;
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.dsvalerian.chip8.movie;
+
+import com.github.dsvalerian.chip8.Emulator;
+import com.github.dsvalerian.chip8.FrameSink;
+import com.github.dsvalerian.chip8.data.ROM;
+import com.github.dsvalerian.chip8.farm.StateHash;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Replays a recorded {@link Movie} without a window, as fast as possible.
+ */
+public final class MovieReplay {
+    private MovieReplay() {
+        // Only static helpers.
+    }
+
+    /**
+     * Run a ROM from a fresh start with the input and seed of a movie, for as many frames as were recorded.
+     *
+     * @param rom The ROM the movie was recorded with.
+     * @param movie The movie to replay.
+     * @return The emulator, stopped at the end of the movie.
+     */
+    public static Emulator replay(ROM rom, Movie movie) {
+        Emulator emulator = new Emulator(rom, FrameSink.NONE, movie.getSeed());
+        emulator.playMovie(movie);
+        emulator.runFrames((int)Math.min(Integer.MAX_VALUE, movie.getFrameCount()));
+        return emulator;
+    }
+
+    /**
+     * Replay a movie and print where it ended up.
+     *
+     * @param args The ROM file and the movie file.
+     * @throws IOException If either file can't be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: MovieReplay <rom> <movie>");
+            System.exit(1);
+        }
+
+        ROM rom = ROM.fromFile(Path.of(args[0]));
+        Movie movie = Movie.load(Path.of(args[1]));
+        long start = System.nanoTime();
+        Emulator emulator = replay(rom, movie);
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("frames=%d cycles=%d screen=%016x time=%.1fms%n", emulator.getFrame(),
+                emulator.getCpu().getCycles(), StateHash.of(emulator.getScreenState()), elapsed / 1e6);
+    }
+}
@@ -0,0 +1,152 @@
+package com.github.dsvalerian.chip8.probe;
+
+import com.github.dsvalerian.chip8.cpu.CPU;
+import com.github.dsvalerian.chip8.cpu.CPUState;
+import com.github.dsvalerian.chip8.cpu.ExecutionProbe;
+import com.github.dsvalerian.chip8.cpu.Opcodes;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An {@link ExecutionProbe} that writes a fixed-size binary record for every instruction into a memory-mapped
+ * file, for comparing runs that should have behaved the same. The file holds a set number of records and wraps
+ * around once it is full, so it always has the most recent ones. Writing a record allocates nothing and costs a
+ * few stores into the mapping, which the operating system writes out in the background. Read traces back with
+ * {@link TraceReader}.
+ *
+ * The file format is a header of magic "C8TR", version, capacity, record size and the total number of records
+ * written, followed by the records. Each record is the CPU cycle the instruction ran on, as counted by
+ * {@link CPU#getCycles()}, the address and the instruction, I, a mask of the registers the instruction wrote to,
+ * and V0 to VF as the instruction left them.
+ */
+public class ExecutionTracer implements ExecutionProbe, Closeable {
+    /**
+     * The version of the file format written by this class.
+     */
+    public static final int VERSION = 2;
+    /**
+     * The number of bytes in each record.
+     */
+    public static final int RECORD_BYTES = 32;
+
+    // "C8TR"
+    static final int MAGIC = 0x43385452;
+    static final int HEADER_BYTES = 24;
+    static final int WRITTEN_OFFSET = 16;
+
+    private static final int VF = 1 << 0xF;
+
+    private static final boolean[] STORES_VX = new boolean[Opcodes.COUNT];
+    private static final boolean[] STORES_VF = new boolean[Opcodes.COUNT];
+
+    static {
+        for (int opcode : new int[] {Opcodes.LD_VX_BYTE, Opcodes.ADD_VX_BYTE, Opcodes.LD_VX_VY, Opcodes.OR,
+                Opcodes.AND, Opcodes.XOR, Opcodes.ADD_VX_VY, Opcodes.SUB, Opcodes.SHR, Opcodes.SUBN, Opcodes.SHL,
+                Opcodes.RND, Opcodes.LD_VX_DT, Opcodes.LD_VX_K}) {
+            STORES_VX[opcode] = true;
+        }
+
+        for (int opcode : new int[] {Opcodes.ADD_VX_VY, Opcodes.SUB, Opcodes.SHR, Opcodes.SUBN, Opcodes.SHL,
+                Opcodes.DRW}) {
+            STORES_VF[opcode] = true;
+        }
+    }
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private long written;
+    private int offset = HEADER_BYTES;
+
+    /**
+     * Create a new {@link ExecutionTracer}, replacing the file if it already exists.
+     *
+     * @param path The file to trace into.
+     * @param capacity The number of records the file holds before it wraps around.
+     * @throws IOException If the file can't be created or mapped.
+     */
+    public ExecutionTracer(Path path, int capacity) throws IOException {
+        if (capacity <= 0 || capacity > (Integer.MAX_VALUE - HEADER_BYTES) / RECORD_BYTES) {
+            throw new IllegalArgumentException("A trace can hold 1 to " +
+                    (Integer.MAX_VALUE - HEADER_BYTES) / RECORD_BYTES + " records, not " + capacity + ".");
+        }
+
+        this.capacity = capacity;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long)capacity * RECORD_BYTES);
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, capacity).putInt(12, RECORD_BYTES)
+                .putLong(WRITTEN_OFFSET, 0);
+    }
+
+    /**
+     * Attach with {@link CPU#setProbe(ExecutionProbe)} rather than calling this directly.
+     */
+    @Override
+    public void onInstruction(long cycle, int address, int instruction, int opcode, CPUState state) {
+        buffer.putLong(offset, cycle);
+        buffer.putShort(offset + 8, (short)address);
+        buffer.putShort(offset + 10, (short)instruction);
+        buffer.putShort(offset + 12, (short)state.readI());
+        buffer.putShort(offset + 14, (short)writtenRegisters(instruction, opcode));
+        buffer.putLong(offset + 16, registers(state, 0));
+        buffer.putLong(offset + 24, registers(state, 8));
+        written++;
+        buffer.putLong(WRITTEN_OFFSET, written);
+
+        offset += RECORD_BYTES;
+
+        if (offset == buffer.capacity()) {
+            offset = HEADER_BYTES;
+        }
+    }
+
+    /**
+     * @return A mask with a bit set for each register the instruction writes to, where bit x stands for Vx.
+     */
+    static int writtenRegisters(int instruction, int opcode) {
+        int x = (instruction >> 8) & 0xF;
+
+        if (opcode == Opcodes.LD_VX_MEM) {
+            return (2 << x) - 1;
+        }
+
+        return (STORES_VX[opcode] ? 1 << x : 0) | (STORES_VF[opcode] ? VF : 0);
+    }
+
+    /**
+     * @return Eight registers from a first one, packed into a long with the first one in the highest byte.
+     */
+    private static long registers(CPUState state, int first) {
+        long packed = 0;
+
+        for (int x = first; x < first + 8; x++) {
+            packed = (packed << 8) | state.readV(x);
+        }
+
+        return packed;
+    }
+
+    /**
+     * @return The number of records written so far, including any that have been overwritten.
+     */
+    public long getRecordsWritten() {
+        return written;
+    }
+
+    /**
+     * Flush the records to the file and close it. Detach the tracer from its CPU first.
+     *
+     * @throws IOException If closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
@@ -0,0 +1,164 @@
+package com.github.dsvalerian.chip8.probe;
+
+import com.github.dsvalerian.chip8.cpu.CPU;
+import com.github.dsvalerian.chip8.cpu.CPUState;
+import com.github.dsvalerian.chip8.cpu.ExecutionProbe;
+import com.github.dsvalerian.chip8.cpu.Opcodes;
+
+import java.util.Arrays;
+
+/**
+ * An {@link ExecutionProbe} that counts what a program does: how often each kind of instruction runs, how many
+ * sprite pixels are drawn and how often drawing collides, how deep the stack gets and how often skips are taken.
+ * Attach it with {@link CPU#setProbe(ExecutionProbe)} and detach it again to stop counting.
+ */
+public class InstructionMetrics implements ExecutionProbe {
+    private final long[] counts = new long[Opcodes.COUNT];
+    private long total;
+    private long drawnPixels;
+    private long collisions;
+    private long skipsTaken;
+    private int stackHighWater;
+
+    @Override
+    public void onInstruction(long cycle, int address, int instruction, int opcode, CPUState state) {
+        counts[opcode]++;
+        total++;
+
+        switch (opcode) {
+            case Opcodes.DRW:
+                // I and the sprite bytes are left as they were, so the drawn sprite can be read back afterwards.
+                for (int i = 0; i < (instruction & 0xF); i++) {
+                    drawnPixels += Integer.bitCount(state.readMemory(state.readI() + i));
+                }
+
+                if (state.readV(0xF) != 0) {
+                    collisions++;
+                }
+                break;
+            case Opcodes.SE_VX_BYTE:
+            case Opcodes.SNE_VX_BYTE:
+            case Opcodes.SE_VX_VY:
+            case Opcodes.SNE_VX_VY:
+            case Opcodes.SKP:
+            case Opcodes.SKNP:
+                if (state.readPc() != address + 2) {
+                    skipsTaken++;
+                }
+                break;
+            case Opcodes.CALL:
+                stackHighWater = Math.max(stackHighWater, state.readSp());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * @param opcode An identifier from {@link Opcodes}.
+     * @return The number of times instructions of that kind were run.
+     */
+    public long getCount(int opcode) {
+        if (opcode < 0 || opcode >= Opcodes.COUNT) {
+            throw new IllegalArgumentException("Unknown opcode " + opcode + ".");
+        }
+
+        return counts[opcode];
+    }
+
+    /**
+     * @return The number of instructions that were run.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return The number of DRW instructions that were run.
+     */
+    public long getDraws() {
+        return counts[Opcodes.DRW];
+    }
+
+    /**
+     * @return The number of set sprite pixels that were drawn, whether they turned pixels on or off.
+     */
+    public long getDrawnPixels() {
+        return drawnPixels;
+    }
+
+    /**
+     * @return The number of DRW instructions that erased at least one pixel.
+     */
+    public long getCollisions() {
+        return collisions;
+    }
+
+    /**
+     * @return The fraction of DRW instructions that erased at least one pixel, or 0 if nothing was drawn.
+     */
+    public double getCollisionRate() {
+        return ratio(collisions, getDraws());
+    }
+
+    /**
+     * @return The deepest the stack got after a CALL.
+     */
+    public int getStackHighWater() {
+        return stackHighWater;
+    }
+
+    /**
+     * @return The number of conditional skip instructions that were run.
+     */
+    public long getSkips() {
+        return counts[Opcodes.SE_VX_BYTE] + counts[Opcodes.SNE_VX_BYTE] + counts[Opcodes.SE_VX_VY] +
+                counts[Opcodes.SNE_VX_VY] + counts[Opcodes.SKP] + counts[Opcodes.SKNP];
+    }
+
+    /**
+     * @return The number of conditional skip instructions that skipped the next instruction.
+     */
+    public long getSkipsTaken() {
+        return skipsTaken;
+    }
+
+    /**
+     * @return The fraction of conditional skip instructions that skipped the next instruction, or 0 if none ran.
+     */
+    public double getSkipTakenRatio() {
+        return ratio(skipsTaken, getSkips());
+    }
+
+    /**
+     * Set every counter back to 0.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        drawnPixels = 0;
+        collisions = 0;
+        skipsTaken = 0;
+        stackHighWater = 0;
+    }
+
+    private static double ratio(long count, long of) {
+        return of == 0 ? 0 : (double)count / of;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+
+        for (int opcode = 0; opcode < Opcodes.COUNT; opcode++) {
+            if (counts[opcode] != 0) {
+                builder.append(String.format("%-10s %12d  %5.1f%%%n", Opcodes.nameOf(opcode), counts[opcode],
+                        100.0 * counts[opcode] / total));
+            }
+        }
+
+        builder.append(String.format("pixels drawn %d, collision rate %.3f, stack high-water %d, " +
+                "skips taken %.3f", drawnPixels, getCollisionRate(), stackHighWater, getSkipTakenRatio()));
+        return builder.toString();
+    }
+}
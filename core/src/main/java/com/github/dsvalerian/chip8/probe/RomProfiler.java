@@ -0,0 +1,55 @@
+package com.github.dsvalerian.chip8.probe;
+
+import com.github.dsvalerian.chip8.Emulator;
+import com.github.dsvalerian.chip8.FrameSink;
+import com.github.dsvalerian.chip8.data.ROM;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Profiles a ROM's subroutines without a window, at the configured cycle rate but as fast as possible.
+ */
+public final class RomProfiler {
+    private RomProfiler() {
+        // Only static helpers.
+    }
+
+    /**
+     * Run a ROM from a fresh start with no input and a {@link SubroutineProfiler} attached.
+     *
+     * @param rom The ROM to run.
+     * @param frames The number of 60hz frames to run for.
+     * @return The profiler, holding everything that was counted.
+     */
+    public static SubroutineProfiler profile(ROM rom, int frames) {
+        Emulator emulator = new Emulator(rom, FrameSink.NONE, 0);
+        SubroutineProfiler profiler = new SubroutineProfiler();
+        emulator.getCpu().setProbe(profiler);
+        emulator.runFrames(frames);
+        return profiler;
+    }
+
+    /**
+     * Profile a ROM, print a table of its subroutines and write collapsed stacks for a flame graph.
+     *
+     * @param args The ROM file, the number of frames to run and the file to write collapsed stacks to.
+     * @throws IOException If the ROM can't be read or the stacks can't be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: RomProfiler <rom> <frames> <collapsed stacks output>");
+            System.exit(1);
+        }
+
+        SubroutineProfiler profiler = profile(ROM.fromFile(Path.of(args[0])), Integer.parseInt(args[1]));
+
+        try (Writer writer = Files.newBufferedWriter(Path.of(args[2]))) {
+            profiler.writeCollapsedStacks(writer);
+        }
+
+        System.out.print(profiler);
+    }
+}
@@ -0,0 +1,282 @@
+package com.github.dsvalerian.chip8.probe;
+
+import com.github.dsvalerian.chip8.cpu.CPU;
+import com.github.dsvalerian.chip8.cpu.CPUState;
+import com.github.dsvalerian.chip8.cpu.ExecutionProbe;
+import com.github.dsvalerian.chip8.cpu.Opcodes;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * An {@link ExecutionProbe} that follows CALL and RET with a shadow call stack and charges every instruction to the
+ * subroutine it ran in. Attach it with {@link CPU#setProbe(ExecutionProbe)}.
+ * <p>
+ * Every distinct call path gets a node in a tree, and each instruction only adds to the count of the node that is
+ * currently running, so the cost per instruction stays constant. Inclusive counts and collapsed stacks are worked
+ * out from the tree when they are asked for.
+ */
+public class SubroutineProfiler implements ExecutionProbe {
+    /**
+     * The address used for code that runs outside of any subroutine.
+     */
+    public static final int MAIN = -1;
+
+    private static final int ROOT = 0;
+    private static final int INITIAL_NODES = 64;
+
+    // One entry per call path, where a node's routine was called from its parent's.
+    private int[] parents = new int[INITIAL_NODES];
+    private int[] routines = new int[INITIAL_NODES];
+    private long[] selfCycles = new long[INITIAL_NODES];
+    private long[] calls = new long[INITIAL_NODES];
+    // The last call made from each node, since most call sites go to the same place every time.
+    private int[] lastCalled = new int[INITIAL_NODES];
+    private int[] lastChild = new int[INITIAL_NODES];
+    private int nodes;
+
+    // Open addressing table from a parent node and a routine to the child node, so finding a call path never
+    // allocates. A node of 0 marks an empty slot, since the root is never anyone's child.
+    private long[] childKeys = new long[INITIAL_NODES * 2];
+    private int[] childNodes = new int[INITIAL_NODES * 2];
+
+    private int current;
+
+    /**
+     * Create a new {@link SubroutineProfiler} with nothing counted yet.
+     */
+    public SubroutineProfiler() {
+        reset();
+    }
+
+    @Override
+    public void onInstruction(long cycle, int address, int instruction, int opcode, CPUState state) {
+        selfCycles[current]++;
+
+        if (opcode == Opcodes.CALL) {
+            int routine = instruction & 0xFFF;
+            int caller = current;
+            current = lastCalled[caller] == routine ? lastChild[caller] : child(caller, routine);
+            calls[current]++;
+        }
+        else if (opcode == Opcodes.RET && current != ROOT) {
+            current = parents[current];
+        }
+    }
+
+    /**
+     * @return The number of instructions that were run while profiling.
+     */
+    public long getTotalCycles() {
+        long total = 0;
+
+        for (int node = 0; node < nodes; node++) {
+            total += selfCycles[node];
+        }
+
+        return total;
+    }
+
+    /**
+     * @return The addresses of every subroutine that was called, in order.
+     */
+    public SortedSet<Integer> getRoutines() {
+        SortedSet<Integer> result = new TreeSet<>();
+
+        for (int node = 1; node < nodes; node++) {
+            result.add(routines[node]);
+        }
+
+        return result;
+    }
+
+    /**
+     * @param routine The address of a subroutine, or {@link #MAIN}.
+     * @return The number of times the subroutine was called.
+     */
+    public long getCalls(int routine) {
+        long total = 0;
+
+        for (int node = 1; node < nodes; node++) {
+            if (routines[node] == routine) {
+                total += calls[node];
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * @param routine The address of a subroutine, or {@link #MAIN}.
+     * @return The number of instructions that were run in the subroutine itself, up to and including its RET.
+     */
+    public long getExclusiveCycles(int routine) {
+        long total = 0;
+
+        for (int node = 0; node < nodes; node++) {
+            if (routines[node] == routine) {
+                total += selfCycles[node];
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * @param routine The address of a subroutine, or {@link #MAIN}.
+     * @return The number of instructions that were run in the subroutine or anything it called. Recursive calls are
+     * only counted once.
+     */
+    public long getInclusiveCycles(int routine) {
+        long total = 0;
+
+        for (int node = 0; node < nodes; node++) {
+            for (int frame = node; frame != -1; frame = parents[frame]) {
+                if (routines[frame] == routine) {
+                    total += selfCycles[node];
+                    break;
+                }
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * Write one line per call path in the collapsed stack format read by flame graph tools, such as
+     * {@code main;0x2A4;0x31C 1200}, where the number is the instructions run with exactly that stack.
+     *
+     * @param out Where to write the lines.
+     * @throws IOException If writing fails.
+     */
+    public void writeCollapsedStacks(Appendable out) throws IOException {
+        StringBuilder line = new StringBuilder();
+
+        for (int node = 0; node < nodes; node++) {
+            if (selfCycles[node] == 0) {
+                continue;
+            }
+
+            line.setLength(0);
+            appendPath(line, node);
+            out.append(line).append(' ').append(Long.toString(selfCycles[node])).append('\n');
+        }
+    }
+
+    /**
+     * Forget everything that was counted, and start again outside of any subroutine.
+     */
+    public void reset() {
+        Arrays.fill(selfCycles, 0);
+        Arrays.fill(calls, 0);
+        Arrays.fill(lastCalled, -1);
+        Arrays.fill(childNodes, 0);
+        parents[ROOT] = -1;
+        routines[ROOT] = MAIN;
+        nodes = 1;
+        current = ROOT;
+    }
+
+    /**
+     * Find the node for a call from a node to a routine, adding it the first time the call is made.
+     */
+    private int child(int parent, int routine) {
+        long key = ((long)parent << 16) | routine;
+        int slot = findSlot(childKeys, childNodes, key);
+        int node = childNodes[slot];
+
+        if (node == 0) {
+            node = addNode(parent, routine);
+            childKeys[slot] = key;
+            childNodes[slot] = node;
+
+            // Keep the table at most half full.
+            if (nodes * 2 > childNodes.length) {
+                growChildren();
+            }
+        }
+
+        lastCalled[parent] = routine;
+        lastChild[parent] = node;
+        return node;
+    }
+
+    /**
+     * @return The slot holding a key, or the empty slot where it would go.
+     */
+    private static int findSlot(long[] keys, int[] values, long key) {
+        int mask = keys.length - 1;
+        int slot = (int)((key * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+
+        while (values[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private void growChildren() {
+        long[] oldKeys = childKeys;
+        int[] oldNodes = childNodes;
+        childKeys = new long[oldKeys.length * 2];
+        childNodes = new int[oldNodes.length * 2];
+
+        for (int i = 0; i < oldNodes.length; i++) {
+            if (oldNodes[i] != 0) {
+                int slot = findSlot(childKeys, childNodes, oldKeys[i]);
+                childKeys[slot] = oldKeys[i];
+                childNodes[slot] = oldNodes[i];
+            }
+        }
+    }
+
+    private int addNode(int parent, int routine) {
+        if (nodes == parents.length) {
+            int capacity = nodes * 2;
+            parents = Arrays.copyOf(parents, capacity);
+            routines = Arrays.copyOf(routines, capacity);
+            selfCycles = Arrays.copyOf(selfCycles, capacity);
+            calls = Arrays.copyOf(calls, capacity);
+            lastCalled = Arrays.copyOf(lastCalled, capacity);
+            lastChild = Arrays.copyOf(lastChild, capacity);
+        }
+
+        parents[nodes] = parent;
+        routines[nodes] = routine;
+        lastCalled[nodes] = -1;
+        return nodes++;
+    }
+
+    private void appendPath(StringBuilder builder, int node) {
+        if (parents[node] != -1) {
+            appendPath(builder, parents[node]);
+            builder.append(';');
+        }
+
+        builder.append(nameOf(routines[node]));
+    }
+
+    private static String nameOf(int routine) {
+        return routine == MAIN ? "main" : String.format("0x%03X", routine);
+    }
+
+    @Override
+    public String toString() {
+        long total = Math.max(1, getTotalCycles());
+        StringBuilder builder = new StringBuilder(String.format("%-8s %10s %14s %7s %14s %7s%n",
+                "routine", "calls", "inclusive", "", "exclusive", ""));
+        SortedSet<Integer> all = new TreeSet<>(getRoutines());
+        all.add(MAIN);
+
+        for (int routine : all) {
+            long inclusive = getInclusiveCycles(routine);
+            long exclusive = getExclusiveCycles(routine);
+            builder.append(String.format("%-8s %10d %14d %6.1f%% %14d %6.1f%%%n", nameOf(routine),
+                    getCalls(routine), inclusive, 100.0 * inclusive / total, exclusive, 100.0 * exclusive / total));
+        }
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,179 @@
+package com.github.dsvalerian.chip8.probe;
+
+import com.github.dsvalerian.chip8.cpu.Decoder;
+import com.github.dsvalerian.chip8.cpu.Opcodes;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads back a trace written by {@link ExecutionTracer}. Records are numbered from the oldest one still in the
+ * file.
+ */
+public class TraceReader {
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final int size;
+    private final int oldest;
+
+    private TraceReader(ByteBuffer buffer, int capacity, long written) {
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.size = (int)Math.min(written, capacity);
+        this.oldest = written > capacity ? (int)(written % capacity) : 0;
+    }
+
+    /**
+     * Open a trace file.
+     *
+     * @param path The file to read.
+     * @return A reader over the records in the file.
+     * @throws IOException If the file can't be read or isn't a trace of this version.
+     */
+    public static TraceReader open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < ExecutionTracer.HEADER_BYTES) {
+                throw new IOException(path + " is not an execution trace.");
+            }
+
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt(0) != ExecutionTracer.MAGIC) {
+                throw new IOException(path + " is not an execution trace.");
+            }
+
+            int version = buffer.getInt(4);
+
+            if (version != ExecutionTracer.VERSION) {
+                throw new IOException(path + " is a version " + version + " trace, expected version " +
+                        ExecutionTracer.VERSION);
+            }
+
+            int capacity = buffer.getInt(8);
+            long written = buffer.getLong(ExecutionTracer.WRITTEN_OFFSET);
+
+            if (capacity <= 0 || buffer.getInt(12) != ExecutionTracer.RECORD_BYTES || written < 0 ||
+                    channel.size() < ExecutionTracer.HEADER_BYTES + (long)capacity * ExecutionTracer.RECORD_BYTES) {
+                throw new IOException(path + " has a damaged header.");
+            }
+
+            return new TraceReader(buffer, capacity, written);
+        }
+    }
+
+    /**
+     * @return The number of records in the file.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index The record number, where 0 is the oldest.
+     * @return The CPU cycle the instruction ran on, as counted by
+     * {@link com.github.dsvalerian.chip8.cpu.CPU#getCycles()} before it ran.
+     */
+    public long getCycle(int index) {
+        return buffer.getLong(offsetOf(index));
+    }
+
+    /**
+     * @param index The record number, where 0 is the oldest.
+     * @return The address the instruction was run from.
+     */
+    public int getPc(int index) {
+        return buffer.getShort(offsetOf(index) + 8) & 0xFFFF;
+    }
+
+    /**
+     * @param index The record number, where 0 is the oldest.
+     * @return The instruction.
+     */
+    public int getInstruction(int index) {
+        return buffer.getShort(offsetOf(index) + 10) & 0xFFFF;
+    }
+
+    /**
+     * @param index The record number, where 0 is the oldest.
+     * @return The value of I after the instruction ran.
+     */
+    public int getI(int index) {
+        return buffer.getShort(offsetOf(index) + 12) & 0xFFFF;
+    }
+
+    /**
+     * @param index The record number, where 0 is the oldest.
+     * @return A mask with a bit set for each register the instruction wrote to, where bit x stands for Vx.
+     */
+    public int getWrittenRegisters(int index) {
+        return buffer.getShort(offsetOf(index) + 14) & 0xFFFF;
+    }
+
+    /**
+     * @param index The record number, where 0 is the oldest.
+     * @param x The register number, from 0 to 0xF.
+     * @return The value of Vx after the instruction ran.
+     */
+    public int getV(int index, int x) {
+        if (x < 0 || x > 0xF) {
+            throw new IllegalArgumentException("There is no register V" + x + ".");
+        }
+
+        return buffer.get(offsetOf(index) + 16 + x) & 0xFF;
+    }
+
+    /**
+     * Print records as text, one per line.
+     *
+     * @param out Where to print.
+     * @param from The first record number to print.
+     * @param count The most records to print.
+     */
+    public void print(PrintStream out, int from, int count) {
+        int end = (int)Math.min(size, (long)from + count);
+
+        for (int i = Math.max(0, from); i < end; i++) {
+            int instruction = getInstruction(i);
+            String name = Opcodes.nameOf(Decoder.opcode(Decoder.decode(instruction)));
+            StringBuilder registers = new StringBuilder();
+
+            for (int x = 0; x <= 0xF; x++) {
+                if ((getWrittenRegisters(i) >> x & 1) != 0) {
+                    registers.append(String.format(" V%X=%02X", x, getV(i, x)));
+                }
+            }
+
+            out.printf("%12d %03X %04X %-10s I=%03X%s%n", getCycle(i), getPc(i), instruction, name, getI(i),
+                    registers);
+        }
+    }
+
+    private int offsetOf(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("Record " + index + " is not in the trace.");
+        }
+
+        return ExecutionTracer.HEADER_BYTES + ((oldest + index) % capacity) * ExecutionTracer.RECORD_BYTES;
+    }
+
+    /**
+     * Print a trace file as text.
+     *
+     * @param args The trace file, and optionally how many of the most recent records to print.
+     * @throws IOException If the file can't be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: TraceReader <trace> [last records]");
+            System.exit(1);
+        }
+
+        TraceReader reader = open(Path.of(args[0]));
+        int count = args.length == 2 ? Integer.parseInt(args[1]) : reader.size();
+        reader.print(System.out, reader.size() - count, count);
+    }
+}
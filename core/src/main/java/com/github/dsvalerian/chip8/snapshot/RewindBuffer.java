@@ -0,0 +1,288 @@
+package com.github.dsvalerian.chip8.snapshot;
+
+import java.util.Arrays;
+
+/**
+ * A bounded history of {@link Snapshot}s, newest last, for stepping a machine backwards.
+ *
+ * Every few frames a whole snapshot is kept as a keyframe. The frames in between are stored as the XOR of the
+ * snapshot against its keyframe, run-length encoded as pairs of "unchanged bytes, changed bytes" counts followed
+ * by the changed bytes. RAM and the screen change very little from one frame to the next, so most deltas are
+ * tens of bytes. Everything lives in one arena allocated up front; once it or the frame limit is full, the oldest
+ * frames are dropped, along with any deltas whose keyframe was dropped.
+ */
+public class RewindBuffer {
+    private final int capacity;
+    private final int keyframeInterval;
+    private final byte[] arena;
+    private final int[] starts;
+    private final int[] lengths;
+    private final long[] keyframes;
+
+    // Frames are numbered in the order they were pushed. The live ones are oldest up to, but not including, newest.
+    private long oldest;
+    private long newest;
+    private int writePosition;
+
+    // A copy of the keyframe that new deltas are encoded against.
+    private final byte[] keyframe = new byte[Snapshot.SIZE];
+    private long keyframeNumber = -1;
+
+    /**
+     * Create a new {@link RewindBuffer}.
+     *
+     * @param capacity The maximum number of frames to keep.
+     * @param keyframeInterval Store a whole snapshot at least once every this many frames.
+     * @param arenaBytes The number of bytes to allocate for the stored frames.
+     */
+    public RewindBuffer(int capacity, int keyframeInterval, int arenaBytes) {
+        if (capacity < 1 || keyframeInterval < 1) {
+            throw new IllegalArgumentException("capacity and keyframe interval must be at least 1");
+        }
+
+        if (arenaBytes < Snapshot.SIZE * 2) {
+            throw new IllegalArgumentException("arena must fit at least two whole snapshots");
+        }
+
+        this.capacity = capacity;
+        this.keyframeInterval = keyframeInterval;
+        arena = new byte[arenaBytes];
+        starts = new int[capacity];
+        lengths = new int[capacity];
+        keyframes = new long[capacity];
+    }
+
+    /**
+     * Add a snapshot as the newest frame, dropping old frames if there isn't room.
+     *
+     * @param snapshot The snapshot to add.
+     */
+    public void push(Snapshot snapshot) {
+        byte[] bytes = snapshot.array();
+
+        if (keyframeNumber < oldest || keyframeNumber >= newest || newest - keyframeNumber >= keyframeInterval) {
+            pushKeyframe(bytes);
+            return;
+        }
+
+        // Encode at the end of the arena and only commit it if it turns out smaller than a keyframe.
+        int position = reserve(Snapshot.SIZE);
+        int end = keyframeNumber < oldest ? -1 : encode(bytes, position);
+
+        if (end < 0) {
+            pushKeyframe(bytes);
+            return;
+        }
+
+        commit(position, end - position, keyframeNumber);
+    }
+
+    /**
+     * Remove the newest frame and copy it into a snapshot.
+     *
+     * @param into The snapshot to copy the frame into.
+     * @return False if there were no frames left.
+     */
+    public boolean pop(Snapshot into) {
+        if (isEmpty()) {
+            return false;
+        }
+
+        newest--;
+        int slot = slot(newest);
+        long key = keyframes[slot];
+        byte[] target = into.array();
+        System.arraycopy(arena, starts[slot(key)], target, 0, Snapshot.SIZE);
+
+        if (key != newest) {
+            decode(starts[slot], starts[slot] + lengths[slot], target);
+        }
+
+        into.markFilled();
+        writePosition = starts[slot];
+        return true;
+    }
+
+    /**
+     * Drop every frame.
+     */
+    public void clear() {
+        oldest = newest;
+        writePosition = 0;
+        keyframeNumber = -1;
+    }
+
+    /**
+     * @return The number of frames held.
+     */
+    public int size() {
+        return (int)(newest - oldest);
+    }
+
+    /**
+     * @return True if there are no frames to step back to.
+     */
+    public boolean isEmpty() {
+        return newest == oldest;
+    }
+
+    /**
+     * @return The number of arena bytes used by the frames held.
+     */
+    public long getUsedBytes() {
+        long used = 0;
+
+        for (long frame = oldest; frame < newest; frame++) {
+            used += lengths[slot(frame)];
+        }
+
+        return used;
+    }
+
+    private void pushKeyframe(byte[] bytes) {
+        int position = reserve(Snapshot.SIZE);
+        System.arraycopy(bytes, 0, arena, position, Snapshot.SIZE);
+        System.arraycopy(bytes, 0, keyframe, 0, Snapshot.SIZE);
+        keyframeNumber = newest;
+        commit(position, Snapshot.SIZE, newest);
+    }
+
+    private void commit(int position, int length, long key) {
+        int slot = slot(newest);
+        starts[slot] = position;
+        lengths[slot] = length;
+        keyframes[slot] = key;
+        writePosition = position + length;
+        newest++;
+    }
+
+    /**
+     * Find room for a frame of up to the given length after the newest frame, dropping the oldest frames that
+     * are in the way.
+     *
+     * @return The arena position to write the frame at.
+     */
+    private int reserve(int length) {
+        if (size() == capacity) {
+            dropOldest();
+        }
+
+        int position = writePosition;
+
+        if (position + length > arena.length) {
+            // Frames never wrap around, so start over at the beginning. The frames left between here and the end
+            // are the oldest ones.
+            while (!isEmpty() && starts[slot(oldest)] >= position) {
+                dropOldest();
+            }
+
+            position = 0;
+        }
+
+        while (!isEmpty() && starts[slot(oldest)] >= position && starts[slot(oldest)] < position + length) {
+            dropOldest();
+        }
+
+        return position;
+    }
+
+    private void dropOldest() {
+        oldest++;
+
+        // Deltas can't be used without their keyframe.
+        while (!isEmpty() && keyframes[slot(oldest)] != oldest) {
+            oldest++;
+        }
+    }
+
+    /**
+     * Write the delta between a snapshot and the current keyframe into the arena.
+     *
+     * @return The arena position after the delta, or -1 if it would be bigger than a whole snapshot.
+     */
+    private int encode(byte[] bytes, int position) {
+        int limit = position + Snapshot.SIZE;
+        int index = 0;
+
+        while (index < Snapshot.SIZE) {
+            int unchanged = Arrays.mismatch(bytes, index, Snapshot.SIZE, keyframe, index, Snapshot.SIZE);
+
+            if (unchanged < 0) {
+                break;
+            }
+
+            int start = index + unchanged;
+            int end = start + 1;
+
+            while (end < Snapshot.SIZE && bytes[end] != keyframe[end]) {
+                end++;
+            }
+
+            if (position + 6 + (end - start) > limit) {
+                return -1;
+            }
+
+            position = writeCount(unchanged, position);
+            position = writeCount(end - start, position);
+
+            for (int i = start; i < end; i++) {
+                arena[position++] = (byte)(bytes[i] ^ keyframe[i]);
+            }
+
+            index = end;
+        }
+
+        return position;
+    }
+
+    private void decode(int position, int end, byte[] target) {
+        int index = 0;
+
+        while (position < end) {
+            int unchanged = readCount(position);
+            position += countLength(unchanged);
+            int changed = readCount(position);
+            position += countLength(changed);
+            index += unchanged;
+
+            for (int i = 0; i < changed; i++) {
+                target[index++] ^= arena[position++];
+            }
+        }
+    }
+
+    /**
+     * Counts are stored 7 bits per byte, low bits first, with the top bit set on every byte but the last.
+     */
+    private int writeCount(int count, int position) {
+        while (count >= 0x80) {
+            arena[position++] = (byte)(count | 0x80);
+            count >>>= 7;
+        }
+
+        arena[position++] = (byte)count;
+        return position;
+    }
+
+    private int readCount(int position) {
+        int count = 0;
+        int shift = 0;
+        int b;
+
+        do {
+            b = arena[position++];
+            count |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+
+        return count;
+    }
+
+    private static int countLength(int count) {
+        return count < 0x80 ? 1 : count < 0x4000 ? 2 : 3;
+    }
+
+    private int slot(long frame) {
+        return (int)(frame % capacity);
+    }
+}
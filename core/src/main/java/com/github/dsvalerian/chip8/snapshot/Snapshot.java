@@ -0,0 +1,146 @@
+package com.github.dsvalerian.chip8.snapshot;
+
+import com.github.dsvalerian.chip8.cpu.CPU;
+import com.github.dsvalerian.chip8.cpu.CPUState;
+import com.github.dsvalerian.chip8.io.KeyState;
+import com.github.dsvalerian.chip8.io.ScreenState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A saved copy of a whole machine: the {@link CPU}'s cycle count and timer progress, the {@link CPUState}, the
+ * {@link ScreenState} and the latched {@link KeyState}. The program itself isn't saved, so a snapshot can only be
+ * restored onto a CPU that has the same program loaded.
+ *
+ * Each snapshot owns a fixed-size buffer that is reused by every capture, so capturing and restoring don't
+ * allocate. The format starts with a magic number and a version, followed by each part in the order above.
+ */
+public final class Snapshot {
+    /**
+     * The version of the format written by this class.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The size of a snapshot in bytes.
+     */
+    public static final int SIZE = 8 + CPU.SNAPSHOT_BYTES + CPUState.SNAPSHOT_BYTES + ScreenState.SNAPSHOT_BYTES +
+            KeyState.SNAPSHOT_BYTES;
+
+    // "C8SS"
+    private static final int MAGIC = 0x43385353;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(SIZE);
+    private boolean empty = true;
+
+    /**
+     * Save a machine into this snapshot, replacing what was saved before.
+     *
+     * @param cpu The CPU.
+     * @param state The CPU's state.
+     * @param screen The screen the CPU draws to.
+     * @param keys The keys the CPU reads.
+     */
+    public void capture(CPU cpu, CPUState state, ScreenState screen, KeyState keys) {
+        buffer.clear();
+        buffer.putInt(MAGIC).putInt(VERSION);
+        cpu.writeTo(buffer);
+        state.writeTo(buffer);
+        screen.writeTo(buffer);
+        keys.writeTo(buffer);
+        empty = false;
+    }
+
+    /**
+     * Put a machine back into the state saved in this snapshot.
+     *
+     * @param cpu The CPU.
+     * @param state The CPU's state.
+     * @param screen The screen the CPU draws to.
+     * @param keys The keys the CPU reads.
+     */
+    public void restore(CPU cpu, CPUState state, ScreenState screen, KeyState keys) {
+        if (empty) {
+            throw new IllegalStateException("Nothing has been captured into this snapshot.");
+        }
+
+        buffer.position(8);
+        cpu.readFrom(buffer);
+        state.readFrom(buffer);
+        screen.readFrom(buffer);
+        keys.readFrom(buffer);
+    }
+
+    /**
+     * Copy another snapshot into this one.
+     *
+     * @param other The snapshot to copy.
+     */
+    public void copyFrom(Snapshot other) {
+        System.arraycopy(other.buffer.array(), 0, buffer.array(), 0, SIZE);
+        empty = other.empty;
+    }
+
+    /**
+     * @return True if nothing has been captured or loaded yet.
+     */
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * Write this snapshot to a file.
+     *
+     * @param path The file to write.
+     * @throws IOException If the file can't be written.
+     */
+    public void save(Path path) throws IOException {
+        if (empty) {
+            throw new IllegalStateException("Nothing has been captured into this snapshot.");
+        }
+
+        Files.write(path, buffer.array());
+    }
+
+    /**
+     * Replace this snapshot with one read from a file written by {@link #save(Path)}.
+     *
+     * @param path The file to read.
+     * @throws IOException If the file can't be read or isn't a snapshot of this version.
+     */
+    public void load(Path path) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer header = ByteBuffer.wrap(bytes);
+
+        if (bytes.length < 8 || header.getInt() != MAGIC) {
+            throw new IOException(path + " is not a snapshot.");
+        }
+
+        int version = header.getInt();
+
+        if (version != VERSION || bytes.length != SIZE) {
+            throw new IOException(path + " is a version " + version + " snapshot of " + bytes.length +
+                    " bytes, expected version " + VERSION + " of " + SIZE + " bytes.");
+        }
+
+        System.arraycopy(bytes, 0, buffer.array(), 0, SIZE);
+        empty = false;
+    }
+
+    /**
+     * @return The raw bytes of this snapshot. Changes to the array change the snapshot.
+     */
+    byte[] array() {
+        return buffer.array();
+    }
+
+    /**
+     * Mark this snapshot as holding a machine after its bytes were filled in through {@link #array()}.
+     */
+    void markFilled() {
+        empty = false;
+    }
+}
@@ -0,0 +1,230 @@
+package com.github.dsvalerian.chip8;
+
+import com.github.dsvalerian.chip8.cpu.CPUSpeed;
+import com.github.dsvalerian.chip8.data.ROM;
+import com.github.dsvalerian.chip8.io.Pixel;
+import com.github.dsvalerian.chip8.io.ScreenState;
+import com.github.dsvalerian.chip8.movie.Movie;
+import com.github.dsvalerian.chip8.movie.MovieReplay;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class EmulatorTest {
+    @Test
+    public void headlessFramesTest() {
+        AtomicInteger frames = new AtomicInteger();
+        // LD F, V0; DRW V0, V0, 5; JP 0x204
+        Emulator emulator = new Emulator(ROM.fromHexString("F0 29 D0 05 12 04"), screen -> {
+            frames.incrementAndGet();
+            Assertions.assertEquals(Pixel.ACTIVE, screen.readPixel(0, 0));
+        });
+
+        emulator.runFrames(60);
+
+        Assertions.assertEquals(60, frames.get());
+        Assertions.assertTrue(emulator.getCpu().toString().startsWith("{PC: 516,"));
+    }
+
+    @Test
+    public void stopsAtProgramEndTest() {
+        AtomicInteger frames = new AtomicInteger();
+        // CLS; CLS
+        Emulator emulator = new Emulator(ROM.fromHexString("00 E0 00 E0"), screen -> frames.incrementAndGet());
+
+        emulator.runFrames(10);
+
+        Assertions.assertEquals(1, frames.get());
+    }
+
+    @Test
+    public void setSpeedTest() {
+        // JP 0x200
+        Emulator emulator = new Emulator(ROM.fromHexString("12 00"), FrameSink.NONE);
+        emulator.getCpu().setIdleSkippingEnabled(false);
+
+        emulator.runFrames(60);
+        Assertions.assertEquals(500, emulator.getCpu().getCycles());
+
+        emulator.setSpeed(CPUSpeed.DOUBLE);
+        Assertions.assertEquals(CPUSpeed.DOUBLE, emulator.getSpeed());
+        emulator.runFrames(60);
+        Assertions.assertEquals(1500, emulator.getCpu().getCycles());
+
+        // Unlimited still runs a full speed second's worth of instructions every 60 frames.
+        emulator.setSpeed(CPUSpeed.UNLIMITED);
+        emulator.runFrames(60);
+        Assertions.assertEquals(2000, emulator.getCpu().getCycles());
+    }
+
+    @Test
+    public void stepBackFromAnotherThreadTest() throws InterruptedException {
+        FrameLatch frames = new FrameLatch(5, 0);
+        // JP 0x200
+        Emulator emulator = new Emulator(ROM.fromHexString("12 00"), frames);
+        Thread thread = new Thread(emulator);
+        thread.start();
+        frames.await();
+        emulator.pause();
+
+        // Stepping back waits for the emulator thread to do it between frames.
+        Assertions.assertTrue(emulator.stepBack());
+        long frame = emulator.getFrame();
+        Assertions.assertTrue(emulator.stepBack());
+        Assertions.assertEquals(frame - 1, emulator.getFrame());
+
+        emulator.stop();
+        thread.join(1000);
+        Assertions.assertFalse(thread.isAlive());
+
+        // Once the thread is gone, the caller's own thread does it.
+        Assertions.assertTrue(emulator.stepBack());
+        Assertions.assertEquals(frame - 2, emulator.getFrame());
+    }
+
+    @Test
+    public void stopRecordingFromAnotherThreadTest() throws InterruptedException {
+        // JP 0x200
+        ROM rom = ROM.fromHexString("12 00");
+        FrameLatch frames = new FrameLatch(3, 0);
+        Emulator emulator = new Emulator(rom, frames, 1);
+        emulator.startRecording();
+        emulator.getKeyState().press(4);
+        Thread thread = new Thread(emulator);
+        thread.start();
+        frames.await();
+
+        // The emulator keeps running while the recording is taken.
+        Movie movie = emulator.stopRecording();
+        Assertions.assertNotNull(movie);
+        Assertions.assertTrue(movie.getFrameCount() > 0);
+        // The press on the first frame, then the key held without a new press.
+        Assertions.assertEquals(2, movie.size());
+        Assertions.assertNull(emulator.stopRecording());
+
+        emulator.stop();
+        thread.join(1000);
+        Assertions.assertEquals(movie.getFrameCount(), MovieReplay.replay(rom, movie).getFrame());
+    }
+
+    @Test
+    public void drawsOnEmulatorThreadTest() throws InterruptedException {
+        Set<Thread> drawingThreads = ConcurrentHashMap.newKeySet();
+        CountDownLatch frames = new CountDownLatch(3);
+        // JP 0x200
+        Emulator emulator = new Emulator(ROM.fromHexString("12 00"), screen -> {
+            drawingThreads.add(Thread.currentThread());
+            frames.countDown();
+        });
+        Thread thread = new Thread(emulator);
+        thread.start();
+        Assertions.assertTrue(frames.await(10, TimeUnit.SECONDS));
+        emulator.pause();
+
+        emulator.update();
+        emulator.draw();
+        emulator.stepBack();
+        emulator.stop();
+        thread.join(1000);
+
+        Assertions.assertEquals(Set.of(thread), drawingThreads);
+    }
+
+    @Test
+    public void skipsFramesForSlowDisplayTest() throws InterruptedException {
+        // Takes frames straight away, but says showing them takes 30ms on another thread. After 20 presented
+        // frames the average cost is well past a frame, which always leaves less than that until the deadline.
+        FrameLatch slowDisplay = new FrameLatch(20, 30000000L);
+        // JP 0x200
+        Emulator emulator = new Emulator(ROM.fromHexString("12 00"), slowDisplay);
+        Thread thread = new Thread(emulator);
+        thread.start();
+        slowDisplay.await();
+        emulator.stop();
+        thread.join(1000);
+
+        Assertions.assertTrue(emulator.getFrameSkipper().getSkippedFrames() > 0);
+        Assertions.assertTrue(emulator.getFrameSkipper().getAveragePresentNanos() > 15000000L);
+    }
+
+    @Test
+    public void unlimitedKeepsOneRewindFramePerBatchTest() throws InterruptedException {
+        FrameLatch frames = new FrameLatch(5, 0);
+        // JP 0x200
+        Emulator emulator = new Emulator(ROM.fromHexString("12 00"), frames);
+        emulator.setSpeed(CPUSpeed.UNLIMITED);
+        Thread thread = new Thread(emulator);
+        thread.start();
+        // Every presented frame ends a batch of at least 65 frames.
+        frames.await();
+        emulator.stop();
+        thread.join(1000);
+
+        // Many frames run between two presented ones, but only the first of them is kept for stepping back.
+        Assertions.assertTrue(emulator.getFrame() > 10 * emulator.getRewindBuffer().size());
+
+        // Stepping back goes to the start of the batch, with the frame number the machine had there.
+        long frame = emulator.getFrame();
+        Assertions.assertTrue(emulator.stepBack());
+        Assertions.assertTrue(emulator.getFrame() < frame);
+        Assertions.assertEquals(emulator.getFrame() * CPUSpeed.UNLIMITED.getHertz() / 60,
+                emulator.getCpu().getCycles());
+    }
+
+    @Test
+    public void breakpointFromAnotherThreadTest() throws InterruptedException {
+        // LD V0, 1; JP 0x200
+        Emulator emulator = new Emulator(ROM.fromHexString("60 01 12 00"), FrameSink.NONE);
+        Thread thread = new Thread(emulator);
+        thread.start();
+
+        // Arming waits for the emulator thread to do it between frames, which then stops on the breakpoint.
+        emulator.addBreakpoint(0x202);
+
+        while (!emulator.isPaused()) {
+            Thread.onSpinWait();
+        }
+
+        Assertions.assertEquals("Breakpoint at 202", emulator.getDebugger().getStopReason());
+        Assertions.assertEquals(emulator.getCpu().toString(), emulator.describeCpu());
+
+        emulator.clearBreakpoints();
+        Assertions.assertFalse(emulator.getDebugger().isArmed());
+        emulator.stop();
+        thread.join(1000);
+        Assertions.assertFalse(thread.isAlive());
+    }
+
+    /**
+     * Counts down on every frame it's handed, so that tests can wait for an emulator thread to have run a number of
+     * frames instead of sleeping for a guessed amount of time.
+     */
+    private static class FrameLatch implements FrameSink {
+        private final CountDownLatch frames;
+        private final long displayNanos;
+
+        FrameLatch(int frames, long displayNanos) {
+            this.frames = new CountDownLatch(frames);
+            this.displayNanos = displayNanos;
+        }
+
+        @Override
+        public void onFrame(ScreenState screen) {
+            frames.countDown();
+        }
+
+        @Override
+        public long getDisplayNanos() {
+            return displayNanos;
+        }
+
+        void await() throws InterruptedException {
+            Assertions.assertTrue(frames.await(10, TimeUnit.SECONDS));
+        }
+    }
+}
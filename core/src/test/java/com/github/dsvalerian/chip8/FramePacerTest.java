@@ -0,0 +1,39 @@
+package com.github.dsvalerian.chip8;
+
+import com.github.dsvalerian.chip8.cpu.CPUSpeed;
+import com.github.dsvalerian.chip8.io.FPS;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class FramePacerTest {
+    @Test
+    public void cyclesPerSecondTest() {
+        for (CPUSpeed speed : CPUSpeed.values()) {
+            FramePacer pacer = new FramePacer(speed, FPS.SIXTY);
+            int cycles = 0;
+
+            for (int i = 0; i < FPS.SIXTY.getValue(); i++) {
+                int frameCycles = pacer.cyclesForNextFrame();
+                Assertions.assertTrue(frameCycles >= speed.getHertz() / 60 && frameCycles <= speed.getHertz() / 60 + 1);
+                cycles += frameCycles;
+            }
+
+            Assertions.assertEquals(speed.getHertz(), cycles);
+        }
+    }
+
+    @Test
+    public void awaitNextFrameTest() {
+        FramePacer pacer = new FramePacer(CPUSpeed.FULL, FPS.SIXTY);
+        long start = System.nanoTime();
+
+        for (int i = 0; i < 6; i++) {
+            pacer.awaitNextFrame();
+        }
+
+        // Six frames at 60 frames per second take a tenth of a second.
+        Assertions.assertTrue(System.nanoTime() - start >= 100000000L - 1000000L);
+        Assertions.assertEquals(6, pacer.getFrames());
+        Assertions.assertTrue(pacer.getMaxJitterNanos() >= pacer.getMeanJitterNanos());
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.dsvalerian.chip8;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class FrameSkipperTest {
+    private static final long MILLISECOND = 1000000L;
+
+    @Test
+    public void adaptiveTest() {
+        FrameSkipper skipper = new FrameSkipper(2);
+
+        // Presenting costs nothing yet, so every frame is presented.
+        Assertions.assertTrue(skipper.shouldPresent(MILLISECOND));
+
+        for (int i = 0; i < 100; i++) {
+            skipper.recordPresent(20 * MILLISECOND);
+        }
+
+        Assertions.assertTrue(skipper.getAveragePresentNanos() > 15 * MILLISECOND);
+        Assertions.assertTrue(skipper.shouldPresent(30 * MILLISECOND));
+
+        // Not enough time left, but no more than 2 frames are skipped in a row.
+        Assertions.assertFalse(skipper.shouldPresent(5 * MILLISECOND));
+        Assertions.assertFalse(skipper.shouldPresent(5 * MILLISECOND));
+        Assertions.assertTrue(skipper.shouldPresent(5 * MILLISECOND));
+
+        Assertions.assertEquals(3, skipper.getPresentedFrames());
+        Assertions.assertEquals(2, skipper.getSkippedFrames());
+    }
+
+    @Test
+    public void turboTest() {
+        FrameSkipper skipper = new FrameSkipper();
+        skipper.setTurbo(3);
+        Assertions.assertTrue(skipper.isTurbo());
+
+        for (int i = 1; i <= 9; i++) {
+            Assertions.assertEquals(i % 3 == 0, skipper.shouldPresent(Long.MAX_VALUE));
+        }
+
+        Assertions.assertEquals(3, skipper.getPresentedFrames());
+        Assertions.assertEquals(6, skipper.getSkippedFrames());
+
+        skipper.setTurbo(1);
+        Assertions.assertFalse(skipper.isTurbo());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> skipper.setTurbo(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> skipper.setMaxSkippedFrames(-1));
+    }
+}
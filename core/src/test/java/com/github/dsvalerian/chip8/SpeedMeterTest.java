@@ -0,0 +1,42 @@
+package com.github.dsvalerian.chip8;
+
+import com.github.dsvalerian.chip8.cpu.CPUSpeed;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SpeedMeterTest {
+    private static final long MILLISECOND = 1000000L;
+
+    @Test
+    public void measureTest() {
+        SpeedMeter meter = new SpeedMeter();
+        Assertions.assertEquals(0, meter.getInstructionsPerSecond());
+
+        meter.update(0, 0, CPUSpeed.UNLIMITED);
+        // Nothing is measured until the window is over.
+        meter.update(1000000, 100 * MILLISECOND, CPUSpeed.UNLIMITED);
+        Assertions.assertEquals(0, meter.getInstructionsPerSecond());
+
+        meter.update(2500000, 500 * MILLISECOND, CPUSpeed.UNLIMITED);
+        Assertions.assertEquals(5000000, meter.getInstructionsPerSecond(), 1e-6);
+        Assertions.assertEquals(5, meter.getMips(), 1e-9);
+        Assertions.assertEquals(10000, meter.getSpeedMultiplier(), 1e-6);
+
+        meter.update(2750000, 1000 * MILLISECOND, CPUSpeed.UNLIMITED);
+        Assertions.assertEquals(500000, meter.getInstructionsPerSecond(), 1e-6);
+    }
+
+    @Test
+    public void restartTest() {
+        SpeedMeter meter = new SpeedMeter();
+        meter.update(0, 0, CPUSpeed.FULL);
+        meter.update(500, 1000 * MILLISECOND, CPUSpeed.FULL);
+        Assertions.assertEquals(1, meter.getSpeedMultiplier(), 1e-9);
+
+        // Time spent paused isn't counted after a restart.
+        meter.restart();
+        meter.update(500, 60000 * MILLISECOND, CPUSpeed.FULL);
+        meter.update(1500, 61000 * MILLISECOND, CPUSpeed.FULL);
+        Assertions.assertEquals(2, meter.getSpeedMultiplier(), 1e-9);
+    }
+}
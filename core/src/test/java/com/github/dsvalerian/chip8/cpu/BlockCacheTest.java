@@ -0,0 +1,53 @@
+package com.github.dsvalerian.chip8.cpu;
+
+import com.github.dsvalerian.chip8.data.ROM;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BlockCacheTest {
+    private CPUState state;
+    private BlockCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        state = new CPUState();
+        cache = new BlockCache(state);
+        state.setOnMemoryWrite(cache::invalidate);
+
+        // LD V0, 0x01; ADD V0, 0x01; SE V0, 0x10; JP 0x202; CLS
+        state.loadMemory(0x200, ROM.fromHexString("60 01 70 01 30 10 12 02 00 E0"));
+    }
+
+    @Test
+    public void blockBoundaryTest() {
+        Block block = cache.lookUp(0x200);
+        Assertions.assertEquals(3, block.entries.length);
+        Assertions.assertEquals(Opcodes.SE_VX_BYTE, Decoder.opcode(block.entries[2]));
+        Assertions.assertSame(block, cache.lookUp(0x200));
+
+        Block jump = cache.lookUp(0x206);
+        Assertions.assertEquals(1, jump.entries.length);
+        Assertions.assertEquals(Opcodes.JP, Decoder.opcode(jump.entries[0]));
+    }
+
+    @Test
+    public void invalidateTest() {
+        Block first = cache.lookUp(0x200);
+        Block second = cache.lookUp(0x206);
+
+        // Writing outside of any block leaves the cache alone.
+        state.setMemory(0x300, 0xFF);
+        Assertions.assertTrue(first.valid);
+        Assertions.assertTrue(second.valid);
+
+        // Writing into the first block only drops that block.
+        state.setMemory(0x203, 0x02);
+        Assertions.assertFalse(first.valid);
+        Assertions.assertTrue(second.valid);
+
+        Block rebuilt = cache.lookUp(0x200);
+        Assertions.assertNotSame(first, rebuilt);
+        Assertions.assertEquals(0x7002, Decoder.instruction(rebuilt.entries[1]));
+    }
+}
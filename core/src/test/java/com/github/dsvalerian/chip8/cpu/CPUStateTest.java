@@ -75,6 +75,45 @@ public class CPUStateTest {
         });
     }
 
+    @Test
+    public void uncheckedAccessTest() {
+        state.setMemoryUnchecked(0x1FFF, 0x142);
+        Assertions.assertEquals(0x42, state.readMemory(0xFFF));
+        Assertions.assertEquals(0x42, state.readMemoryUnchecked(0x1FFF));
+
+        state.setVUnchecked(0x1F, 0x1AB);
+        Assertions.assertEquals(0xAB, state.readV(0xF));
+        Assertions.assertEquals(0xAB, state.readVUnchecked(0x1F));
+
+        state.setIUnchecked(0x1234);
+        Assertions.assertEquals(0x234, state.readI());
+
+        state.setPcUnchecked(0x10002);
+        Assertions.assertEquals(0x2, state.readPc());
+    }
+
+    @Test
+    public void randomTest() {
+        state.setRandomSeed(1234);
+        int[] numbers = new int[64];
+
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = state.nextRandomByte();
+            Assertions.assertTrue(numbers[i] >= 0 && numbers[i] <= 0xFF);
+        }
+
+        // Restoring a saved state repeats the numbers from that point on.
+        state.setRandomSeed(1234);
+        state.nextRandomByte();
+        long saved = state.readRandomState();
+        CPUState other = new CPUState();
+        other.setRandomState(saved);
+
+        for (int i = 1; i < numbers.length; i++) {
+            Assertions.assertEquals(numbers[i], other.nextRandomByte());
+        }
+    }
+
     @Test
     public void toStringTest() {
         String expected = "{PC: 0, V Registers: [0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0], I: 0, SP: 0, " +
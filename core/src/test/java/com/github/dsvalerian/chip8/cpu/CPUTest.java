@@ -0,0 +1,146 @@
+package com.github.dsvalerian.chip8.cpu;
+
+import com.github.dsvalerian.chip8.data.ROM;
+import com.github.dsvalerian.chip8.exception.NoProgramLoadedException;
+import com.github.dsvalerian.chip8.io.KeyState;
+import com.github.dsvalerian.chip8.io.ScreenState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CPUTest {
+    private static final String TEST_ROM = "00 E0 00 E0 00 E0 00 E0 00 E0 00 E0";
+
+    private CPUState state;
+    private ScreenState screenState;
+    private CPU cpu;
+
+    @BeforeEach
+    public void setUp() {
+        state = new CPUState();
+        screenState = new ScreenState();
+        cpu = new CPU(state, screenState);
+    }
+
+    @Test
+    public void loadProgramTest() {
+        Assertions.assertThrows(NoProgramLoadedException.class, () -> cpu.hasMoreInstructions());
+
+        ROM rom = ROM.fromHexString(TEST_ROM);
+        cpu.loadProgram(rom);
+        Assertions.assertTrue(cpu.hasMoreInstructions());
+    }
+
+    @Test
+    public void processInstructionsTest() {
+        Assertions.assertThrows(NoProgramLoadedException.class, () -> cpu.processNextInstruction());
+
+        ROM rom = ROM.fromHexString(TEST_ROM);
+        cpu.loadProgram(rom);
+
+        for (int i = 0; i < 6; i++) {
+            Assertions.assertTrue(cpu.hasMoreInstructions());
+            cpu.processNextInstruction();
+        }
+
+        Assertions.assertFalse(cpu.hasMoreInstructions());
+    }
+
+    @Test
+    public void selfModifyingCodeTest() {
+        // LD V0, 0x61; LD V1, 0x42; LD I, 0x20A; LD [I], V1; CLS; LD V1, 0x00
+        // The store rewrites the last instruction into LD V1, 0x42 after it has already been decoded.
+        cpu.loadProgram(ROM.fromHexString("60 61 61 42 A2 0A F1 55 00 E0 61 00"));
+
+        for (int i = 0; i < 6; i++) {
+            cpu.processNextInstruction();
+        }
+
+        Assertions.assertEquals(0x42, state.readV(1));
+        Assertions.assertFalse(cpu.hasMoreInstructions());
+    }
+
+    @Test
+    public void timersTest() {
+        // LD V0, 120; LD DT, V0; loop: LD V1, DT; ADD V2, 1; ADD V3, 2; SE V1, 0; JP loop
+        ROM rom = ROM.fromHexString("60 78 F0 15 F1 07 72 01 73 02 31 00 12 04");
+        cpu.loadProgram(rom);
+        cpu.execute(100000);
+
+        // 120 ticks of a 60hz timer take two emulated seconds, or 1000 instructions at full speed.
+        Assertions.assertFalse(cpu.hasMoreInstructions());
+        Assertions.assertEquals(0, state.readDt());
+        Assertions.assertTrue(cpu.getCycles() >= 1000 && cpu.getCycles() < 1010);
+
+        // The recompiler must not change when the timers are seen to tick.
+        CPUState compiledState = new CPUState();
+        CPU compiledCpu = new CPU(compiledState, new ScreenState());
+        compiledCpu.setRecompilerEnabled(true);
+        compiledCpu.loadProgram(rom);
+        compiledCpu.execute(100000);
+
+        Assertions.assertEquals(cpu.getCycles(), compiledCpu.getCycles());
+        Assertions.assertEquals(state.readV(2), compiledState.readV(2));
+    }
+
+    @Test
+    public void timerSpeedTest() {
+        // LD V0, 60; LD DT, V0; LD ST, V0; then CLS until the end of the program.
+        cpu.setSpeed(CPUSpeed.DOUBLE);
+        cpu.loadProgram(ROM.fromHexString("60 3C F0 15 F0 18" + " 00 E0".repeat(100)));
+        cpu.execute(3 + 50);
+
+        // At 1000hz, 50 instructions are 3 ticks.
+        Assertions.assertEquals(57, state.readDt());
+        Assertions.assertEquals(57, state.readSt());
+    }
+
+    @Test
+    public void idleLoopTest() {
+        // LD V0, 120; LD DT, V0; loop: LD V1, DT; SE V1, 0; JP loop; ADD V2, 1; JP 0x20C
+        ROM rom = ROM.fromHexString("60 78 F0 15 F1 07 31 00 12 04 72 01 12 0C");
+        cpu.loadProgram(rom);
+        cpu.execute(1000);
+        cpu.execute(5000);
+
+        CPUState slowState = new CPUState();
+        CPU slowCpu = new CPU(slowState, new ScreenState());
+        slowCpu.setIdleSkippingEnabled(false);
+        slowCpu.loadProgram(rom);
+        slowCpu.execute(1000);
+        slowCpu.execute(5000);
+
+        // Skipping the wait gives the same result as running it.
+        Assertions.assertEquals(slowState.toString(), state.toString());
+        Assertions.assertEquals(slowCpu.getCycles(), cpu.getCycles());
+        Assertions.assertTrue(cpu.getElidedCycles() > 5000);
+        Assertions.assertEquals(0, slowCpu.getElidedCycles());
+    }
+
+    @Test
+    public void busyLoopNotElidedTest() {
+        // loop: ADD V0, 1; JP loop
+        cpu.loadProgram(ROM.fromHexString("70 01 12 00"));
+        cpu.execute(1000);
+
+        Assertions.assertEquals(0, cpu.getElidedCycles());
+        Assertions.assertEquals(500 % 256, state.readV(0));
+    }
+
+    @Test
+    public void keyWaitElidedTest() {
+        KeyState keyState = new KeyState();
+        cpu = new CPU(state, screenState, keyState, Quirks.COSMAC_VIP);
+        // LD V3, K; JP 0x202
+        cpu.loadProgram(ROM.fromHexString("F3 0A 12 02"));
+
+        Assertions.assertEquals(100, cpu.execute(100));
+        Assertions.assertEquals(99, cpu.getElidedCycles());
+
+        keyState.press(7);
+        keyState.latch();
+        cpu.execute(100);
+        Assertions.assertEquals(7, state.readV(3));
+        Assertions.assertEquals(0x202, state.readPc());
+    }
+}
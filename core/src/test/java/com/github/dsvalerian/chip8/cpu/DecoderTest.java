@@ -0,0 +1,48 @@
+package com.github.dsvalerian.chip8.cpu;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class DecoderTest {
+    @Test
+    public void opcodeTest() {
+        Assertions.assertEquals(Opcodes.CLS, Decoder.opcode(Decoder.decode(0x00E0)));
+        Assertions.assertEquals(Opcodes.RET, Decoder.opcode(Decoder.decode(0x00EE)));
+        Assertions.assertEquals(Opcodes.SYS, Decoder.opcode(Decoder.decode(0x0123)));
+        Assertions.assertEquals(Opcodes.ADD_VX_VY, Decoder.opcode(Decoder.decode(0x8AB4)));
+        Assertions.assertEquals(Opcodes.SHL, Decoder.opcode(Decoder.decode(0x801E)));
+        Assertions.assertEquals(Opcodes.DRW, Decoder.opcode(Decoder.decode(0xD125)));
+        Assertions.assertEquals(Opcodes.LD_VX_MEM, Decoder.opcode(Decoder.decode(0xF265)));
+    }
+
+    @Test
+    public void operandTest() {
+        int entry = Decoder.decode(0xD7A3);
+        Assertions.assertEquals(0xD7A3, Decoder.instruction(entry));
+        Assertions.assertEquals(0x7, Decoder.x(entry));
+        Assertions.assertEquals(0xA, Decoder.y(entry));
+        Assertions.assertEquals(0x3, Decoder.n(entry));
+        Assertions.assertEquals(0xA3, Decoder.kk(entry));
+        Assertions.assertEquals(0x7A3, Decoder.nnn(entry));
+    }
+
+    @Test
+    public void invalidTest() {
+        int[] invalid = {0x5001, 0x800F, 0x9001, 0xE09F, 0xF066};
+
+        for (int instruction : invalid) {
+            int entry = Decoder.decode(instruction);
+            Assertions.assertEquals(Opcodes.INVALID, Decoder.opcode(entry));
+            Assertions.assertEquals(instruction, Decoder.instruction(entry));
+        }
+    }
+
+    @Test
+    public void fullTableTest() {
+        for (int instruction = 0; instruction <= 0xFFFF; instruction++) {
+            int entry = Decoder.decode(instruction);
+            Assertions.assertEquals(instruction, Decoder.instruction(entry));
+            Assertions.assertTrue(Decoder.opcode(entry) < Opcodes.COUNT);
+        }
+    }
+}
@@ -11,7 +11,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 public class InterpreterTest {
-    private static final KeyState KEY_STATE = KeyState.getInstance();
+    private KeyState keyState;
     private CPUState state;
     private ScreenState screenState;
     private Interpreter interpreter;
@@ -21,7 +21,8 @@ public class InterpreterTest {
     public void setUp() {
         state = new CPUState();
         screenState = new ScreenState();
-        interpreter = new Interpreter(state, screenState);
+        keyState = new KeyState();
+        interpreter = new Interpreter(state, screenState, keyState, Quirks.COSMAC_VIP);
         currentInstruction = new Register(Interpreter.INSTRUCTION_BITS);
         Sprites.load(state);
         Assertions.assertEquals(0x00, state.readPc());
@@ -250,12 +251,89 @@ public class InterpreterTest {
         Assertions.assertEquals(0b0, state.readV(0xF));
     }
 
+    @Test
+    public void shiftQuirksTest() {
+        for (Quirks quirks : Quirks.values()) {
+            setUp();
+            interpreter = new Interpreter(state, screenState, keyState, quirks);
+            state.setV(0x1, 0b10000001);
+            state.setV(0x2, 0b01000010);
+
+            // SHR V1, V2
+            currentInstruction.set(0x8126);
+            interpreter.executeInstruction(currentInstruction);
+            Assertions.assertEquals(quirks.shiftsVy() ? 0b00100001 : 0b01000000, state.readV(0x1));
+            Assertions.assertEquals(quirks.shiftsVy() ? 0 : 1, state.readV(0xF));
+            Assertions.assertEquals(0b01000010, state.readV(0x2));
+
+            // SHL V3, V4
+            state.setV(0x3, 0b10000000);
+            state.setV(0x4, 0b01000001);
+            currentInstruction.set(0x834E);
+            interpreter.executeInstruction(currentInstruction);
+            Assertions.assertEquals(quirks.shiftsVy() ? 0b10000010 : 0b00000000, state.readV(0x3));
+            Assertions.assertEquals(quirks.shiftsVy() ? 0 : 1, state.readV(0xF));
+            Assertions.assertEquals(0b01000001, state.readV(0x4));
+        }
+    }
+
+    @Test
+    public void jumpQuirksTest() {
+        for (Quirks quirks : Quirks.values()) {
+            setUp();
+            interpreter = new Interpreter(state, screenState, keyState, quirks);
+            state.setV(0x0, 0x10);
+            state.setV(0x3, 0x20);
+
+            // JP V0, 0x345
+            currentInstruction.set(0xB345);
+            interpreter.executeInstruction(currentInstruction);
+            Assertions.assertEquals(quirks.jumpsWithVx() ? 0x365 : 0x355, state.readPc());
+            Assertions.assertEquals(quirks == Quirks.SUPER_CHIP, quirks.jumpsWithVx());
+        }
+    }
+
+    @Test
+    public void loadStoreQuirksTest() {
+        for (Quirks quirks : Quirks.values()) {
+            setUp();
+            interpreter = new Interpreter(state, screenState, keyState, quirks);
+            state.setI(0x300);
+            state.setV(0x0, 0x11);
+            state.setV(0x1, 0x22);
+            state.setV(0x2, 0x33);
+
+            // LD [I], V2
+            currentInstruction.set(0xF255);
+            interpreter.executeInstruction(currentInstruction);
+            Assertions.assertEquals(0x33, state.readMemory(0x302));
+            Assertions.assertEquals(quirks.loadStoreIncrementsI() ? 0x303 : 0x300, state.readI());
+
+            // LD V1, [I]
+            state.setI(0x301);
+            currentInstruction.set(0xF165);
+            interpreter.executeInstruction(currentInstruction);
+            Assertions.assertEquals(0x22, state.readV(0x0));
+            Assertions.assertEquals(0x33, state.readV(0x1));
+            Assertions.assertEquals(quirks.loadStoreIncrementsI() ? 0x303 : 0x301, state.readI());
+            Assertions.assertEquals(quirks == Quirks.COSMAC_VIP, quirks.loadStoreIncrementsI());
+        }
+    }
+
     @Test
     public void randTest() {
         // Cxkk - RND Vx, byte
+        state.setRandomSeed(42);
         currentInstruction.set(0xC0FF);
         interpreter.executeInstruction(currentInstruction);
         System.out.println("Random number: " + state.readV(0));
+
+        // The same seed gives the same number, and kk masks it.
+        int first = state.readV(0);
+        state.setRandomSeed(42);
+        currentInstruction.set(0xC10F);
+        interpreter.executeInstruction(currentInstruction);
+        Assertions.assertEquals(first & 0x0F, state.readV(1));
     }
 
     @Test
@@ -362,23 +440,56 @@ public class InterpreterTest {
 
     @Test
     public void keyPressTest() {
-        KEY_STATE.press(0);
+        keyState.press(0);
+        keyState.latch();
 
         currentInstruction.set(0xE09E);
         interpreter.executeInstruction(currentInstruction);
         Assertions.assertEquals(0x4, state.readPc());
 
+        // Key 3 isn't pressed.
+        state.setV(0x1, 3);
         currentInstruction.set(0xE1A1);
         interpreter.executeInstruction(currentInstruction);
         Assertions.assertEquals(0x8, state.readPc());
 
+        // The key tested is the one held in Vx, not key x.
+        keyState.press(7);
+        keyState.latch();
+        state.setV(0x2, 7);
+        state.setV(0x7, 2);
+        currentInstruction.set(0xE29E);
+        interpreter.executeInstruction(currentInstruction);
+        Assertions.assertEquals(0xC, state.readPc());
+
+        currentInstruction.set(0xE2A1);
+        interpreter.executeInstruction(currentInstruction);
+        Assertions.assertEquals(0xE, state.readPc());
+
+        currentInstruction.set(0xE79E);
+        interpreter.executeInstruction(currentInstruction);
+        Assertions.assertEquals(0x10, state.readPc());
+
+        currentInstruction.set(0xE7A1);
+        interpreter.executeInstruction(currentInstruction);
+        Assertions.assertEquals(0x14, state.readPc());
+
         // Fx0A - LD Vx, K
+        // The key pressed before the wait was already taken by the latch, so the wait starts with nothing.
+        keyState.takeLatchedPress();
         currentInstruction.set(0xF50A);
         interpreter.executeInstruction(currentInstruction);
 
-        // Press a key to resume execution.
-        KEY_STATE.press(10);
+        // Execution stays on the instruction until a key press is latched.
+        Assertions.assertEquals(0x14, state.readPc());
+        keyState.press(10);
+        interpreter.executeInstruction(currentInstruction);
+        Assertions.assertEquals(0x14, state.readPc());
+
+        keyState.latch();
+        interpreter.executeInstruction(currentInstruction);
         Assertions.assertEquals(10, state.readV(5));
+        Assertions.assertEquals(0x16, state.readPc());
 
     }
 
@@ -0,0 +1,120 @@
+package com.github.dsvalerian.chip8.cpu;
+
+import com.github.dsvalerian.chip8.data.ROM;
+import com.github.dsvalerian.chip8.io.KeyState;
+import com.github.dsvalerian.chip8.io.ScreenState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RecompilerTest {
+    // LD VA, 0; LD I, 0x300
+    // loop: ADD VA, 1; LD V1, VA; ADD V2, V1; SUB V3, V2; SHR V4, V3; SHL V5, V4; SUBN V6, V5; OR V7, V6;
+    //       AND V8, V7; XOR V9, V8; ADD I, V9; LD F, V2; LD V2, [I]; LD V1, DT; SE VA, 0; JP loop
+    // CLS
+    private static final String LOOP_ROM = "6A 00 A3 00 7A 01 81 A0 82 14 83 25 84 36 85 4E 86 57 87 61 88 72 " +
+            "89 83 F9 1E F2 29 F2 65 F1 07 3A 00 12 04 00 E0";
+
+    // LD VA, 0
+    // loop: ADD VA, 1; LD V1, VA; SHR V2, V1; SHL V3, V2; SHR V4, V3; SHL V5, V4; LD I, 0x300; ADD I, V1;
+    //       LD [I], V5; LD V3, [I]; ADD V7, V3; LD V0, 0; LD V2, 2; JP V0, 0x220; CLS;
+    // 0x220: ADD VB, 1; SE VA, 0xC0; JP loop
+    // CLS
+    private static final String QUIRKS_ROM = "6A 00 7A 01 81 A0 82 16 83 2E 84 36 85 4E A3 00 F1 1E F5 55 F3 65 " +
+            "87 34 60 00 62 02 B2 20 00 E0 7B 01 3A C0 12 02 00 E0";
+
+    @Test
+    public void matchesInterpreterTest() {
+        CPUState interpreted = runLoop(false);
+        CPUState compiled = runLoop(true);
+
+        Assertions.assertEquals(interpreted.toString(), compiled.toString());
+        Assertions.assertEquals(interpreted.readV(0xF), compiled.readV(0xF));
+    }
+
+    @Test
+    public void matchesInterpreterWithQuirksTest() {
+        for (Quirks quirks : Quirks.values()) {
+            CPUState interpreted = runQuirksLoop(quirks, false);
+            CPUState compiled = runQuirksLoop(quirks, true);
+
+            Assertions.assertEquals(interpreted.toString(), compiled.toString(), quirks.name());
+            Assertions.assertEquals(interpreted.readV(0xF), compiled.readV(0xF), quirks.name());
+
+            for (int address = 0x300; address < 0x350; address++) {
+                Assertions.assertEquals(interpreted.readMemory(address), compiled.readMemory(address), quirks.name());
+            }
+        }
+
+        // The profiles really do take different paths through the ROM.
+        Assertions.assertNotEquals(runQuirksLoop(Quirks.COSMAC_VIP, true).toString(),
+                runQuirksLoop(Quirks.SUPER_CHIP, true).toString());
+    }
+
+    @Test
+    public void compileBlockTest() {
+        CPUState state = new CPUState();
+        // LD V0, 0x10; ADD V0, 0x05; LD I, 0x300; ADD I, V0; LD V1, V0; ADD V1, V2; JP 0x200
+        state.loadMemory(0x200, ROM.fromHexString("60 10 70 05 A3 00 F0 1E 81 00 81 24 12 00"));
+        state.setV(2, 0xF0);
+
+        Block block = new BlockCache(state).lookUp(0x200);
+        Recompiler recompiler = new Recompiler(Quirks.COSMAC_VIP);
+        recompiler.compile(block, 0x1000);
+
+        Assertions.assertNotNull(block.compiled);
+        Assertions.assertEquals(6, block.compiledLength);
+        Assertions.assertEquals(1, recompiler.getCompiledBlocks());
+
+        block.compiled.run(state);
+        Assertions.assertEquals(0x15, state.readV(0));
+        Assertions.assertEquals(0x05, state.readV(1));
+        Assertions.assertEquals(1, state.readV(0xF));
+        Assertions.assertEquals(0x315, state.readI());
+        Assertions.assertEquals(0x20C, state.readPc());
+    }
+
+    @Test
+    public void unsupportedBlockTest() {
+        CPUState state = new CPUState();
+        // CLS; JP 0x200
+        state.loadMemory(0x200, ROM.fromHexString("00 E0 12 00"));
+
+        Block block = new BlockCache(state).lookUp(0x200);
+        new Recompiler(Quirks.COSMAC_VIP).compile(block, 0x1000);
+
+        Assertions.assertTrue(block.compileAttempted);
+        Assertions.assertNull(block.compiled);
+    }
+
+    private static CPUState runLoop(boolean recompile) {
+        CPUState state = new CPUState();
+        CPU cpu = new CPU(state, new ScreenState());
+        cpu.setRecompilerEnabled(recompile);
+        cpu.loadProgram(ROM.fromHexString(LOOP_ROM));
+        state.setDt(0x33);
+
+        int executed = 0;
+        while (cpu.hasMoreInstructions()) {
+            executed += cpu.execute(1000);
+        }
+
+        // 2 setup instructions, 255 full passes over the loop, a last pass that skips the jump, then CLS.
+        Assertions.assertEquals(2 + 255 * 16 + 15 + 1, executed);
+        return state;
+    }
+
+    private static CPUState runQuirksLoop(Quirks quirks, boolean recompile) {
+        CPUState state = new CPUState();
+        CPU cpu = new CPU(state, new ScreenState(), new KeyState(), quirks);
+        cpu.setRecompilerEnabled(recompile);
+        cpu.loadProgram(ROM.fromHexString(QUIRKS_ROM));
+
+        while (cpu.hasMoreInstructions()) {
+            cpu.execute(1000);
+        }
+
+        // The jump only lands on ADD VB, 1 when it adds V0.
+        Assertions.assertEquals(quirks.jumpsWithVx() ? 0 : 0xC0, state.readV(0xB));
+        return state;
+    }
+}
@@ -0,0 +1,195 @@
+package com.github.dsvalerian.chip8.debug;
+
+import com.github.dsvalerian.chip8.Emulator;
+import com.github.dsvalerian.chip8.FrameSink;
+import com.github.dsvalerian.chip8.cpu.CPU;
+import com.github.dsvalerian.chip8.cpu.CPUState;
+import com.github.dsvalerian.chip8.data.ROM;
+import com.github.dsvalerian.chip8.io.ScreenState;
+import com.github.dsvalerian.chip8.probe.InstructionMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DebuggerTest {
+    private CPUState state;
+    private CPU cpu;
+    private Debugger debugger;
+
+    @BeforeEach
+    public void setUp() {
+        state = new CPUState();
+        cpu = new CPU(state, new ScreenState());
+        debugger = new Debugger(cpu, state);
+    }
+
+    @Test
+    public void breakpointTest() {
+        // LD V0, 1; LD V1, 2; LD V2, 3; LD V3, 4
+        cpu.loadProgram(ROM.fromHexString("60 01 61 02 62 03 63 04"));
+        Assertions.assertNull(cpu.getProbe());
+
+        debugger.addBreakpoint(0x204);
+        Assertions.assertTrue(debugger.isArmed());
+        Assertions.assertEquals(2, cpu.execute(100));
+        Assertions.assertEquals(0x204, state.readPc());
+        Assertions.assertTrue(debugger.hasStopped());
+        Assertions.assertEquals(0, cpu.execute(100));
+
+        // Resuming runs the instruction that was stopped on.
+        debugger.resume();
+        Assertions.assertFalse(debugger.hasStopped());
+        Assertions.assertEquals(2, cpu.execute(100));
+        Assertions.assertEquals(4, state.readV(3));
+
+        debugger.removeBreakpoint(0x204);
+        Assertions.assertFalse(debugger.isArmed());
+        Assertions.assertNull(cpu.getProbe());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> debugger.addBreakpoint(CPUState.MEMORY_SIZE));
+    }
+
+    @Test
+    public void breakpointOnFirstInstructionTest() {
+        // LD V0, 1; LD V1, 2; LD V2, 3; LD V3, 4
+        cpu.loadProgram(ROM.fromHexString("60 01 61 02 62 03 63 04"));
+
+        // A breakpoint where execution starts stops before anything runs.
+        debugger.addBreakpoint(0x200);
+        Assertions.assertEquals(0, cpu.execute(100));
+        Assertions.assertEquals("Breakpoint at 200", debugger.getStopReason());
+
+        debugger.resume();
+        Assertions.assertEquals(1, cpu.execute(1));
+        debugger.clearAll();
+
+        // So does one added at the current address while execution isn't stopped.
+        debugger.addBreakpoint(0x202);
+        debugger.resume();
+        Assertions.assertEquals(0, cpu.execute(100));
+        Assertions.assertEquals(0x202, state.readPc());
+
+        debugger.resume();
+        Assertions.assertEquals(3, cpu.execute(100));
+    }
+
+    @Test
+    public void watchpointTest() {
+        // LD I, 0x300; LD V0, 123; LD B, V0; DRW V0, V0, 2
+        cpu.loadProgram(ROM.fromHexString("A3 00 60 7B F0 33 D0 02"));
+        debugger.addWatchpoint(0x302, MemoryAccess.WRITE);
+        debugger.addWatchpoint(0x301, MemoryAccess.READ);
+
+        // Stops before the store, so nothing has been written yet.
+        Assertions.assertEquals(2, cpu.execute(100));
+        Assertions.assertEquals(0x204, state.readPc());
+        Assertions.assertEquals(0, state.readMemory(0x302));
+
+        debugger.resume();
+        Assertions.assertEquals(1, cpu.execute(100));
+        Assertions.assertEquals(3, state.readMemory(0x302));
+        Assertions.assertEquals(0x206, state.readPc());
+        Assertions.assertTrue(debugger.getStopReason().startsWith("READ"));
+    }
+
+    @Test
+    public void conditionTest() {
+        // ADD V0, 1; JP 0x200
+        cpu.loadProgram(ROM.fromHexString("70 01 12 00"));
+        cpu.setIdleSkippingEnabled(false);
+        debugger.addCondition(0, 3);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> debugger.addCondition(17, 0));
+
+        Assertions.assertEquals(5, cpu.execute(100));
+        Assertions.assertEquals(3, state.readV(0));
+
+        // Staying at the value doesn't stop again, only reaching it again does.
+        debugger.resume();
+        Assertions.assertEquals(512, cpu.execute(1000));
+        Assertions.assertEquals(3, state.readV(0));
+
+        debugger.clearConditions();
+        Assertions.assertNull(cpu.getProbe());
+    }
+
+    @Test
+    public void armFromManyThreadsTest() throws InterruptedException {
+        InstructionMetrics metrics = new InstructionMetrics();
+        cpu.setProbe(metrics);
+        Thread[] threads = new Thread[4];
+
+        for (int t = 0; t < threads.length; t++) {
+            int first = t;
+            threads[t] = new Thread(() -> {
+                // Every thread arms and disarms its own addresses, sharing the bitmap words with the others.
+                for (int address = first; address < CPUState.MEMORY_SIZE; address += threads.length) {
+                    debugger.addBreakpoint(address);
+                    debugger.addWatchpoint(address, MemoryAccess.WRITE);
+                    debugger.removeWatchpoint(address, MemoryAccess.WRITE);
+                }
+            });
+            threads[t].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int address = 0; address < CPUState.MEMORY_SIZE; address++) {
+            Assertions.assertTrue(debugger.hasBreakpoint(address));
+        }
+
+        Assertions.assertSame(debugger, cpu.getProbe());
+        debugger.clearAll();
+        Assertions.assertFalse(debugger.isArmed());
+        Assertions.assertSame(metrics, cpu.getProbe());
+    }
+
+    @Test
+    public void chainedProbeTest() {
+        cpu.loadProgram(ROM.fromHexString("60 01 61 02 62 03 63 04"));
+        InstructionMetrics metrics = new InstructionMetrics();
+        cpu.setProbe(metrics);
+
+        debugger.addBreakpoint(0x206);
+        Assertions.assertEquals(3, cpu.execute(100));
+        Assertions.assertEquals(3, metrics.getTotal());
+
+        debugger.clearAll();
+        Assertions.assertSame(metrics, cpu.getProbe());
+    }
+
+    @Test
+    public void frameBreakTest() {
+        // JP 0x200
+        Emulator emulator = new Emulator(ROM.fromHexString("12 00"), FrameSink.NONE, 0);
+        emulator.getDebugger().setFrameBreak(5);
+        emulator.runFrames(100);
+
+        Assertions.assertEquals(5, emulator.getFrame());
+        Assertions.assertTrue(emulator.getDebugger().hasStopped());
+    }
+
+    @Test
+    public void resumeKeepsFrameAlignmentTest() {
+        // ADD V0, 1; JP 0x200
+        ROM rom = ROM.fromHexString("70 01 12 00");
+        Emulator plain = new Emulator(rom, FrameSink.NONE, 0);
+        plain.runFrames(10);
+
+        Emulator stopped = new Emulator(rom, FrameSink.NONE, 0);
+        stopped.getDebugger().addCondition(0, 0x0A);
+        stopped.runFrames(10);
+        Assertions.assertTrue(stopped.getDebugger().hasStopped());
+        long stoppedFrame = stopped.getFrame();
+        Assertions.assertTrue(stoppedFrame < 10);
+
+        // The first frame after resuming finishes the one that was stopped in.
+        stopped.getDebugger().clearConditions();
+        stopped.getDebugger().resume();
+        stopped.runFrames((int)(10 - stoppedFrame + 1));
+
+        Assertions.assertEquals(10, stopped.getFrame());
+        Assertions.assertEquals(plain.getCpu().getCycles(), stopped.getCpu().getCycles());
+        Assertions.assertEquals(plain.getCpu().toString(), stopped.getCpu().toString());
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.dsvalerian.chip8.farm;
+
+import com.github.dsvalerian.chip8.cpu.Quirks;
+import com.github.dsvalerian.chip8.io.InputScript;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class RomFarmTest {
+    // LD V0, 0; SKNP V0; ADD V1, 1; JP 0x202
+    private static final byte[] COUNTER_ROM = {0x60, 0x00, (byte)0xE0, (byte)0xA1, 0x71, 0x01, 0x12, 0x02};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void deterministicTest() throws IOException {
+        Path rom = writeRom();
+        InputScript input = InputScript.parse("100 0 down\n200 0 up");
+        List<FarmJob> jobs = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            jobs.add(new FarmJob(rom, 1000, input, Quirks.COSMAC_VIP));
+        }
+
+        try (RomFarm farm = new RomFarm(4)) {
+            List<FarmResult> results = farm.run(jobs);
+
+            for (FarmResult result : results) {
+                Assertions.assertTrue(result.isSuccess());
+                Assertions.assertEquals(1000, result.getCycles());
+                Assertions.assertEquals(results.get(0).getStateHash(), result.getStateHash());
+                Assertions.assertEquals(results.get(0).getFrameHash(), result.getFrameHash());
+            }
+        }
+    }
+
+    @Test
+    public void inputChangesResultTest() throws IOException {
+        Path rom = writeRom();
+        FarmResult withoutInput = RomFarm.runJob(new FarmJob(rom, 1000, InputScript.EMPTY, Quirks.COSMAC_VIP));
+        FarmResult withInput = RomFarm.runJob(new FarmJob(rom, 1000, InputScript.parse("100 0 down\n200 0 up"),
+                Quirks.COSMAC_VIP));
+
+        Assertions.assertNotEquals(withoutInput.getStateHash(), withInput.getStateHash());
+        Assertions.assertEquals(withoutInput.getFrameHash(), withInput.getFrameHash());
+    }
+
+    @Test
+    public void seedTest() throws IOException {
+        // loop: RND V0, 0xFF; RND V1, 0xFF; JP loop
+        Path rom = Files.write(tempDir.resolve("random.ch8"), new byte[]{(byte)0xC0, (byte)0xFF, (byte)0xC1,
+                (byte)0xFF, 0x12, 0x00});
+        FarmResult first = RomFarm.runJob(new FarmJob(rom, 999, InputScript.EMPTY, Quirks.COSMAC_VIP, 7));
+        FarmResult repeat = RomFarm.runJob(new FarmJob(rom, 999, InputScript.EMPTY, Quirks.COSMAC_VIP, 7));
+        FarmResult otherSeed = RomFarm.runJob(new FarmJob(rom, 999, InputScript.EMPTY, Quirks.COSMAC_VIP, 8));
+
+        Assertions.assertEquals(first.getStateHash(), repeat.getStateHash());
+        Assertions.assertNotEquals(first.getStateHash(), otherSeed.getStateHash());
+    }
+
+    @Test
+    public void streamsResultsTest() throws IOException {
+        Path rom = writeRom();
+        List<FarmJob> jobs = List.of(
+                new FarmJob(rom, 500, InputScript.EMPTY, Quirks.COSMAC_VIP),
+                new FarmJob(rom, 500, InputScript.EMPTY, Quirks.SUPER_CHIP),
+                new FarmJob(tempDir.resolve("missing.ch8"), 500, InputScript.EMPTY, Quirks.COSMAC_VIP));
+        List<FarmResult> results = Collections.synchronizedList(new ArrayList<>());
+
+        try (RomFarm farm = new RomFarm(2)) {
+            farm.run(jobs, results::add);
+        }
+
+        Assertions.assertEquals(3, results.size());
+        Assertions.assertEquals(1, results.stream().filter(result -> !result.isSuccess()).count());
+    }
+
+    private Path writeRom() throws IOException {
+        return Files.write(tempDir.resolve("counter.ch8"), COUNTER_ROM);
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.dsvalerian.chip8.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class FrameExchangeTest {
+    @Test
+    public void newestFrameTest() {
+        FrameExchange exchange = new FrameExchange();
+        Assertions.assertEquals(0, exchange.takeNewest()[0]);
+
+        for (int i = 1; i <= 3; i++) {
+            Arrays.fill(exchange.getBackBuffer(), i);
+            exchange.publish();
+        }
+
+        // Frames that weren't taken in time are skipped, and the newest stays until another is published.
+        Assertions.assertEquals(3, exchange.takeNewest()[0]);
+        Assertions.assertEquals(3, exchange.takeNewest()[0]);
+
+        Arrays.fill(exchange.getBackBuffer(), 4);
+        Assertions.assertEquals(3, exchange.takeNewest()[0]);
+        exchange.publish();
+        Assertions.assertEquals(4, exchange.takeNewest()[0]);
+    }
+
+    @Test
+    public void noTornFramesTest() throws InterruptedException {
+        FrameExchange exchange = new FrameExchange();
+        int frames = 200_000;
+
+        Thread writer = new Thread(() -> {
+            for (int i = 1; i <= frames; i++) {
+                Arrays.fill(exchange.getBackBuffer(), i);
+                exchange.publish();
+            }
+        });
+        writer.start();
+
+        long last = 0;
+
+        while (last < frames) {
+            long[] frame = exchange.takeNewest();
+
+            for (long row : frame) {
+                Assertions.assertEquals(frame[0], row);
+            }
+
+            Assertions.assertTrue(frame[0] >= last);
+            last = frame[0];
+        }
+
+        writer.join();
+    }
+}
@@ -1,12 +1,10 @@
 package com.github.dsvalerian.chip8.io;
 
-import com.github.dsvalerian.chip8.data.Bits;
-import com.github.dsvalerian.chip8.data.Register;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 public class KeyStateTest {
-    private static final KeyState KEY_STATE = KeyState.getInstance();
+    private final KeyState KEY_STATE = new KeyState();
 
     @Test
     public void pressTest() {
@@ -35,16 +33,38 @@ public class KeyStateTest {
     }
 
     @Test
-    public void onNextKeyPressTest() {
-        Register lastPressedKey = new Register(Bits.EIGHT);
+    public void latchTest() {
+        KEY_STATE.press(2);
+        Assertions.assertEquals(0, KEY_STATE.readLatched());
 
-        KEY_STATE.setOnNextKeyPress((pressedKey) -> {
-            lastPressedKey.set(pressedKey);
-        });
+        KEY_STATE.latch();
+        Assertions.assertEquals(1 << 2, KEY_STATE.readLatched());
 
+        // A key tapped between two latches is still seen as pressed for one latch.
+        KEY_STATE.release(2);
+        KEY_STATE.press(7);
+        KEY_STATE.release(7);
+        KEY_STATE.latch();
+        Assertions.assertEquals(1 << 7, KEY_STATE.readLatched());
+
+        KEY_STATE.latch();
+        Assertions.assertEquals(0, KEY_STATE.readLatched());
+    }
+
+    @Test
+    public void takeLatchedPressTest() {
         KEY_STATE.press(15);
         KEY_STATE.press(3);
+        Assertions.assertEquals(-1, KEY_STATE.takeLatchedPress());
+
+        KEY_STATE.latch();
+        Assertions.assertEquals(3, KEY_STATE.takeLatchedPress());
+        Assertions.assertEquals(15, KEY_STATE.takeLatchedPress());
+        Assertions.assertEquals(-1, KEY_STATE.takeLatchedPress());
 
-        Assertions.assertEquals(15, lastPressedKey.read());
+        // Held keys are not pressed again by the next latch.
+        KEY_STATE.latch();
+        Assertions.assertEquals(-1, KEY_STATE.takeLatchedPress());
+        Assertions.assertEquals((1 << 15) | (1 << 3), KEY_STATE.readLatched());
     }
 }
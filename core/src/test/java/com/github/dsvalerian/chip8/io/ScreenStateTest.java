@@ -34,6 +34,42 @@ public class ScreenStateTest {
         }
     }
 
+    @Test
+    public void drawSpriteRowTest() {
+        // 0b11000011 drawn at x = 60 wraps so its last two pixels land in columns 2 and 3.
+        Assertions.assertFalse(screenState.drawSpriteRow(60, 33, 0b11000011));
+        Assertions.assertEquals(Pixel.ACTIVE, screenState.readPixel(60, 1));
+        Assertions.assertEquals(Pixel.ACTIVE, screenState.readPixel(61, 1));
+        Assertions.assertEquals(Pixel.INACTIVE, screenState.readPixel(62, 1));
+        Assertions.assertEquals(Pixel.INACTIVE, screenState.readPixel(1, 1));
+        Assertions.assertEquals(Pixel.ACTIVE, screenState.readPixel(2, 1));
+        Assertions.assertEquals(Pixel.ACTIVE, screenState.readPixel(3, 1));
+        Assertions.assertEquals(0x300000000000000CL, screenState.readRow(1));
+
+        // Drawing over an active pixel is a collision and turns it off.
+        Assertions.assertTrue(screenState.drawSpriteRow(62, 1, 0b00001000));
+        Assertions.assertEquals(Pixel.INACTIVE, screenState.readPixel(2, 1));
+        Assertions.assertFalse(screenState.drawSpriteRow(62, 1, 0b00010000));
+        Assertions.assertEquals(Pixel.ACTIVE, screenState.readPixel(1, 1));
+    }
+
+    @Test
+    public void dirtyRowsTest() {
+        Assertions.assertEquals(-1, screenState.takeDirtyRows());
+        Assertions.assertEquals(0, screenState.takeDirtyRows());
+
+        screenState.drawSpriteRow(60, 33, 0xF0);
+        screenState.drawSpriteRow(0, 5, 0x00);
+        screenState.setPixel(3, 7, Pixel.ACTIVE);
+        Assertions.assertEquals((1 << 1) | (1 << 7), screenState.takeDirtyRows());
+
+        // Only rows that had something on them change when clearing.
+        screenState.clear();
+        Assertions.assertEquals((1 << 1) | (1 << 7), screenState.takeDirtyRows());
+        screenState.clear();
+        Assertions.assertEquals(0, screenState.takeDirtyRows());
+    }
+
     @Test
     public void invalidPixelsTest() {
         Assertions.assertThrows(IllegalArgumentException.class, () -> screenState.setPixel(31, 32, Pixel.ACTIVE));
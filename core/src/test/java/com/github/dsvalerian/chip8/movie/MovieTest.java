@@ -0,0 +1,115 @@
+package com.github.dsvalerian.chip8.movie;
+
+import com.github.dsvalerian.chip8.Emulator;
+import com.github.dsvalerian.chip8.FrameSink;
+import com.github.dsvalerian.chip8.cpu.CPUSpeed;
+import com.github.dsvalerian.chip8.data.ROM;
+import com.github.dsvalerian.chip8.farm.StateHash;
+import com.github.dsvalerian.chip8.io.KeyState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class MovieTest {
+    // loop: LD V1, K; RND V0, 0x3F; LD F, V1; DRW V0, V1, 5; JP loop
+    private static final ROM ROM_UNDER_TEST = ROM.fromHexString("F1 0A C0 3F F1 29 D0 15 12 00");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void recordReplayTest() throws IOException {
+        Emulator recorded = new Emulator(ROM_UNDER_TEST, FrameSink.NONE, 1234);
+        recorded.startRecording();
+        KeyState keys = recorded.getKeyState();
+
+        for (int i = 0; i < 40; i++) {
+            // Tap a different key every few frames, sometimes between two frames.
+            if (i % 3 == 0) {
+                keys.press(i % 16);
+            }
+            else {
+                keys.release((i - 1) % 16);
+            }
+
+            recorded.runFrames(1);
+        }
+
+        Movie movie = recorded.stopRecording();
+        Assertions.assertEquals(40, movie.getFrameCount());
+        Assertions.assertTrue(movie.size() > 0);
+
+        Path file = tempDir.resolve("session.c8m");
+        movie.save(file);
+        Movie loaded = Movie.load(file);
+        Assertions.assertEquals(movie.size(), loaded.size());
+        Assertions.assertEquals(movie.getSeed(), loaded.getSeed());
+
+        Emulator replayed = MovieReplay.replay(ROM_UNDER_TEST, loaded);
+        Assertions.assertEquals(recorded.getCpu().toString(), replayed.getCpu().toString());
+        Assertions.assertEquals(recorded.getCpu().getCycles(), replayed.getCpu().getCycles());
+        Assertions.assertEquals(StateHash.of(recorded.getScreenState()), StateHash.of(replayed.getScreenState()));
+    }
+
+    @Test
+    public void speedChangesReplayTest() throws IOException {
+        Emulator recorded = new Emulator(ROM_UNDER_TEST, FrameSink.NONE, 99);
+        recorded.setSpeed(CPUSpeed.HALF);
+        recorded.startRecording();
+        KeyState keys = recorded.getKeyState();
+        CPUSpeed[] speeds = {CPUSpeed.DOUBLE, CPUSpeed.UNLIMITED, CPUSpeed.FULL, CPUSpeed.HALF};
+
+        for (int i = 0; i < 40; i++) {
+            if (i % 10 == 5) {
+                recorded.setSpeed(speeds[i / 10]);
+            }
+
+            if (i % 4 == 0) {
+                keys.press(i % 16);
+            }
+            else {
+                keys.release(i % 16 - 1);
+            }
+
+            recorded.runFrames(1);
+        }
+
+        Movie movie = recorded.stopRecording();
+        Assertions.assertEquals(5, movie.getSpeedChanges());
+        Assertions.assertEquals(CPUSpeed.HALF, movie.getSpeed(0));
+        Assertions.assertEquals(0, movie.getSpeedFrame(0));
+
+        Path file = tempDir.resolve("speeds.c8m");
+        movie.save(file);
+        Movie loaded = Movie.load(file);
+        Assertions.assertEquals(movie.getSpeedChanges(), loaded.getSpeedChanges());
+
+        // The replaying emulator starts at the default speed, but follows the recorded ones.
+        Emulator replayed = MovieReplay.replay(ROM_UNDER_TEST, loaded);
+        Assertions.assertEquals(recorded.getCpu().getCycles(), replayed.getCpu().getCycles());
+        Assertions.assertEquals(recorded.getCpu().toString(), replayed.getCpu().toString());
+        Assertions.assertEquals(StateHash.of(recorded.getScreenState()), StateHash.of(replayed.getScreenState()));
+    }
+
+    @Test
+    public void wrongRomTest() {
+        Emulator recorded = new Emulator(ROM_UNDER_TEST, FrameSink.NONE, 1);
+        recorded.startRecording();
+        recorded.runFrames(5);
+        Movie movie = recorded.stopRecording();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () ->
+                MovieReplay.replay(ROM.fromHexString("12 00"), movie));
+        Assertions.assertThrows(IllegalStateException.class, recorded::startRecording);
+    }
+
+    @Test
+    public void invalidFileTest() throws IOException {
+        Path file = Files.write(tempDir.resolve("bad.c8m"), new byte[] {0, 1, 2, 3, 4, 5, 6, 7});
+        Assertions.assertThrows(IOException.class, () -> Movie.load(file));
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.dsvalerian.chip8.probe;
+
+import com.github.dsvalerian.chip8.cpu.CPU;
+import com.github.dsvalerian.chip8.cpu.CPUState;
+import com.github.dsvalerian.chip8.data.ROM;
+import com.github.dsvalerian.chip8.io.ScreenState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class ExecutionTracerTest {
+    // LD V0, 0x12; LD I, 0x300; ADD V0, 1; CLS; LD V3, 0x45; ADD I, V0
+    private static final String TEST_ROM = "60 12 A3 00 70 01 00 E0 63 45 F0 1E";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void traceTest() throws IOException {
+        Path file = tempDir.resolve("trace.c8t");
+        CPU cpu = new CPU(new CPUState(), new ScreenState());
+        cpu.loadProgram(ROM.fromHexString(TEST_ROM));
+
+        try (ExecutionTracer tracer = new ExecutionTracer(file, 16)) {
+            cpu.setProbe(tracer);
+            cpu.execute(100);
+            cpu.setProbe(null);
+            Assertions.assertEquals(6, tracer.getRecordsWritten());
+        }
+
+        TraceReader reader = TraceReader.open(file);
+        Assertions.assertEquals(6, reader.size());
+        Assertions.assertEquals(0x204, reader.getPc(2));
+        Assertions.assertEquals(0x7001, reader.getInstruction(2));
+        Assertions.assertEquals(0b1, reader.getWrittenRegisters(2));
+        Assertions.assertEquals(0x13, reader.getV(2, 0));
+        Assertions.assertEquals(0x300, reader.getI(2));
+        Assertions.assertEquals(0, reader.getWrittenRegisters(3));
+        Assertions.assertEquals(0x45, reader.getV(5, 3));
+        Assertions.assertEquals(0x313, reader.getI(5));
+    }
+
+    @Test
+    public void wrapTest() throws IOException {
+        Path file = tempDir.resolve("trace.c8t");
+        CPU cpu = new CPU(new CPUState(), new ScreenState());
+        cpu.loadProgram(ROM.fromHexString(TEST_ROM));
+
+        try (ExecutionTracer tracer = new ExecutionTracer(file, 4)) {
+            cpu.setProbe(tracer);
+            cpu.execute(100);
+        }
+
+        // Only the last 4 records are kept, oldest first.
+        TraceReader reader = TraceReader.open(file);
+        Assertions.assertEquals(4, reader.size());
+        Assertions.assertEquals(2, reader.getCycle(0));
+        Assertions.assertEquals(0x204, reader.getPc(0));
+        Assertions.assertEquals(5, reader.getCycle(3));
+        Assertions.assertEquals(0x20A, reader.getPc(3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> reader.getPc(4));
+    }
+
+    @Test
+    public void cyclesAndFlagsTest() throws IOException {
+        Path file = tempDir.resolve("trace.c8t");
+        CPU cpu = new CPU(new CPUState(), new ScreenState());
+        // LD V0, 0xFF; LD V1, 1; ADD V0, V1; LD I, 0x200; LD V2, [I]; SHL V3, V0
+        cpu.loadProgram(ROM.fromHexString("60 FF 61 01 80 14 A2 00 F2 65 83 0E"));
+
+        // Start tracing partway through, so cycles follow the CPU rather than the tracer.
+        cpu.execute(2);
+
+        try (ExecutionTracer tracer = new ExecutionTracer(file, 16)) {
+            cpu.setProbe(tracer);
+            cpu.execute(100);
+            cpu.setProbe(null);
+        }
+
+        TraceReader reader = TraceReader.open(file);
+        Assertions.assertEquals(4, reader.size());
+        Assertions.assertEquals(2, reader.getCycle(0));
+        Assertions.assertEquals(5, reader.getCycle(3));
+
+        // ADD V0, V1 writes V0 and the carry in VF.
+        Assertions.assertEquals(0x8001, reader.getWrittenRegisters(0));
+        Assertions.assertEquals(0, reader.getV(0, 0));
+        Assertions.assertEquals(1, reader.getV(0, 0xF));
+
+        // LD V2, [I] writes V0 to V2.
+        Assertions.assertEquals(0b111, reader.getWrittenRegisters(2));
+        Assertions.assertEquals(0x60, reader.getV(2, 0));
+        Assertions.assertEquals(0xFF, reader.getV(2, 1));
+        Assertions.assertEquals(0x61, reader.getV(2, 2));
+
+        // SHL V3, V0 shifts the 0x60 loaded into V0, with no bit shifted out.
+        Assertions.assertEquals(0x8008, reader.getWrittenRegisters(3));
+        Assertions.assertEquals(0xC0, reader.getV(3, 3));
+        Assertions.assertEquals(0, reader.getV(3, 0xF));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> reader.getV(3, 16));
+    }
+
+    @Test
+    public void openInvalidTest() throws IOException {
+        Path file = Files.write(tempDir.resolve("bad.c8t"), new byte[32]);
+        Assertions.assertThrows(IOException.class, () -> TraceReader.open(file));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ExecutionTracer(file, 0));
+    }
+}
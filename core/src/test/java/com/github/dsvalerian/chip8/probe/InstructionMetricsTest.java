@@ -0,0 +1,62 @@
+package com.github.dsvalerian.chip8.probe;
+
+import com.github.dsvalerian.chip8.cpu.CPU;
+import com.github.dsvalerian.chip8.cpu.CPUState;
+import com.github.dsvalerian.chip8.cpu.Opcodes;
+import com.github.dsvalerian.chip8.data.ROM;
+import com.github.dsvalerian.chip8.io.ScreenState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class InstructionMetricsTest {
+    // CALL 0x20A; SE V0, 0; CLS; SNE V0, 0; JP 0x212
+    // 0x20A: LD F, V0; DRW V0, V1, 5; DRW V0, V1, 5; RET
+    private static final String TEST_ROM = "22 0A 30 00 00 E0 40 00 12 12 F0 29 D0 15 D0 15 00 EE";
+
+    private CPU cpu;
+    private InstructionMetrics metrics;
+
+    @BeforeEach
+    public void setUp() {
+        cpu = new CPU(new CPUState(), new ScreenState());
+        cpu.loadProgram(ROM.fromHexString(TEST_ROM));
+        metrics = new InstructionMetrics();
+    }
+
+    @Test
+    public void countTest() {
+        cpu.setProbe(metrics);
+        Assertions.assertEquals(8, cpu.execute(100));
+
+        Assertions.assertEquals(8, metrics.getTotal());
+        Assertions.assertEquals(1, metrics.getCount(Opcodes.CALL));
+        Assertions.assertEquals(0, metrics.getCount(Opcodes.CLS));
+        Assertions.assertEquals(2, metrics.getDraws());
+        // The font sprite for 0 has 14 pixels set.
+        Assertions.assertEquals(28, metrics.getDrawnPixels());
+        Assertions.assertEquals(1, metrics.getCollisions());
+        Assertions.assertEquals(0.5, metrics.getCollisionRate());
+        Assertions.assertEquals(1, metrics.getStackHighWater());
+        Assertions.assertEquals(2, metrics.getSkips());
+        Assertions.assertEquals(0.5, metrics.getSkipTakenRatio());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> metrics.getCount(Opcodes.COUNT));
+
+        metrics.reset();
+        Assertions.assertEquals(0, metrics.getTotal());
+        Assertions.assertEquals(0, metrics.getStackHighWater());
+    }
+
+    @Test
+    public void detachTest() {
+        cpu.setProbe(metrics);
+        cpu.processNextInstruction();
+        cpu.processNextInstruction();
+        Assertions.assertEquals(2, metrics.getTotal());
+
+        cpu.setProbe(null);
+        Assertions.assertEquals(6, cpu.execute(100));
+        Assertions.assertEquals(2, metrics.getTotal());
+        Assertions.assertEquals(8, cpu.getCycles());
+    }
+}
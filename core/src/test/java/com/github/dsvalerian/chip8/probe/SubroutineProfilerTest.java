@@ -0,0 +1,93 @@
+package com.github.dsvalerian.chip8.probe;
+
+import com.github.dsvalerian.chip8.cpu.CPU;
+import com.github.dsvalerian.chip8.cpu.CPUState;
+import com.github.dsvalerian.chip8.cpu.Opcodes;
+import com.github.dsvalerian.chip8.data.ROM;
+import com.github.dsvalerian.chip8.io.ScreenState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+public class SubroutineProfilerTest {
+    private CPU cpu;
+    private SubroutineProfiler profiler;
+
+    @BeforeEach
+    public void setUp() {
+        cpu = new CPU(new CPUState(), new ScreenState());
+        profiler = new SubroutineProfiler();
+        cpu.setProbe(profiler);
+    }
+
+    @Test
+    public void callGraphTest() throws IOException {
+        // CALL 0x208; CALL 0x208; JP 0x210; -
+        // 0x208: CALL 0x20E; RET; -
+        // 0x20E: RET
+        cpu.loadProgram(ROM.fromHexString("22 08 22 08 12 10 00 00 22 0E 00 EE 00 00 00 EE"));
+        Assertions.assertEquals(9, cpu.execute(100));
+
+        Assertions.assertEquals(9, profiler.getTotalCycles());
+        Assertions.assertEquals(3, profiler.getExclusiveCycles(SubroutineProfiler.MAIN));
+        Assertions.assertEquals(9, profiler.getInclusiveCycles(SubroutineProfiler.MAIN));
+        Assertions.assertEquals(4, profiler.getExclusiveCycles(0x208));
+        Assertions.assertEquals(6, profiler.getInclusiveCycles(0x208));
+        Assertions.assertEquals(2, profiler.getExclusiveCycles(0x20E));
+        Assertions.assertEquals(2, profiler.getInclusiveCycles(0x20E));
+        Assertions.assertEquals(2, profiler.getCalls(0x20E));
+
+        StringBuilder stacks = new StringBuilder();
+        profiler.writeCollapsedStacks(stacks);
+        Assertions.assertEquals("main 3\nmain;0x208 4\nmain;0x208;0x20E 2\n", stacks.toString());
+    }
+
+    @Test
+    public void recursionTest() {
+        // CALL 0x204; JP 0x20C
+        // 0x204: ADD V0, 1; SE V0, 2; CALL 0x204; RET
+        cpu.loadProgram(ROM.fromHexString("22 04 12 0C 70 01 30 02 22 04 00 EE"));
+        Assertions.assertEquals(9, cpu.execute(100));
+
+        Assertions.assertEquals(2, profiler.getCalls(0x204));
+        Assertions.assertEquals(7, profiler.getExclusiveCycles(0x204));
+        Assertions.assertEquals(7, profiler.getInclusiveCycles(0x204));
+        Assertions.assertEquals(9, profiler.getInclusiveCycles(SubroutineProfiler.MAIN));
+
+        profiler.reset();
+        Assertions.assertEquals(0, profiler.getTotalCycles());
+        Assertions.assertTrue(profiler.getRoutines().isEmpty());
+    }
+
+    @Test
+    public void manyCallSitesTest() {
+        // Calls from main alternate between two routines, so the last callee is never the next one.
+        for (int i = 0; i < 1000; i++) {
+            profiler.onInstruction(0, 0x200, 0x2300 + (i & 1) * 0x10, Opcodes.CALL, null);
+            profiler.onInstruction(0, 0x300, 0x00EE, Opcodes.RET, null);
+        }
+
+        // Enough distinct call paths to grow every table several times.
+        for (int routine = 0x400; routine < 0x600; routine++) {
+            profiler.onInstruction(0, 0x200, 0x2000 | routine, Opcodes.CALL, null);
+            profiler.onInstruction(0, routine, 0x00EE, Opcodes.RET, null);
+        }
+
+        Assertions.assertEquals(500, profiler.getCalls(0x300));
+        Assertions.assertEquals(500, profiler.getCalls(0x310));
+        Assertions.assertEquals(500, profiler.getInclusiveCycles(0x300));
+        Assertions.assertEquals(2000 + 2 * 0x200, profiler.getTotalCycles());
+        Assertions.assertEquals(2 + 0x200, profiler.getRoutines().size());
+
+        for (int routine = 0x400; routine < 0x600; routine++) {
+            Assertions.assertEquals(1, profiler.getCalls(routine));
+        }
+
+        profiler.reset();
+        profiler.onInstruction(0, 0x200, 0x2300, Opcodes.CALL, null);
+        Assertions.assertEquals(1, profiler.getCalls(0x300));
+        Assertions.assertEquals(1, profiler.getRoutines().size());
+    }
+}
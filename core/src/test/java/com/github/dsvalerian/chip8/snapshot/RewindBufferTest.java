@@ -0,0 +1,110 @@
+package com.github.dsvalerian.chip8.snapshot;
+
+import com.github.dsvalerian.chip8.cpu.CPU;
+import com.github.dsvalerian.chip8.cpu.CPUState;
+import com.github.dsvalerian.chip8.cpu.Quirks;
+import com.github.dsvalerian.chip8.data.ROM;
+import com.github.dsvalerian.chip8.io.KeyState;
+import com.github.dsvalerian.chip8.io.ScreenState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RewindBufferTest {
+    // loop: RND V0, 0x3F; RND V1, 0x1F; LD F, V2; DRW V0, V1, 5; ADD V2, 1; LD I, 0x300; LD [I], V2; JP loop
+    private static final ROM ROM_UNDER_TEST = ROM.fromHexString(
+            "C0 3F C1 1F F2 29 D0 15 72 01 A3 00 F2 55 12 00");
+
+    private CPUState state;
+    private ScreenState screen;
+    private KeyState keys;
+    private CPU cpu;
+
+    @BeforeEach
+    public void setUp() {
+        state = new CPUState();
+        screen = new ScreenState();
+        keys = new KeyState();
+        cpu = new CPU(state, screen, keys, Quirks.COSMAC_VIP);
+        cpu.loadProgram(ROM_UNDER_TEST);
+    }
+
+    @Test
+    public void pushPopTest() {
+        RewindBuffer rewind = new RewindBuffer(100, 10, 1024 * 1024);
+        List<String> expected = record(rewind, 50);
+
+        Assertions.assertEquals(50, rewind.size());
+        // Deltas are much smaller than whole snapshots.
+        Assertions.assertTrue(rewind.getUsedBytes() < 10L * Snapshot.SIZE);
+
+        assertPops(rewind, expected, 50);
+        Assertions.assertTrue(rewind.isEmpty());
+        Assertions.assertFalse(rewind.pop(new Snapshot()));
+    }
+
+    @Test
+    public void dropsOldestTest() {
+        RewindBuffer byCount = new RewindBuffer(20, 5, 1024 * 1024);
+        List<String> expected = record(byCount, 50);
+        Assertions.assertTrue(byCount.size() <= 20 && byCount.size() > 10);
+        assertPops(byCount, expected, byCount.size());
+
+        setUp();
+        RewindBuffer bySize = new RewindBuffer(1000, 8, Snapshot.SIZE * 3);
+        expected = record(bySize, 50);
+        Assertions.assertTrue(bySize.size() > 0);
+        Assertions.assertTrue(bySize.getUsedBytes() <= Snapshot.SIZE * 3);
+        assertPops(bySize, expected, bySize.size());
+    }
+
+    @Test
+    public void pushAfterPopTest() {
+        RewindBuffer rewind = new RewindBuffer(100, 10, 1024 * 1024);
+        List<String> expected = record(rewind, 25);
+        assertPops(rewind, expected, 7);
+
+        // Popping past a keyframe and recording again must not mix the old and new frames.
+        List<String> more = record(rewind, 12);
+        expected = new ArrayList<>(expected.subList(0, 18));
+        expected.addAll(more);
+        assertPops(rewind, expected, expected.size());
+    }
+
+    /**
+     * Push a snapshot of each of a number of frames and return a description of each one.
+     */
+    private List<String> record(RewindBuffer rewind, int frames) {
+        List<String> descriptions = new ArrayList<>();
+        Snapshot snapshot = new Snapshot();
+
+        for (int i = 0; i < frames; i++) {
+            snapshot.capture(cpu, state, screen, keys);
+            rewind.push(snapshot);
+            descriptions.add(describe());
+            cpu.execute(9);
+        }
+
+        return descriptions;
+    }
+
+    private void assertPops(RewindBuffer rewind, List<String> expected, int count) {
+        Snapshot snapshot = new Snapshot();
+
+        for (int i = 0; i < count; i++) {
+            Assertions.assertTrue(rewind.pop(snapshot));
+            snapshot.restore(cpu, state, screen, keys);
+            Assertions.assertEquals(expected.get(expected.size() - 1 - i), describe());
+        }
+
+        expected.subList(expected.size() - count, expected.size()).clear();
+    }
+
+    private String describe() {
+        return state.toString() + state.readMemory(0x300) + state.readRandomState() + cpu.getCycles() +
+                screen.toString();
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.dsvalerian.chip8.snapshot;
+
+import com.github.dsvalerian.chip8.cpu.CPU;
+import com.github.dsvalerian.chip8.cpu.CPUState;
+import com.github.dsvalerian.chip8.cpu.Quirks;
+import com.github.dsvalerian.chip8.data.ROM;
+import com.github.dsvalerian.chip8.io.KeyState;
+import com.github.dsvalerian.chip8.io.ScreenState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class SnapshotTest {
+    // loop: RND V0, 0x3F; RND V1, 0x1F; LD F, V2; DRW V0, V1, 5; ADD V2, 1; LD DT, V2; CALL 0x210; JP loop;
+    // 0x210: RET
+    private static final ROM ROM_UNDER_TEST = ROM.fromHexString(
+            "C0 3F C1 1F F2 29 D0 15 72 01 F2 15 22 10 12 00 00 EE");
+
+    private CPUState state;
+    private ScreenState screen;
+    private KeyState keys;
+    private CPU cpu;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void setUp() {
+        state = new CPUState();
+        state.setRandomSeed(99);
+        screen = new ScreenState();
+        keys = new KeyState();
+        cpu = new CPU(state, screen, keys, Quirks.COSMAC_VIP);
+        cpu.loadProgram(ROM_UNDER_TEST);
+    }
+
+    @Test
+    public void restoreTest() {
+        Snapshot snapshot = new Snapshot();
+        Assertions.assertTrue(snapshot.isEmpty());
+        Assertions.assertThrows(IllegalStateException.class, () -> snapshot.restore(cpu, state, screen, keys));
+
+        cpu.execute(301);
+        keys.press(4);
+        keys.latch();
+        snapshot.capture(cpu, state, screen, keys);
+
+        cpu.execute(500);
+        String expectedState = state.toString() + state.readDt() + state.readRandomState();
+        String expectedScreen = screen.toString();
+        long expectedCycles = cpu.getCycles();
+
+        // Running again from the snapshot ends up in exactly the same place.
+        snapshot.restore(cpu, state, screen, keys);
+        Assertions.assertEquals(301, cpu.getCycles());
+        Assertions.assertEquals(1 << 4, keys.readLatched());
+
+        cpu.execute(500);
+        Assertions.assertEquals(expectedState, state.toString() + state.readDt() + state.readRandomState());
+        Assertions.assertEquals(expectedScreen, screen.toString());
+        Assertions.assertEquals(expectedCycles, cpu.getCycles());
+    }
+
+    @Test
+    public void restoreChangedCodeTest() {
+        // LD V0, 1; CLS
+        cpu.loadProgram(ROM.fromHexString("60 01 00 E0"));
+        Snapshot snapshot = new Snapshot();
+        snapshot.capture(cpu, state, screen, keys);
+
+        // Rewrite the program into LD V0, 5 and run it so the new code is decoded.
+        state.setMemory(0x201, 0x05);
+        cpu.execute(2);
+        Assertions.assertEquals(5, state.readV(0));
+
+        // Restoring the old memory must throw away the decoded block.
+        snapshot.restore(cpu, state, screen, keys);
+        cpu.execute(2);
+        Assertions.assertEquals(1, state.readV(0));
+    }
+
+    @Test
+    public void saveLoadTest() throws IOException {
+        cpu.execute(123);
+        Snapshot snapshot = new Snapshot();
+        snapshot.capture(cpu, state, screen, keys);
+        Path file = tempDir.resolve("state.c8s");
+        snapshot.save(file);
+        Assertions.assertEquals(Snapshot.SIZE, Files.size(file));
+
+        String expected = state.toString();
+        cpu.execute(1000);
+
+        Snapshot loaded = new Snapshot();
+        loaded.load(file);
+        loaded.restore(cpu, state, screen, keys);
+        Assertions.assertEquals(expected, state.toString());
+        Assertions.assertEquals(123, cpu.getCycles());
+    }
+
+    @Test
+    public void loadInvalidTest() throws IOException {
+        Path file = Files.write(tempDir.resolve("bad.c8s"), new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9});
+        Snapshot snapshot = new Snapshot();
+
+        Assertions.assertThrows(IOException.class, () -> snapshot.load(file));
+        Assertions.assertTrue(snapshot.isEmpty());
+    }
+}
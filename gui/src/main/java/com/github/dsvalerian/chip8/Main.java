@@ -0,0 +1,163 @@
+package com.github.dsvalerian.chip8;
+
+import com.github.dsvalerian.chip8.cpu.CPUSpeed;
+import com.github.dsvalerian.chip8.data.ROM;
+import com.github.dsvalerian.chip8.gui.GUI;
+import com.github.dsvalerian.chip8.gui.KeyHandler;
+import com.github.dsvalerian.chip8.movie.Movie;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * The main class of the program.
+ */
+public class Main {
+    private static Emulator currentEmulator;
+    private static Thread currentEmulatorThread;
+    private static ROM currentProgram;
+    private static CPUSpeed currentSpeed = CPUSpeed.FULL;
+
+    /**
+     * The main method/entry point into the program. Doesn't do much on its own other than
+     * opening the {@link GUI}, and then buttons from there will trigger different methods.
+     * @param args Program arguments. None are supported.
+     */
+    public static void main(String[] args) {
+        GUI.getInstance().addKeyListener(KeyHandler.getInstance());
+    }
+
+    /**
+     * Create and run an {@link Emulator} in a new thread.
+     * @param romFile A Chip-8 rom file.
+     */
+    public static void createAndRunEmulatorForProgram(File romFile) {
+        if (romFile == null) {
+            System.err.println("No file provided.");
+            return;
+        }
+
+        ROM rom = null;
+
+        // Try opening the rom file.
+        try {
+            rom = ROM.fromFile(romFile);
+        }
+        catch (IOException ex) {
+            System.err.println("Could not read ROM from file " + romFile.getName());
+            ex.printStackTrace();
+        }
+
+        if (rom == null) {
+            System.err.println("Failed loading ROM.");
+        }
+        else {
+            GUI.updateTitleWithFileName(romFile.getName());
+            currentProgram = rom;
+            startEmulator(new Emulator(rom, GUI.getInstance()));
+        }
+    }
+
+    /**
+     * Restart the current ROM from the beginning while recording its input.
+     */
+    public static void recordNewSession() {
+        if (currentProgram == null) {
+            System.err.println("No ROM loaded.");
+            return;
+        }
+
+        Emulator emulator = new Emulator(currentProgram, GUI.getInstance());
+        emulator.startRecording();
+        startEmulator(emulator);
+    }
+
+    /**
+     * Stop recording the current session and save it.
+     * @param movieFile The file to save the recording to.
+     */
+    public static void saveRecording(File movieFile) {
+        Movie movie = currentEmulator == null ? null : currentEmulator.stopRecording();
+
+        if (movie == null) {
+            System.err.println("Input is not being recorded.");
+            return;
+        }
+
+        try {
+            movie.save(movieFile.toPath());
+        }
+        catch (IOException ex) {
+            System.err.println("Could not save recording to file " + movieFile.getName());
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Restart the current ROM from the beginning, playing back a recorded session.
+     * @param movieFile A recording saved by {@link #saveRecording(File)}.
+     */
+    public static void replayRecording(File movieFile) {
+        if (currentProgram == null) {
+            System.err.println("No ROM loaded.");
+            return;
+        }
+
+        try {
+            Movie movie = Movie.load(movieFile.toPath());
+            Emulator emulator = new Emulator(currentProgram, GUI.getInstance(), movie.getSeed());
+            emulator.playMovie(movie);
+            startEmulator(emulator);
+        }
+        catch (IOException | IllegalArgumentException ex) {
+            System.err.println("Could not replay recording from file " + movieFile.getName());
+            ex.printStackTrace();
+        }
+    }
+
+    private static void startEmulator(Emulator emulator) {
+        if (currentEmulator != null) {
+            currentEmulator.stop();
+
+            // Only one emulator thread at a time may present frames to the GUI.
+            try {
+                currentEmulatorThread.join();
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        currentEmulator = emulator;
+        currentEmulator.setSpeed(currentSpeed);
+        KeyHandler.getInstance().setKeyState(currentEmulator.getKeyState());
+        currentEmulatorThread = new Thread(currentEmulator);
+        currentEmulatorThread.start();
+    }
+
+    /**
+     * Change the CPU speed of the current {@link Emulator}, and of every one started after it.
+     * @param speed The new CPU speed.
+     */
+    public static void setSpeed(CPUSpeed speed) {
+        currentSpeed = speed;
+
+        if (currentEmulator != null) {
+            currentEmulator.setSpeed(speed);
+        }
+    }
+
+    /**
+     * @return The CPU speed emulators are run at.
+     */
+    public static CPUSpeed getSpeed() {
+        return currentSpeed;
+    }
+
+    /**
+     * @return The currently-running {@link Emulator}.
+     */
+    public static Emulator getCurrentEmulator() {
+        return currentEmulator;
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.dsvalerian.chip8.gui;
+
+import com.github.dsvalerian.chip8.Emulator;
+import com.github.dsvalerian.chip8.FrameSink;
+import com.github.dsvalerian.chip8.Main;
+import com.github.dsvalerian.chip8.io.ScreenState;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+/**
+ * This is the main window of the GUI. Emulators present their frames to it as a {@link FrameSink}.
+ */
+public class GUI extends JFrame implements FrameSink {
+    private static final String WINDOW_TITLE = "Chip-8 Emulator";
+    private static final int TITLE_UPDATE_MILLIS = 500;
+
+    /**
+     * The menu bar used for this window.
+     */
+    private final MainMenuBar menuBar = new MainMenuBar();
+
+    /**
+     * The panel where the screen pixels are drawn to.
+     */
+    private final ScreenPanel screenPanel = new ScreenPanel();
+
+    /**
+     * Name of the program currently running, or null if none has been loaded.
+     */
+    private String fileName = null;
+
+    private static GUI instance = null;
+
+    /**
+     * Construct the default {@link GUI}.
+     */
+    private GUI() {
+        // Set up the window.
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setResizable(false);
+        setTitle(WINDOW_TITLE);
+
+        // Setting up the menu bar.
+        setJMenuBar(menuBar);
+
+        // Setting up the game panel.
+        add(screenPanel);
+
+        pack();
+
+        setLocationRelativeTo(null);
+        setVisible(true);
+
+        // Keep the measured speed in the title up to date.
+        new Timer(TITLE_UPDATE_MILLIS, new TitleUpdateListener()).start();
+    }
+
+    /**
+     * @return A singleton instance of {@link GUI}, the main window of the UI.
+     */
+    public static GUI getInstance() {
+        if (instance == null) {
+            instance = new GUI();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Draw the screen to the screen panel. Only the parts that changed are repainted.
+     * @param screen The screen data to draw.
+     */
+    public void drawScreen(ScreenState screen) {
+        screenPanel.drawScreen(screen);
+    }
+
+    @Override
+    public void onFrame(ScreenState screen) {
+        drawScreen(screen);
+    }
+
+    @Override
+    public long getDisplayNanos() {
+        return screenPanel.getPaintNanos();
+    }
+
+    /**
+     * Update the title of the window to include the filename.
+     * @param fileName The name of the program currently running.
+     */
+    public static void updateTitleWithFileName(String fileName) {
+        getInstance().fileName = fileName;
+        getInstance().updateTitle();
+    }
+
+    /**
+     * Show the name of the program and how fast it's running in the title, such as
+     * {@code Chip-8 Emulator [pong.ch8] 1.25 MIPS, 2500.0x}.
+     */
+    private void updateTitle() {
+        if (fileName == null) {
+            return;
+        }
+
+        String title = WINDOW_TITLE + " [" + fileName + "]";
+        Emulator currentEmulator = Main.getCurrentEmulator();
+
+        if (currentEmulator != null) {
+            title += " " + currentEmulator.getSpeedMeter();
+        }
+
+        if (!title.equals(getTitle())) {
+            setTitle(title);
+        }
+    }
+
+    class TitleUpdateListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            updateTitle();
+        }
+    }
+}
@@ -1,4 +1,6 @@
-package com.github.dsvalerian.chip8.io;
+package com.github.dsvalerian.chip8.gui;
+
+import com.github.dsvalerian.chip8.io.KeyState;
 
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
@@ -7,14 +9,14 @@ import java.util.Map;
 
 /**
  * An extension of {@link KeyListener} that listens to {@link KeyEvent}s
- * and updates the singleton {@link KeyState} accordingly.
+ * and updates the {@link KeyState} of the running emulator accordingly.
  */
 public class KeyHandler implements KeyListener {
     private static final Map<Integer, Integer> KEY_MAP;
-    private static final KeyState STATE = KeyState.getInstance();
-
     private static KeyHandler instance = null;
 
+    private volatile KeyState state = new KeyState();
+
     static {
         KEY_MAP = new HashMap<>();
         KEY_MAP.put(KeyEvent.VK_1, 1);
@@ -50,6 +52,14 @@ public class KeyHandler implements KeyListener {
         return instance;
     }
 
+    /**
+     * Send key events to a different {@link KeyState}, for example when a new emulator is started.
+     * @param state The {@link KeyState} to update.
+     */
+    public void setKeyState(KeyState state) {
+        this.state = state;
+    }
+
     /**
      * This is unhandled, does nothing.
      * @param event The event to be processed.
@@ -61,7 +71,7 @@ public class KeyHandler implements KeyListener {
 
     /**
      * Called when a key is pressed. Sets the corresponding key to be
-     * pressed in the {@link KeyState} singleton.
+     * pressed in the current {@link KeyState}.
      * @param event The event to be processed.
      */
     @Override
@@ -69,13 +79,13 @@ public class KeyHandler implements KeyListener {
         Integer pressedKey = KEY_MAP.get(event.getKeyCode());
 
         if (pressedKey != null) {
-            STATE.press(pressedKey);
+            state.press(pressedKey);
         }
     }
 
     /**
      * Called when a key is released. Sets the corresponding key to be
-     * released in the {@link KeyState} singleton.
+     * released in the current {@link KeyState}.
      * @param event The event to be processed.
      */
     @Override
@@ -83,12 +93,12 @@ public class KeyHandler implements KeyListener {
         Integer pressedKey = KEY_MAP.get(event.getKeyCode());
 
         if (pressedKey != null) {
-            STATE.release(pressedKey);
+            state.release(pressedKey);
         }
     }
 
     @Override
     public String toString() {
-        return STATE.toString();
+        return state.toString();
     }
 }
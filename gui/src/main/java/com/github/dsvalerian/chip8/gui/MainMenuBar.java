@@ -0,0 +1,402 @@
+package com.github.dsvalerian.chip8.gui;
+
+import com.github.dsvalerian.chip8.Emulator;
+import com.github.dsvalerian.chip8.Main;
+import com.github.dsvalerian.chip8.cpu.CPUSpeed;
+import com.github.dsvalerian.chip8.debug.Debugger;
+import com.github.dsvalerian.chip8.debug.MemoryAccess;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+/**
+ * The menu bar that shows up for the main GUI screen.
+ */
+public class MainMenuBar extends JMenuBar {
+    /**
+     * Name of the file menu.
+     */
+    private JMenu fileMenu = new JMenu("File");
+
+    /**
+     * Name of the Load Rom item in the file menu.
+     */
+    private JMenuItem loadROMItem = new JMenuItem("Load ROM...");
+
+    /**
+     * Name of the item in the file menu that restarts the ROM while recording input.
+     */
+    private JMenuItem recordItem = new JMenuItem("Record New Session");
+
+    /**
+     * Name of the item in the file menu that saves the input recording.
+     */
+    private JMenuItem saveRecordingItem = new JMenuItem("Save Recording...");
+
+    /**
+     * Name of the item in the file menu that restarts the ROM playing back a recording.
+     */
+    private JMenuItem replayItem = new JMenuItem("Replay Recording...");
+
+    /**
+     * Name of the exit item in the file menu.
+     */
+    private JMenuItem exitItem = new JMenuItem("Exit");
+
+    /**
+     * Name of the speed menu, with one item for each {@link CPUSpeed}.
+     */
+    private JMenu speedMenu = new JMenu("Speed");
+
+    /**
+     * Name of the debug menu.
+     */
+    private JMenu debugMenu = new JMenu("Debug");
+
+    /**
+     * Name of the item in the debug menu that adds a breakpoint.
+     */
+    private JMenuItem breakpointItem = new JMenuItem("Add Breakpoint...");
+
+    /**
+     * Name of the item in the debug menu that adds a memory watchpoint.
+     */
+    private JMenuItem watchpointItem = new JMenuItem("Add Watchpoint...");
+
+    /**
+     * Name of the item in the debug menu that adds a register condition.
+     */
+    private JMenuItem conditionItem = new JMenuItem("Add Register Condition...");
+
+    /**
+     * Name of the item in the debug menu that runs up to a frame.
+     */
+    private JMenuItem runUntilFrameItem = new JMenuItem("Run Until Frame...");
+
+    /**
+     * Name of the item in the debug menu that shows why the debugger stopped.
+     */
+    private JMenuItem stopReasonItem = new JMenuItem("Show Stop Reason");
+
+    /**
+     * Name of the item in the debug menu that removes every breakpoint, watchpoint and condition.
+     */
+    private JMenuItem clearBreakpointsItem = new JMenuItem("Clear All");
+
+    /**
+     * Button for going back one frame. Only works when the emulator is paused.
+     */
+    private JButton stepBackButton = new JButton("\u23EA");
+
+    /**
+     * Button for toggling the emulator to play/pause.
+     */
+    private JButton playPauseButton = new JButton("\u23EF");
+
+    /**
+     * Button for running the next emulator update. Only works when
+     * the emulator is paused.
+     */
+    private JButton nextUpdateButton = new JButton("\u23E9");
+
+    /**
+     * Create a new {@link MainMenuBar}.
+     */
+    public MainMenuBar() {
+        // File menu.
+        loadROMItem.addActionListener(new LoadROMListener());
+        recordItem.addActionListener(new RecordItemListener());
+        saveRecordingItem.addActionListener(new SaveRecordingListener());
+        replayItem.addActionListener(new ReplayListener());
+        exitItem.addActionListener(new ExitItemListener());
+        fileMenu.add(loadROMItem);
+        fileMenu.addSeparator();
+        fileMenu.add(recordItem);
+        fileMenu.add(saveRecordingItem);
+        fileMenu.add(replayItem);
+        fileMenu.addSeparator();
+        fileMenu.add(exitItem);
+
+        // Speed menu.
+        ButtonGroup speedGroup = new ButtonGroup();
+
+        for (CPUSpeed speed : CPUSpeed.values()) {
+            JRadioButtonMenuItem speedItem = new JRadioButtonMenuItem(speedName(speed), speed == Main.getSpeed());
+            speedItem.addActionListener(new SpeedItemListener(speed));
+            speedGroup.add(speedItem);
+            speedMenu.add(speedItem);
+        }
+
+        // Debug menu.
+        breakpointItem.addActionListener(new BreakpointListener());
+        watchpointItem.addActionListener(new WatchpointListener());
+        conditionItem.addActionListener(new ConditionListener());
+        runUntilFrameItem.addActionListener(new RunUntilFrameListener());
+        stopReasonItem.addActionListener(new StopReasonListener());
+        clearBreakpointsItem.addActionListener(new ClearBreakpointsListener());
+        debugMenu.add(breakpointItem);
+        debugMenu.add(watchpointItem);
+        debugMenu.add(conditionItem);
+        debugMenu.add(runUntilFrameItem);
+        debugMenu.addSeparator();
+        debugMenu.add(stopReasonItem);
+        debugMenu.add(clearBreakpointsItem);
+
+        stepBackButton.addActionListener(new StepBackButtonListener());
+        stepBackButton.setFocusable(false);
+        playPauseButton.addActionListener(new PlayPauseButtonListener());
+        playPauseButton.setFocusable(false);
+        nextUpdateButton.addActionListener(new NextUpdateButtonListener());
+        nextUpdateButton.setFocusable(false);
+
+        // Adding menus to bar.
+        add(fileMenu);
+        add(speedMenu);
+        add(debugMenu);
+        add(stepBackButton);
+        add(playPauseButton);
+        add(nextUpdateButton);
+    }
+
+    class LoadROMListener implements ActionListener {
+        JFileChooser fileChooser = new JFileChooser();
+
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            int returnVal = fileChooser.showOpenDialog(GUI.getInstance());
+
+            if (returnVal == JFileChooser.APPROVE_OPTION) {
+                Main.createAndRunEmulatorForProgram(fileChooser.getSelectedFile());
+            }
+        }
+    }
+
+    class RecordItemListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            Main.recordNewSession();
+        }
+    }
+
+    class SaveRecordingListener implements ActionListener {
+        JFileChooser fileChooser = new JFileChooser();
+
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            int returnVal = fileChooser.showSaveDialog(GUI.getInstance());
+
+            if (returnVal == JFileChooser.APPROVE_OPTION) {
+                Main.saveRecording(fileChooser.getSelectedFile());
+            }
+        }
+    }
+
+    class ReplayListener implements ActionListener {
+        JFileChooser fileChooser = new JFileChooser();
+
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            int returnVal = fileChooser.showOpenDialog(GUI.getInstance());
+
+            if (returnVal == JFileChooser.APPROVE_OPTION) {
+                Main.replayRecording(fileChooser.getSelectedFile());
+            }
+        }
+    }
+
+    class ExitItemListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            System.exit(0);
+        }
+    }
+
+    class StepBackButtonListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            Emulator currentEmulator = Main.getCurrentEmulator();
+            if (currentEmulator != null) {
+                if (currentEmulator.isPaused()) {
+                    currentEmulator.stepBack();
+                }
+            }
+        }
+    }
+
+    class PlayPauseButtonListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            Emulator currentEmulator = Main.getCurrentEmulator();
+            if (currentEmulator != null) {
+                if (currentEmulator.isPaused()) {
+                    currentEmulator.resume();
+                }
+                else {
+                    currentEmulator.pause();
+                }
+            }
+        }
+    }
+
+    class NextUpdateButtonListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            Emulator currentEmulator = Main.getCurrentEmulator();
+            if (currentEmulator != null) {
+                if (currentEmulator.isPaused()) {
+                    currentEmulator.update();
+                    currentEmulator.draw();
+                }
+            }
+        }
+    }
+
+    class SpeedItemListener implements ActionListener {
+        private final CPUSpeed speed;
+
+        SpeedItemListener(CPUSpeed speed) {
+            this.speed = speed;
+        }
+
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            Main.setSpeed(speed);
+        }
+    }
+
+    class BreakpointListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            Emulator currentEmulator = Main.getCurrentEmulator();
+            Integer address = askForNumber("Break at address (hex):", 16);
+
+            try {
+                if (currentEmulator != null && address != null) {
+                    currentEmulator.addBreakpoint(address);
+                }
+            }
+            catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(GUI.getInstance(), ex.getMessage());
+            }
+        }
+    }
+
+    class WatchpointListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            Emulator currentEmulator = Main.getCurrentEmulator();
+
+            if (currentEmulator == null) {
+                return;
+            }
+
+            Object access = JOptionPane.showInputDialog(GUI.getInstance(), "Stop on:", "Add Watchpoint",
+                    JOptionPane.QUESTION_MESSAGE, null, MemoryAccess.values(), MemoryAccess.WRITE);
+            Integer address = access == null ? null : askForNumber("Watch address (hex):", 16);
+
+            try {
+                if (address != null) {
+                    currentEmulator.addWatchpoint(address, (MemoryAccess)access);
+                }
+            }
+            catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(GUI.getInstance(), ex.getMessage());
+            }
+        }
+    }
+
+    class ConditionListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            Emulator currentEmulator = Main.getCurrentEmulator();
+            String input = JOptionPane.showInputDialog(GUI.getInstance(),
+                    "Stop when a register becomes a value, like V3=1F or I=300 (hex):");
+
+            if (currentEmulator == null || input == null) {
+                return;
+            }
+
+            String[] parts = input.trim().toUpperCase().split("=");
+
+            try {
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException(input);
+                }
+
+                int register = parts[0].equals("I") ? Debugger.REGISTER_I :
+                        Integer.parseInt(parts[0].replaceFirst("^V", ""), 16);
+                currentEmulator.addCondition(register, Integer.parseInt(parts[1], 16));
+            }
+            catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(GUI.getInstance(), "Not a register condition: " + input);
+            }
+        }
+    }
+
+    class RunUntilFrameListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            Emulator currentEmulator = Main.getCurrentEmulator();
+
+            if (currentEmulator == null) {
+                return;
+            }
+
+            Integer frame = askForNumber("Currently at frame " + currentEmulator.getFrame() + ". Run until frame:",
+                    10);
+
+            if (frame != null) {
+                currentEmulator.runUntilFrame(frame);
+            }
+        }
+    }
+
+    class StopReasonListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            Emulator currentEmulator = Main.getCurrentEmulator();
+
+            if (currentEmulator != null) {
+                String reason = currentEmulator.getDebugger().getStopReason();
+                JOptionPane.showMessageDialog(GUI.getInstance(), (reason == null ? "Not stopped." : reason) +
+                        "\n" + currentEmulator.describeCpu());
+            }
+        }
+    }
+
+    class ClearBreakpointsListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            Emulator currentEmulator = Main.getCurrentEmulator();
+
+            if (currentEmulator != null) {
+                currentEmulator.clearBreakpoints();
+            }
+        }
+    }
+
+    private static String speedName(CPUSpeed speed) {
+        return speed.isUnlimited() ? "Unlimited" : speed.getHertz() + " Hz";
+    }
+
+    /**
+     * Ask for a number in a dialog.
+     * @return The number, or null if the dialog was cancelled or the input isn't a number.
+     */
+    private static Integer askForNumber(String message, int radix) {
+        String input = JOptionPane.showInputDialog(GUI.getInstance(), message);
+
+        if (input == null) {
+            return null;
+        }
+
+        try {
+            return Integer.parseInt(input.trim(), radix);
+        }
+        catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(GUI.getInstance(), "Not a number: " + input);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.github.dsvalerian.chip8.gui;
+
+import com.github.dsvalerian.chip8.io.FrameExchange;
+import com.github.dsvalerian.chip8.io.ScreenState;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+/**
+ * The panel to which screen data will be drawn. AKA, if you're emulating a game, it will be drawn here.
+ * The screen is kept in an image with one pixel per Chip-8 pixel, written to directly through its raster, and
+ * scaled up to the size of the panel when painted.
+ * <p>
+ * Frames come in on the emulator's thread and are handed to the event dispatch thread through a
+ * {@link FrameExchange}. Only the event dispatch thread touches the image, and it always paints the newest whole
+ * frame, so frames never tear and the emulator never waits for painting.
+ */
+public class ScreenPanel extends JPanel {
+    private static final int ASPECT_RATIO = ScreenState.WIDTH / ScreenState.HEIGHT;
+    private static final int GAME_HEIGHT = 640;
+    private static final int GAME_WIDTH = GAME_HEIGHT * ASPECT_RATIO;
+    private static final int PIXEL_SIZE = GAME_WIDTH / ScreenState.WIDTH;
+    private static final int ACTIVE_PIXEL_COLOR = Color.WHITE.getRGB();
+    private static final int BACKGROUND_COLOR = Color.BLACK.getRGB();
+
+    /**
+     * The {@link BufferedImage} to which pixels are drawn, at the resolution of the Chip-8 screen.
+     */
+    private final BufferedImage canvas = new BufferedImage(ScreenState.WIDTH, ScreenState.HEIGHT,
+            BufferedImage.TYPE_INT_RGB);
+
+    /**
+     * The pixels of the canvas, row by row.
+     */
+    private final int[] pixels = ((DataBufferInt)canvas.getRaster().getDataBuffer()).getData();
+
+    /**
+     * The rows as they were last drawn to the canvas. Only used on the event dispatch thread.
+     */
+    private final long[] drawnRows = new long[ScreenState.HEIGHT];
+
+    private final FrameExchange frames = new FrameExchange();
+
+    /**
+     * How long the last call to {@link #paintComponent(Graphics)} took, in nanoseconds.
+     */
+    private volatile long paintNanos;
+
+    /**
+     * The screen that was published last, and its rows as they were published. Only used on the emulator's thread.
+     */
+    private ScreenState lastScreen;
+    private final long[] publishedRows = new long[ScreenState.HEIGHT];
+
+    /**
+     * Create a new {@link ScreenPanel}.
+     */
+    public ScreenPanel() {
+        setDoubleBuffered(true);
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(GAME_WIDTH, GAME_HEIGHT);
+    }
+
+    @Override
+    public void paintComponent(Graphics graphics) {
+        long start = System.nanoTime();
+        super.paintComponent(graphics);
+        drawFrame(frames.takeNewest());
+
+        Graphics2D graphics2D = (Graphics2D)graphics;
+        graphics2D.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        graphics2D.drawImage(canvas, 0, 0, GAME_WIDTH, GAME_HEIGHT, null);
+        paintNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * @return How long painting the panel took the last time, in nanoseconds. Painting happens on the event
+     * dispatch thread, so this is the part of showing a frame that {@link #drawScreen(ScreenState)} doesn't wait for.
+     */
+    public long getPaintNanos() {
+        return paintNanos;
+    }
+
+    /**
+     * Publish a screen to be painted, and ask for the parts of the panel covering rows that changed since the last
+     * one to be repainted. Does nothing if no rows changed. A screen that wasn't the one published last time counts
+     * as changed everywhere. Only call this from the thread running the emulator, which is the one thread allowed to
+     * publish frames; it never waits for painting.
+     * @param screen The {@link ScreenState} containing the screen data.
+     */
+    public void drawScreen(ScreenState screen) {
+        int dirtyRows = screen.takeDirtyRows();
+        boolean full = screen != lastScreen;
+        lastScreen = screen;
+
+        if (full) {
+            dirtyRows = -1;
+        }
+
+        if (dirtyRows == 0) {
+            return;
+        }
+
+        long[] frame = frames.getBackBuffer();
+        int changedRows = full ? -1 : 0;
+
+        for (int y = 0; y < ScreenState.HEIGHT; y++) {
+            long row = screen.readRow(y);
+            frame[y] = row;
+
+            if (row != publishedRows[y]) {
+                publishedRows[y] = row;
+                changedRows |= 1 << y;
+            }
+        }
+
+        if (changedRows == 0) {
+            return;
+        }
+
+        frames.publish();
+        repaintRows(changedRows);
+    }
+
+    /**
+     * Draw the rows of a frame that differ from what's on the canvas.
+     */
+    private void drawFrame(long[] frame) {
+        for (int y = 0; y < ScreenState.HEIGHT; y++) {
+            long row = frame[y];
+
+            if (row == drawnRows[y]) {
+                continue;
+            }
+
+            int offset = y * ScreenState.WIDTH;
+
+            // Column x is bit (63 - x), so shifting left walks the row from left to right through the sign bit.
+            for (int x = 0; x < ScreenState.WIDTH; x++) {
+                pixels[offset + x] = (row << x) < 0 ? ACTIVE_PIXEL_COLOR : BACKGROUND_COLOR;
+            }
+
+            drawnRows[y] = row;
+        }
+    }
+
+    /**
+     * Repaint the parts of the panel covering each run of rows in a mask.
+     */
+    private void repaintRows(int rows) {
+        while (rows != 0) {
+            int start = Integer.numberOfTrailingZeros(rows);
+            int end = start + Integer.numberOfTrailingZeros(~(rows >>> start));
+
+            if (end >= ScreenState.HEIGHT) {
+                end = ScreenState.HEIGHT;
+                rows = 0;
+            }
+            else {
+                rows &= -1 << end;
+            }
+
+            repaint(new Rectangle(0, start * PIXEL_SIZE, GAME_WIDTH, (end - start) * PIXEL_SIZE));
+        }
+    }
+}